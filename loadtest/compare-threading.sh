@@ -0,0 +1,49 @@
+#!/usr/bin/env bash
+# Compares platform-thread and virtual-thread mode under the same closed-loop load.
+#
+# Needs MySQL as configured in application.properties (or SPRING_DATASOURCE_* env vars) with at
+# least ACCOUNTS accounts, and a Java 21+ JVM for the virtual-thread run (on older JVMs Spring Boot
+# falls back to platform threads and both runs measure the same thing).
+#
+# Rate limiting is switched off for both runs: every client connects from localhost and would share one
+# anonymous bucket, so the runs would measure the limiter instead of the threading mode.
+#
+# Usage: loadtest/compare-threading.sh [clients] [duration-seconds]
+# Results: one JSON line per mode in target/loadtest-results.ndjson
+
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+CLIENTS="${1:-2000}"
+DURATION="${2:-60}"
+WARMUP="${WARMUP:-15}"
+ACCOUNTS="${ACCOUNTS:-100}"
+PORT="${PORT:-8080}"
+
+mvn -B -q -DskipTests package
+mvn -B -q -Pbenchmark test-compile
+JAR="$(ls target/*.jar | grep -v original | head -n 1)"
+
+for MODE in platform virtual; do
+  VIRTUAL=false
+  [ "$MODE" = virtual ] && VIRTUAL=true
+
+  BANKING_VIRTUAL_THREADS="$VIRTUAL" java -Djdk.tracePinnedThreads=short \
+    -jar "$JAR" --server.port="$PORT" --banking.rate-limit.enabled=false > "target/loadtest-$MODE.log" 2>&1 &
+  APP_PID=$!
+  trap 'kill $APP_PID 2>/dev/null || true' EXIT
+
+  until curl -s -o /dev/null "http://localhost:$PORT/api/accounts/public/1"; do sleep 1; done
+
+  java -cp target/test-classes com.psd.springboot.benchmark.ConcurrentClientsLoadTest \
+    --label="$MODE" --clients="$CLIENTS" --duration="$DURATION" --warmup="$WARMUP" \
+    --accounts="$ACCOUNTS" --base-url="http://localhost:$PORT"
+
+  kill "$APP_PID"; wait "$APP_PID" 2>/dev/null || true
+  trap - EXIT
+
+  # Pinned virtual threads are reported by -Djdk.tracePinnedThreads (JDK 21-23)
+  if grep -q "<== monitors" "target/loadtest-$MODE.log"; then
+    echo "WARNING: pinned virtual threads detected, see target/loadtest-$MODE.log"
+  fi
+done
@@ -0,0 +1,92 @@
+package com.psd.springboot.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.psd.springboot.dto.AccountDetailsDto;
+import com.psd.springboot.entity.Account;
+import com.psd.springboot.mapper.AccountMapper;
+import com.psd.springboot.support.AccountColumnarWriter;
+import com.psd.springboot.support.JsonStreams;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding side of the full account export: rows per second written to a local file as the
+ * columnar format (AccountColumnarWriter) versus the JSON array GET /api/accounts/internal?stream=true
+ * sends. File sizes are printed at the end of each trial. The JDBC cursor read is not included
+ * (it needs MySQL).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AccountExportBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final String[] CURRENCIES = {"INR", "EUR", "USD"};
+
+    @Param({"COLUMNAR", "JSON"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private AccountDetailsDto[] accounts;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        AccountMapper accountMapper = new AccountMapper();
+        accounts = new AccountDetailsDto[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            Account account = BenchmarkFixtures.account(1_000_000L + i);
+            account.setCurrency(CURRENCIES[i % CURRENCIES.length]);
+            account.setAccountType(i % 4 == 0 ? "CURRENT" : "SAVINGS");
+            account.setBalance(i * 1_337L);
+            accounts[i] = accountMapper.toAccountDetailsDto(account);
+        }
+        file = Files.createTempFile("account-export", ".bin");
+    }
+
+    // Scores are rows per second (one invocation exports ROWS accounts)
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void export() throws IOException {
+        if (format.equals("JSON")) {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024)) {
+                JsonStreams.writeArray(objectMapper, out, AccountDetailsDto.class,
+                        sink -> Arrays.stream(accounts).forEach(sink));
+            }
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            AccountColumnarWriter writer = new AccountColumnarWriter(channel);
+            try (AccountColumnarWriter.Partition partition = writer.partition(65_536)) {
+                for (AccountDetailsDto account : accounts) {
+                    partition.write(account);
+                }
+            }
+            writer.close();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.out.printf("%n%s export of %d accounts: %d bytes%n", format, ROWS, Files.size(file));
+        Files.delete(file);
+    }
+}
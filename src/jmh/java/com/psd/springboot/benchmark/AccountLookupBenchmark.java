@@ -0,0 +1,86 @@
+package com.psd.springboot.benchmark;
+
+import com.psd.springboot.repository.AccountRepository;
+import com.psd.springboot.service.impl.AccountIdResolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Account-number -> id resolution with 5M accounts.
+ *
+ * The repository is replaced by a binary search over the sorted account numbers, i.e. the
+ * CPU side of a B-tree index probe without the database round trip, so indexLookup is a
+ * lower bound for a miss. resolverSize is the AccountIdResolver bound: at 5M every key stays
+ * resident after warm-up; at 1M uniform keys miss roughly four times out of five.
+ * The "index probes" line in the output is the number of lookups that reached the stand-in.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class AccountLookupBenchmark {
+
+    @Param({"5000000"})
+    public int accounts;
+
+    @Param({"1000000", "5000000"})
+    public long resolverSize;
+
+    private String[] accountNumbers;
+    private AccountRepository repository;
+    private AccountIdResolver resolver;
+    private final LongAdder indexProbes = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Fixed width, so generation order is also lexicographic order
+        accountNumbers = new String[accounts];
+        for (int i = 0; i < accounts; i++) {
+            accountNumbers[i] = "ACC" + (1_000_000_000L + i);
+        }
+        repository = (AccountRepository) Proxy.newProxyInstance(
+                AccountRepository.class.getClassLoader(),
+                new Class<?>[]{AccountRepository.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("findIdByAccountNumber")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    indexProbes.increment();
+                    int index = Arrays.binarySearch(accountNumbers, args[0]);
+                    return index >= 0 ? Optional.of(index + 1L) : Optional.empty();
+                });
+        resolver = new AccountIdResolver(repository, resolverSize);
+        for (String accountNumber : accountNumbers) {
+            resolver.resolve(AccountIdResolver.Identifier.ACCOUNT_NUMBER, accountNumber, Function.identity());
+        }
+        indexProbes.reset();
+    }
+
+    @TearDown(Level.Trial)
+    public void report() {
+        System.out.println("index probes: " + indexProbes.sum() + ", resolver: " + resolver.stats());
+    }
+
+    @Benchmark
+    public Long resolvedLookup() {
+        return resolver.resolve(AccountIdResolver.Identifier.ACCOUNT_NUMBER, randomAccountNumber(), Function.identity());
+    }
+
+    @Benchmark
+    public Long indexLookup() {
+        return repository.findIdByAccountNumber(randomAccountNumber()).orElseThrow();
+    }
+
+    private String randomAccountNumber() {
+        return accountNumbers[ThreadLocalRandom.current().nextInt(accounts)];
+    }
+}
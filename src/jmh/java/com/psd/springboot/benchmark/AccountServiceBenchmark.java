@@ -0,0 +1,80 @@
+package com.psd.springboot.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.psd.springboot.dto.AccountSummaryDto;
+import com.psd.springboot.mapper.AccountMapper;
+import com.psd.springboot.repository.AccountRepository;
+import com.psd.springboot.service.impl.AccountServiceImpl;
+import com.psd.springboot.service.impl.AccountAmounts;
+import com.psd.springboot.service.impl.AccountIdResolver;
+import com.psd.springboot.service.impl.AccountSummaryCache;
+import com.psd.springboot.service.impl.BalanceMutationEngine;
+import com.psd.springboot.service.impl.DashboardAggregates;
+import com.psd.springboot.service.impl.IdempotencyGuard;
+import com.psd.springboot.service.impl.TransactionLedger;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call overhead of AccountServiceImpl on an uncontended account, against the in-memory
+ * repository stub: everything the service adds around the database (locking, transaction
+ * template, ledger hand-off, cache, idempotency replay, mapping) without the database itself.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AccountServiceBenchmark {
+
+    private static final long ACCOUNT_ID = 1L;
+    private static final String REPLAYED_KEY = "bench-replay";
+
+    private AccountServiceImpl accountService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        AccountRepository repository = InMemoryAccountRepository.create();
+        var account = BenchmarkFixtures.account(0L);
+        account.setId(null);
+        account.setBalance(1_000_000_000L);
+        repository.save(account);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new NoOpTransactionManager());
+        BalanceMutationEngine engine = new BalanceMutationEngine(repository, transactionTemplate, 1024, 5);
+        TransactionLedger ledger = new TransactionLedger(DiscardingTransactionRepository.create(), repository,
+                transactionTemplate, TransactionLedger.Durability.COMMIT, 1, 1, 1, 1);
+        accountService = new AccountServiceImpl(repository, new AccountMapper(), engine, ledger,
+                new AccountSummaryCache(10_000, Duration.ofSeconds(10)),
+                new AccountIdResolver(repository, 10_000),
+                new DashboardAggregates(repository, 10_000),
+                new IdempotencyGuard(DiscardingIdempotencyRecordRepository.create(), 10_000, Duration.ofHours(24)),
+                null, new ObjectMapper(), new AccountAmounts(repository, 10_000));
+        accountService.depositAndReturnSummary(ACCOUNT_ID, 1_000L, "bench", REPLAYED_KEY);
+    }
+
+    @Benchmark
+    public AccountSummaryDto deposit() {
+        return accountService.depositAndReturnSummary(ACCOUNT_ID, 1_000L, "bench", null);
+    }
+
+    @Benchmark
+    public AccountSummaryDto withdraw() {
+        return accountService.withdrawAndReturnSummary(ACCOUNT_ID, 1_000L, "bench", null);
+    }
+
+    // Retry of an already applied deposit (same Idempotency-Key): answered without touching the account
+    @Benchmark
+    public AccountSummaryDto replayedDeposit() {
+        return accountService.depositAndReturnSummary(ACCOUNT_ID, 1_000L, "bench", REPLAYED_KEY);
+    }
+
+    @Benchmark
+    public AccountSummaryDto cachedSummary() {
+        return accountService.getAccountSummaryById(ACCOUNT_ID);
+    }
+}
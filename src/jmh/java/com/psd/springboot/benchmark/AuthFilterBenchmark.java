@@ -0,0 +1,96 @@
+package com.psd.springboot.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.psd.springboot.config.BearerTokenAuthenticationFilter;
+import com.psd.springboot.config.TokenService;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authentication cost per request in the filter chain: HTTP Basic checked against a user store
+ * holding BCrypt hashes (strength 10, Spring's default), versus a bearer token from TokenService,
+ * verified from scratch (HMAC + claims parse) or answered from the verified-token cache.
+ * The in-memory store stands in for a user table, so Basic's database lookup is not included.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthFilterBenchmark {
+
+    private Filter basicFilter;
+    private Filter tokenFilter;
+    private Filter uncachedTokenFilter;
+    private String basicHeader;
+    private String bearerHeader;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsService(new InMemoryUserDetailsManager(
+                User.withUsername("user").password(encoder.encode("user123")).roles("USER").build()));
+        basicFilter = new BasicAuthenticationFilter(new ProviderManager(provider));
+        basicHeader = "Basic " + Base64.getEncoder().encodeToString("user:user123".getBytes(StandardCharsets.UTF_8));
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        byte[] secret = new byte[32];
+        String encodedSecret = Base64.getEncoder().encodeToString(secret);
+        TokenService cached = new TokenService(encodedSecret, Duration.ofMinutes(15), 10_000, objectMapper);
+        TokenService uncached = new TokenService(encodedSecret, Duration.ofMinutes(15), 0, objectMapper);
+        tokenFilter = new BearerTokenAuthenticationFilter(cached, objectMapper);
+        uncachedTokenFilter = new BearerTokenAuthenticationFilter(uncached, objectMapper);
+        bearerHeader = "Bearer " + cached.issue("user", List.of(new SimpleGrantedAuthority("ROLE_USER"))).token();
+    }
+
+    @Benchmark
+    public Authentication basicBcrypt() throws ServletException, IOException {
+        return authenticate(basicFilter, basicHeader);
+    }
+
+    @Benchmark
+    public Authentication bearerToken() throws ServletException, IOException {
+        return authenticate(tokenFilter, bearerHeader);
+    }
+
+    @Benchmark
+    public Authentication bearerTokenUncached() throws ServletException, IOException {
+        return authenticate(uncachedTokenFilter, bearerHeader);
+    }
+
+    private static Authentication authenticate(Filter filter, String authorization) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user/secure/data");
+        request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        if (authentication == null) {
+            throw new IllegalStateException("Request was not authenticated");
+        }
+        return authentication;
+    }
+}
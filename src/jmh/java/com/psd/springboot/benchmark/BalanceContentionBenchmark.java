@@ -0,0 +1,83 @@
+package com.psd.springboot.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.psd.springboot.dto.AccountSummaryDto;
+import com.psd.springboot.entity.Account;
+import com.psd.springboot.mapper.AccountMapper;
+import com.psd.springboot.repository.AccountRepository;
+import com.psd.springboot.service.impl.AccountServiceImpl;
+import com.psd.springboot.service.impl.AccountAmounts;
+import com.psd.springboot.service.impl.AccountIdResolver;
+import com.psd.springboot.service.impl.AccountSummaryCache;
+import com.psd.springboot.service.impl.BalanceMutationEngine;
+import com.psd.springboot.service.impl.DashboardAggregates;
+import com.psd.springboot.service.impl.IdempotencyGuard;
+import com.psd.springboot.service.impl.TransactionLedger;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of deposits/withdrawals when many threads hit few accounts.
+ *
+ * accounts = how many distinct accounts the threads spread over (1 = every thread fights for one row).
+ * stripes  = lock stripes in BalanceMutationEngine (1 behaves like a single global lock).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class BalanceContentionBenchmark {
+
+    @Param({"1", "16", "1024"})
+    public int accounts;
+
+    @Param({"1", "1024"})
+    public int stripes;
+
+    private AccountServiceImpl accountService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        AccountRepository repository = InMemoryAccountRepository.create();
+        for (int i = 0; i < accounts; i++) {
+            Account account = new Account();
+            account.setAccountHolderName("Bench " + i);
+            account.setAccountNumber("ACC" + i);
+            account.setCurrency("INR");
+            account.setActive(true);
+            account.setBalance(100_000_000L);
+            repository.save(account);
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new NoOpTransactionManager());
+        BalanceMutationEngine engine = new BalanceMutationEngine(repository, transactionTemplate, stripes, 5);
+        TransactionLedger ledger = new TransactionLedger(DiscardingTransactionRepository.create(), repository,
+                transactionTemplate, TransactionLedger.Durability.COMMIT, 1, 1, 1, 1);
+        accountService = new AccountServiceImpl(repository, new AccountMapper(), engine, ledger,
+                new AccountSummaryCache(10_000, Duration.ofSeconds(10)),
+                new AccountIdResolver(repository, 10_000),
+                new DashboardAggregates(repository, 10_000),
+                new IdempotencyGuard(DiscardingIdempotencyRecordRepository.create(), 10_000, Duration.ofHours(24)),
+                null, new ObjectMapper(), new AccountAmounts(repository, 10_000));
+    }
+
+    @Benchmark
+    public AccountSummaryDto deposit() {
+        return accountService.depositAndReturnSummary(randomAccountId(), 1_000L, null, null);
+    }
+
+    @Benchmark
+    public AccountSummaryDto withdraw() {
+        return accountService.withdrawAndReturnSummary(randomAccountId(), 100L, null, null);
+    }
+
+    private long randomAccountId() {
+        return 1 + ThreadLocalRandom.current().nextInt(accounts);
+    }
+}
@@ -0,0 +1,108 @@
+package com.psd.springboot.benchmark;
+
+import com.psd.springboot.SpringbootBankingApplication;
+import com.psd.springboot.dto.BatchTransactionItem;
+import com.psd.springboot.dto.BatchTransactionResult;
+import com.psd.springboot.entity.Account;
+import com.psd.springboot.repository.AccountRepository;
+import com.psd.springboot.service.AccountService;
+import com.psd.springboot.service.TransactionBatchService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Items/sec of the batch endpoint's service against the same items sent as single calls.
+ *
+ * Runs the real Spring context on the in-memory H2 profile, so both sides pay for
+ * transactions, locking and the ledger insert, but not for network round trips. H2 runs
+ * in-process, so the ratio measured here is a lower bound of the gain on MySQL, where each
+ * single call costs several round trips and a batched chunk costs a few.
+ *
+ * Each invocation applies ITEMS alternating deposits and withdrawals of the same amount
+ * over ACCOUNTS accounts, so balances stay put and no item is rejected.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchTransactionBenchmark {
+
+    private static final int ITEMS = 500;
+    private static final int ACCOUNTS = 50;
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private TransactionBatchService transactionBatchService;
+    private List<BatchTransactionItem> items;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(SpringbootBankingApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("h2")
+                .properties("banking.rate-limit.enabled=false", "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        accountService = context.getBean(AccountService.class);
+        transactionBatchService = context.getBean(TransactionBatchService.class);
+
+        AccountRepository repository = context.getBean(AccountRepository.class);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            ids.add(repository.save(account(i)).getId());
+        }
+        items = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            String type = i / ACCOUNTS % 2 == 0 ? "DEPOSIT" : "WITHDRAWAL";
+            items.add(new BatchTransactionItem(ids.get(i % ACCOUNTS), "1.00", type, null));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public long single() {
+        long sum = 0;
+        for (BatchTransactionItem item : items) {
+            long amount = accountService.parseAmount(item.accountId(), item.amount());
+            sum += "DEPOSIT".equals(item.transactionType())
+                    ? accountService.depositAndReturnSummary(item.accountId(), amount, null, null).version()
+                    : accountService.withdrawAndReturnSummary(item.accountId(), amount, null, null).version();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public List<BatchTransactionResult> batch() {
+        return transactionBatchService.applyBatch(items);
+    }
+
+    private static Account account(int i) {
+        Account account = new Account();
+        account.setAccountHolderName("Batch bench " + i);
+        account.setAccountNumber("BB" + i);
+        account.setAccountType("SAVINGS");
+        account.setCurrency("INR");
+        account.setAccountCreationDate(LocalDate.now());
+        account.setActive(true);
+        account.setContactEmail("bench@example.com");
+        account.setContactPhone("9876543210");
+        account.setAddress("1 Main Road, Pune");
+        account.setBalance(100_000_000L);
+        return account;
+    }
+}
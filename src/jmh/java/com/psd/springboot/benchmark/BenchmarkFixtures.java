@@ -0,0 +1,74 @@
+package com.psd.springboot.benchmark;
+
+import com.psd.springboot.entity.Account;
+import com.psd.springboot.entity.Address;
+import com.psd.springboot.entity.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Realistically populated entities shared by the benchmarks.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static Account account(long id) {
+        LocalDateTime now = LocalDateTime.of(2026, 1, 15, 10, 30);
+        Account account = new Account();
+        account.setId(id);
+        account.setAccountHolderName("Benchmark Holder " + id);
+        account.setAccountNumber(String.format("%016d", id));
+        account.setAccountType("SAVINGS");
+        account.setBankName("PSD Bank");
+        account.setBranchCode("BR0042");
+        account.setIfscCode("PSDB0000042");
+        account.setCurrency("INR");
+        account.setAccountCreationDate(LocalDate.of(2020, 3, 1));
+        account.setBalance(12_345_678L);
+        account.setActive(true);
+        account.setContactEmail("holder" + id + "@example.com");
+        account.setContactPhone("9876543210");
+        account.setAddress("42 MG Road, Bengaluru, KA 560001");
+        account.setPanNumber("ABCDE1234F");
+        account.setNationality("Indian");
+        account.setDateOfBirth(LocalDate.of(1990, 7, 12));
+        account.setAccountStatus("ACTIVE");
+        account.setOverdraftAllowed(true);
+        account.setOverdraftLimit(5_000_000L);
+        account.setSwiftCode("PSDBINBBXXX");
+        account.setIban("IN12PSDB00000000" + id);
+        account.setLastTransactionDate(now);
+        account.setLastLoginDate(now);
+        account.setCreatedAt(now.minusYears(5));
+        account.setUpdatedAt(now);
+        account.setFailedLoginAttempts(0);
+        return account;
+    }
+
+    static User userWithAccounts(int accountCount) {
+        User user = new User();
+        user.setId(1L);
+        user.setFullName("Benchmark User");
+        user.setContactEmail("user@example.com");
+        user.setContactPhone("9876543210");
+        user.setAddress(Address.builder()
+                .id(1L).street("42 MG Road").city("Bengaluru").state("KA").postalCode("560001").country("IN")
+                .build());
+        user.setPanNumber("ABCDE1234F");
+        user.setNationality("Indian");
+        user.setDateOfBirth(LocalDate.of(1990, 7, 12));
+        List<Account> accounts = new ArrayList<>(accountCount);
+        for (int i = 1; i <= accountCount; i++) {
+            Account account = account(i);
+            account.setUser(user);
+            accounts.add(account);
+        }
+        user.setAccounts(accounts);
+        return user;
+    }
+}
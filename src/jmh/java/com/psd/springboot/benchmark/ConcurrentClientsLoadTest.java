@@ -0,0 +1,189 @@
+package com.psd.springboot.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop HTTP load generator against a running instance: N clients, each sending its
+ * next request as soon as the previous one completes. Used to compare platform-thread and
+ * virtual-thread mode (see loadtest/compare-threading.sh, which runs it once per mode).
+ *
+ * Mix: GET /api/accounts/public/{id} plus a share of deposits (write-ratio) on random ids.
+ * Only requests completed after the warm-up are measured. Prints throughput, latency
+ * percentiles and status counts, and appends one JSON line per run to the results file.
+ *
+ * It only needs the JDK, so after mvn -Pbenchmark test-compile:
+ *   java -cp target/test-classes com.psd.springboot.benchmark.ConcurrentClientsLoadTest \
+ *       --label=virtual --clients=2000 --duration=60 --warmup=15
+ */
+public class ConcurrentClientsLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        String label = options.getOrDefault("label", "run");
+        int clients = Integer.parseInt(options.getOrDefault("clients", "2000"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "15"));
+        int accounts = Integer.parseInt(options.getOrDefault("accounts", "100"));
+        double writeRatio = Double.parseDouble(options.getOrDefault("write-ratio", "0.1"));
+        Path resultsFile = Path.of(options.getOrDefault("results", "target/loadtest-results.ndjson"));
+
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        long start = System.nanoTime();
+        long measureFrom = start + Duration.ofSeconds(warmupSeconds).toNanos();
+        long end = measureFrom + Duration.ofSeconds(durationSeconds).toNanos();
+
+        List<ClientStats> stats = new ArrayList<>(clients);
+        CountDownLatch done = new CountDownLatch(clients);
+        for (int i = 0; i < clients; i++) {
+            ClientStats clientStats = new ClientStats();
+            stats.add(clientStats);
+            // Small stacks: the generator itself has to hold thousands of platform threads on Java 17
+            Thread client = new Thread(null, () -> {
+                try {
+                    runClient(http, baseUrl, accounts, writeRatio, measureFrom, end, clientStats);
+                } finally {
+                    done.countDown();
+                }
+            }, "client-" + i, 256 * 1024);
+            client.setDaemon(true);
+            client.start();
+        }
+        done.await();
+
+        report(label, clients, durationSeconds, stats, resultsFile);
+    }
+
+    private static void runClient(HttpClient http, String baseUrl, int accounts, double writeRatio,
+                                  long measureFrom, long end, ClientStats stats) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            long id = 1 + random.nextInt(accounts);
+            HttpRequest request = random.nextDouble() < writeRatio
+                    ? HttpRequest.newBuilder(URI.create(baseUrl + "/api/accounts/public/" + id + "/deposit"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"amount\":\"0.01\",\"description\":\"loadtest\"}"))
+                        .timeout(Duration.ofSeconds(60))
+                        .build()
+                    : HttpRequest.newBuilder(URI.create(baseUrl + "/api/accounts/public/" + id))
+                        .timeout(Duration.ofSeconds(60))
+                        .build();
+
+            long sent = System.nanoTime();
+            if (sent >= end) {
+                return;
+            }
+            int status;
+            try {
+                status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException ex) {
+                status = -1;
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long completed = System.nanoTime();
+            if (completed >= measureFrom && completed < end) {
+                stats.record(completed - sent, status);
+            }
+        }
+    }
+
+    private static void report(String label, int clients, int durationSeconds, List<ClientStats> stats,
+                               Path resultsFile) throws IOException {
+        int total = 0;
+        for (ClientStats clientStats : stats) {
+            total += clientStats.count;
+        }
+        long[] latencies = new long[total];
+        int pos = 0;
+        long ok = 0, busy = 0, failed = 0;
+        for (ClientStats clientStats : stats) {
+            System.arraycopy(clientStats.latencies, 0, latencies, pos, clientStats.count);
+            pos += clientStats.count;
+            ok += clientStats.ok;
+            busy += clientStats.busy;
+            failed += clientStats.failed;
+        }
+        Arrays.sort(latencies);
+
+        double throughput = (double) total / durationSeconds;
+        String json = String.format(java.util.Locale.ROOT,
+                "{\"label\":\"%s\",\"clients\":%d,\"durationSeconds\":%d,\"requests\":%d,\"throughputPerSecond\":%.1f," +
+                "\"p50Ms\":%.2f,\"p90Ms\":%.2f,\"p99Ms\":%.2f,\"p999Ms\":%.2f,\"maxMs\":%.2f," +
+                "\"ok\":%d,\"busy503\":%d,\"failed\":%d}",
+                label, clients, durationSeconds, total, throughput,
+                percentileMs(latencies, 0.50), percentileMs(latencies, 0.90), percentileMs(latencies, 0.99),
+                percentileMs(latencies, 0.999), percentileMs(latencies, 1.0),
+                ok, busy, failed);
+        System.out.println(json);
+
+        if (resultsFile.getParent() != null) {
+            Files.createDirectories(resultsFile.getParent());
+        }
+        Files.writeString(resultsFile, json + System.lineSeparator(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static double percentileMs(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    // --name=value pairs
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+
+    // Per-client samples; written by one thread only, read after it has finished
+    private static final class ClientStats {
+        long[] latencies = new long[1024];
+        int count;
+        long ok;
+        long busy;
+        long failed;
+
+        void record(long latencyNanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (status >= 200 && status < 300) {
+                ok++;
+            } else if (status == 503) {
+                busy++;
+            } else {
+                failed++;
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.psd.springboot.benchmark;
+
+import com.psd.springboot.repository.IdempotencyRecordRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+
+/**
+ * IdempotencyRecordRepository that accepts every key and never finds one, so replays
+ * in a benchmark are served purely by IdempotencyGuard's in-memory table.
+ */
+final class DiscardingIdempotencyRecordRepository {
+
+    private DiscardingIdempotencyRecordRepository() {
+    }
+
+    static IdempotencyRecordRepository create() {
+        return (IdempotencyRecordRepository) Proxy.newProxyInstance(
+                IdempotencyRecordRepository.class.getClassLoader(),
+                new Class<?>[]{IdempotencyRecordRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "insert" -> 1;
+                    case "findById" -> Optional.empty();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "DiscardingIdempotencyRecordRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,29 @@
+package com.psd.springboot.benchmark;
+
+import com.psd.springboot.repository.TransactionRepository;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * TransactionRepository whose writes go nowhere, so ledger recording costs only
+ * what the service itself does (entity construction, buffering) during a benchmark.
+ */
+final class DiscardingTransactionRepository {
+
+    private DiscardingTransactionRepository() {
+    }
+
+    static TransactionRepository create() {
+        return (TransactionRepository) Proxy.newProxyInstance(
+                TransactionRepository.class.getClassLoader(),
+                new Class<?>[]{TransactionRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "save" -> args[0];
+                    case "saveAll" -> args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "DiscardingTransactionRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
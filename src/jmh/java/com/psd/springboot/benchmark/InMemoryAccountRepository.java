@@ -0,0 +1,148 @@
+package com.psd.springboot.benchmark;
+
+import com.psd.springboot.entity.Account;
+import com.psd.springboot.repository.AccountRepository;
+import com.psd.springboot.repository.projection.AccountCurrencyView;
+import com.psd.springboot.repository.projection.AccountSegmentView;
+import com.psd.springboot.repository.projection.AccountStateView;
+import com.psd.springboot.repository.projection.AccountSummaryView;
+import com.psd.springboot.support.Money;
+import org.springframework.beans.BeanUtils;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Map-backed stand-in for AccountRepository so service paths can be benchmarked without MySQL.
+ * Rows are copied in and out like a database would, and the @Version column is enforced
+ * so optimistic-lock conflicts surface exactly as they do with Hibernate.
+ * Only the methods the benchmarks exercise are implemented.
+ */
+final class InMemoryAccountRepository implements InvocationHandler {
+
+    private final ConcurrentHashMap<Long, Account> rows = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    static AccountRepository create() {
+        return (AccountRepository) Proxy.newProxyInstance(
+                AccountRepository.class.getClassLoader(),
+                new Class<?>[]{AccountRepository.class},
+                new InMemoryAccountRepository());
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "findById":
+                return Optional.ofNullable(rows.get((Long) args[0])).map(InMemoryAccountRepository::copy);
+            case "findAll":
+                return new ArrayList<>(rows.values().stream().map(InMemoryAccountRepository::copy).toList());
+            case "save":
+            case "saveAndFlush":
+                return store((Account) args[0]);
+            case "findSummaryById":
+                return Optional.ofNullable(rows.get((Long) args[0])).map(InMemoryAccountRepository::summaryOf);
+            case "applyDeposit":
+                return applyMovement((Long) args[0], (Long) args[1], (LocalDateTime) args[2], false);
+            case "applyWithdrawal":
+                return applyMovement((Long) args[0], (Long) args[1], (LocalDateTime) args[2], true);
+            case "findStateById":
+                return Optional.ofNullable(rows.get((Long) args[0]))
+                        .map(a -> new AccountStateView(a.isActive(), a.isLocked(), a.isOverdraftAllowed()));
+            case "findSegmentById":
+                return Optional.ofNullable(rows.get((Long) args[0]))
+                        .map(a -> new AccountSegmentView(a.getAccountType(), a.getCurrency()));
+            case "findVersionById":
+                return Optional.ofNullable(rows.get((Long) args[0])).map(Account::getVersion);
+            case "findCurrencies":
+                return ((Collection<?>) args[0]).stream()
+                        .map(rows::get)
+                        .filter(Objects::nonNull)
+                        .map(Account::getCurrency)
+                        .toList();
+            case "findCurrenciesByIdIn":
+                return ((Collection<?>) args[0]).stream()
+                        .map(rows::get)
+                        .filter(Objects::nonNull)
+                        .map(a -> new AccountCurrencyView(a.getId(), a.getCurrency()))
+                        .toList();
+            case "existsById":
+                return rows.containsKey((Long) args[0]);
+            case "getReferenceById":
+                Account reference = new Account();
+                reference.setId((Long) args[0]);
+                return reference;
+            case "count":
+                return (long) rows.size();
+            case "hashCode":
+                return System.identityHashCode(this);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "InMemoryAccountRepository";
+            default:
+                throw new UnsupportedOperationException(method.getName());
+        }
+    }
+
+    private Account store(Account account) {
+        if (account.getId() == null) {
+            account.setId(sequence.incrementAndGet());
+            rows.put(account.getId(), copy(account));
+            return account;
+        }
+        Account[] stored = new Account[1];
+        rows.compute(account.getId(), (id, current) -> {
+            if (current != null && current.getVersion() != account.getVersion()) {
+                throw new ObjectOptimisticLockingFailureException(Account.class, id);
+            }
+            Account next = copy(account);
+            next.setVersion(account.getVersion() + 1);
+            stored[0] = next;
+            return next;
+        });
+        return copy(stored[0]);
+    }
+
+    // Mirrors the WHERE clauses of the conditional UPDATEs in AccountRepository
+    private int applyMovement(Long id, long amount, LocalDateTime timestamp, boolean debit) {
+        int[] updated = new int[1];
+        rows.computeIfPresent(id, (key, current) -> {
+            if (!current.isActive() || current.isLocked()) {
+                return current;
+            }
+            long available = Money.available(current.getBalance(), current.isOverdraftAllowed(), current.getOverdraftLimit());
+            if (debit ? available < amount : current.getBalance() > Money.creditCeiling(amount)) {
+                return current;
+            }
+            Account next = copy(current);
+            next.setBalance(debit ? Money.subtract(current.getBalance(), amount) : Money.add(current.getBalance(), amount));
+            next.setLastTransactionDate(timestamp);
+            next.setVersion(current.getVersion() + 1);
+            updated[0] = 1;
+            return next;
+        });
+        return updated[0];
+    }
+
+    private static AccountSummaryView summaryOf(Account a) {
+        return new AccountSummaryView(a.getId(), a.getAccountHolderName(), a.getAccountNumber(),
+                a.getAccountType(), a.getBankName(), a.getCurrency(), a.getAccountCreationDate(),
+                a.getBalance(), a.isActive(), a.getBranchCode(), a.getAccountStatus(), a.getVersion());
+    }
+
+    private static Account copy(Account source) {
+        Account target = new Account();
+        BeanUtils.copyProperties(source, target);
+        return target;
+    }
+}
@@ -0,0 +1,52 @@
+package com.psd.springboot.benchmark;
+
+import com.psd.springboot.dto.AccountDetailsDto;
+import com.psd.springboot.dto.AccountSummaryDto;
+import com.psd.springboot.dto.UserSummaryDto;
+import com.psd.springboot.entity.Account;
+import com.psd.springboot.entity.User;
+import com.psd.springboot.mapper.AccountMapper;
+import com.psd.springboot.mapper.UserMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity -> DTO mapping cost on the read paths.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapperBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int accountsPerUser;
+
+    private final AccountMapper accountMapper = new AccountMapper();
+    private Account account;
+    private User user;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        account = BenchmarkFixtures.account(42L);
+        user = BenchmarkFixtures.userWithAccounts(accountsPerUser);
+    }
+
+    @Benchmark
+    public AccountSummaryDto toAccountSummaryDto() {
+        return accountMapper.toAccountSummaryDto(account);
+    }
+
+    @Benchmark
+    public AccountDetailsDto toAccountDetailsDto() {
+        return accountMapper.toAccountDetailsDto(account);
+    }
+
+    @Benchmark
+    public UserSummaryDto mapToUserDto() {
+        return UserMapper.mapToUserDto(user);
+    }
+}
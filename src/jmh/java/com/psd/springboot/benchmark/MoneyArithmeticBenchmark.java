@@ -0,0 +1,80 @@
+package com.psd.springboot.benchmark;
+
+import com.psd.springboot.support.Money;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the deposit/withdraw balance arithmetic (overdraft check, debit, credit) and of
+ * rendering the new balance, for the three candidate money representations:
+ * double (old model), BigDecimal, and long minor units (current model).
+ * Run with -prof gc to compare allocation rates as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneyArithmeticBenchmark {
+
+    private double doubleBalance = 1_234_567.89;
+    private final double doubleAmount = 12.34;
+    private final double doubleOverdraft = 500.00;
+
+    private BigDecimal decimalBalance = new BigDecimal("1234567.89");
+    private final BigDecimal decimalAmount = new BigDecimal("12.34");
+    private final BigDecimal decimalOverdraft = new BigDecimal("500.00");
+
+    private long minorBalance = 123_456_789L;
+    private final long minorAmount = 1_234L;
+    private final long minorOverdraft = 50_000L;
+
+    private final char[] buffer = new char[Money.MAX_FORMATTED_LENGTH];
+
+    @Benchmark
+    public double doubleDepositWithdraw() {
+        doubleBalance = doubleBalance + doubleAmount;
+        if (doubleBalance + doubleOverdraft >= doubleAmount) {
+            doubleBalance = doubleBalance - doubleAmount;
+        }
+        return doubleBalance;
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalDepositWithdraw() {
+        decimalBalance = decimalBalance.add(decimalAmount);
+        if (decimalBalance.add(decimalOverdraft).compareTo(decimalAmount) >= 0) {
+            decimalBalance = decimalBalance.subtract(decimalAmount);
+        }
+        return decimalBalance;
+    }
+
+    @Benchmark
+    public long minorUnitsDepositWithdraw() {
+        minorBalance = Money.add(minorBalance, minorAmount);
+        if (Money.available(minorBalance, true, minorOverdraft) >= minorAmount) {
+            minorBalance = Money.subtract(minorBalance, minorAmount);
+        }
+        return minorBalance;
+    }
+
+    @Benchmark
+    public void doubleRender(Blackhole bh) {
+        bh.consume(Double.toString(doubleBalance));
+    }
+
+    @Benchmark
+    public void bigDecimalRender(Blackhole bh) {
+        bh.consume(decimalBalance.toPlainString());
+    }
+
+    @Benchmark
+    public void minorUnitsRender(Blackhole bh) {
+        bh.consume(Money.format(minorBalance, 2, buffer));
+        bh.consume(buffer);
+    }
+}
@@ -0,0 +1,68 @@
+package com.psd.springboot.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.psd.springboot.config.RateLimitFilter;
+import com.psd.springboot.support.TokenBucketTable;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead RateLimitFilter adds to a request: client key hash, account id parse and two bucket
+ * updates, with one thread per core sharing the tables. Limits are set high enough that nothing is
+ * rejected, so this is the allowed path that every request pays. Requests are prebuilt and
+ * reused; 4096 clients over 65536 accounts. The target is < 1 us per request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class RateLimitBenchmark {
+
+    private static final int REQUESTS = 4096;
+    private static final FilterChain PASS = (request, response) -> { };
+
+    private RateLimitFilter filter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        filter = new RateLimitFilter(
+                new TokenBucketTable(65_536, 1e6, 1_000_000),
+                new TokenBucketTable(65_536, 1e6, 1_000_000),
+                50, new ObjectMapper());
+    }
+
+    @State(Scope.Thread)
+    public static class Requests {
+
+        MockHttpServletRequest[] requests;
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            requests = new MockHttpServletRequest[REQUESTS];
+            for (int i = 0; i < REQUESTS; i++) {
+                long accountId = 1 + (i * 7919L) % 65_536;
+                MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/accounts/public/" + accountId + "/deposit");
+                request.setRemoteAddr("10.0." + (i >> 8 & 0xff) + "." + (i & 0xff));
+                requests[i] = request;
+            }
+        }
+    }
+
+    @Benchmark
+    public int filter(Requests state) throws ServletException, IOException {
+        MockHttpServletRequest request = state.requests[state.next++ & (REQUESTS - 1)];
+        filter.doFilter(request, state.response, PASS);
+        return state.response.getStatus();
+    }
+}
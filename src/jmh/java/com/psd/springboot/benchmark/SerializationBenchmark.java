@@ -0,0 +1,60 @@
+package com.psd.springboot.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.psd.springboot.dto.AccountDetailsDto;
+import com.psd.springboot.dto.AccountSummaryDto;
+import com.psd.springboot.mapper.AccountMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the response DTOs, configured like Spring Boot's ObjectMapper
+ * (java.time module, ISO dates). Output goes to a discarding stream so only encoding is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializationBenchmark {
+
+    private ObjectWriter detailsWriter;
+    private ObjectWriter summaryWriter;
+    private AccountDetailsDto details;
+    private AccountSummaryDto summary;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        detailsWriter = objectMapper.writerFor(AccountDetailsDto.class);
+        summaryWriter = objectMapper.writerFor(AccountSummaryDto.class);
+        AccountMapper accountMapper = new AccountMapper();
+        details = accountMapper.toAccountDetailsDto(BenchmarkFixtures.account(42L));
+        summary = accountMapper.toAccountSummaryDto(BenchmarkFixtures.account(42L));
+    }
+
+    @Benchmark
+    public void serializeAccountDetails() throws IOException {
+        detailsWriter.writeValue(OutputStream.nullOutputStream(), details);
+    }
+
+    @Benchmark
+    public void serializeAccountSummary() throws IOException {
+        summaryWriter.writeValue(OutputStream.nullOutputStream(), summary);
+    }
+
+    @Benchmark
+    public byte[] serializeAccountDetailsToBytes() throws IOException {
+        return detailsWriter.writeValueAsBytes(details);
+    }
+}
@@ -0,0 +1,95 @@
+package com.psd.springboot.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.psd.springboot.dto.TransferResultDto;
+import com.psd.springboot.entity.Account;
+import com.psd.springboot.mapper.AccountMapper;
+import com.psd.springboot.repository.AccountRepository;
+import com.psd.springboot.service.impl.AccountServiceImpl;
+import com.psd.springboot.service.impl.AccountAmounts;
+import com.psd.springboot.service.impl.AccountIdResolver;
+import com.psd.springboot.service.impl.AccountSummaryCache;
+import com.psd.springboot.service.impl.BalanceMutationEngine;
+import com.psd.springboot.service.impl.DashboardAggregates;
+import com.psd.springboot.service.impl.IdempotencyGuard;
+import com.psd.springboot.service.impl.TransactionLedger;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * N threads (8 by default, change with -t) transferring random amounts between random pairs
+ * of M accounts. Reports transfers/sec; after the run the sum of all balances must equal the
+ * starting total, otherwise the trial fails.
+ *
+ * Runs against InMemoryAccountRepository, so it measures the service path and its
+ * contention on a few hot ids, not database row locks; no debit is ever refused. Opposite
+ * transfers on real row locks, with rejected legs, are covered by BalanceConcurrencyTest.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class TransferStressBenchmark {
+
+    // Large enough that no debit is ever refused during a run
+    private static final long OPENING_BALANCE = 1_000_000_000_000L;
+
+    @Param({"2", "16", "1024"})
+    public int accounts;
+
+    private AccountRepository repository;
+    private AccountServiceImpl accountService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = InMemoryAccountRepository.create();
+        for (int i = 0; i < accounts; i++) {
+            Account account = new Account();
+            account.setAccountHolderName("Bench " + i);
+            account.setAccountNumber("ACC" + i);
+            account.setCurrency("INR");
+            account.setActive(true);
+            account.setBalance(OPENING_BALANCE);
+            repository.save(account);
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new NoOpTransactionManager());
+        BalanceMutationEngine engine = new BalanceMutationEngine(repository, transactionTemplate, 1024, 5);
+        TransactionLedger ledger = new TransactionLedger(DiscardingTransactionRepository.create(), repository,
+                transactionTemplate, TransactionLedger.Durability.COMMIT, 1, 1, 1, 1);
+        accountService = new AccountServiceImpl(repository, new AccountMapper(), engine, ledger,
+                new AccountSummaryCache(10_000, Duration.ofSeconds(10)),
+                new AccountIdResolver(repository, 10_000),
+                new DashboardAggregates(repository, 10_000),
+                new IdempotencyGuard(DiscardingIdempotencyRecordRepository.create(), 10_000, Duration.ofHours(24)),
+                null, new ObjectMapper(), new AccountAmounts(repository, 10_000));
+    }
+
+    @Benchmark
+    public TransferResultDto transfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long from = 1 + random.nextInt(accounts);
+        long to = 1 + random.nextInt(accounts - 1);
+        if (to >= from) {
+            to++;
+        }
+        return accountService.transferAndReturnSummaries(from, to, 1 + random.nextInt(100), null);
+    }
+
+    @TearDown(Level.Trial)
+    public void assertTotalConserved() {
+        List<Account> all = repository.findAll();
+        long total = all.stream().mapToLong(Account::getBalance).sum();
+        long expected = OPENING_BALANCE * accounts;
+        if (total != expected) {
+            throw new IllegalStateException("Money not conserved: expected total " + expected + " but found " + total);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.psd.springboot.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+
+/**
+ * Moves account_seq past the ids already in the accounts table.
+ *
+ * Account ids used to come from AUTO_INCREMENT. Since they come from the pooled sequence
+ * account_seq, ddl-auto=update creates that sequence starting at 1 on a database that
+ * already holds accounts, and the next insert collides with an existing primary key.
+ *
+ * The pooled optimizer treats the value it reads as the top of a block of ALLOCATION_SIZE
+ * ids, so the next value is raised to MAX(accounts.id) + ALLOCATION_SIZE: the first id
+ * handed out is MAX(accounts.id) + 1. On MySQL the sequence is a one-row table (next_val);
+ * on databases with native sequences (H2 in the tests) it is restarted. The value only ever
+ * moves up, so running this on every start is harmless, and on a schema whose sequence is
+ * already ahead it is one aggregate on the primary key and one read.
+ */
+@Component
+public class AccountIdSequenceMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountIdSequenceMigration.class);
+
+    // Must match the allocationSize of Account's @SequenceGenerator
+    static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Taking the EntityManagerFactory makes this run after ddl-auto has created the sequence
+    public AccountIdSequenceMigration(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM accounts", Long.class);
+        if (maxId == null) {
+            return;
+        }
+        long required = maxId + ALLOCATION_SIZE;
+        if (isTable("account_seq")) {
+            int raised = jdbcTemplate.update("UPDATE account_seq SET next_val = ? WHERE next_val < ?", required, required);
+            if (raised > 0) {
+                logger.info("Raised account_seq.next_val to {} (MAX(accounts.id) = {})", required, maxId);
+            }
+        } else {
+            Long next = jdbcTemplate.queryForObject(
+                    "SELECT base_value FROM information_schema.sequences WHERE LOWER(sequence_name) = 'account_seq'",
+                    Long.class);
+            if (next != null && next < required) {
+                jdbcTemplate.execute("ALTER SEQUENCE account_seq RESTART WITH " + required);
+                logger.info("Restarted account_seq at {} (MAX(accounts.id) = {})", required, maxId);
+            }
+        }
+    }
+
+    private boolean isTable(String name) {
+        Boolean found = jdbcTemplate.execute((Connection connection) -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            ResultSet tables = metaData.getTables(connection.getCatalog(), null,
+                    metaData.storesUpperCaseIdentifiers() ? name.toUpperCase() : name, new String[]{"TABLE"});
+            try {
+                return tables.next();
+            } finally {
+                JdbcUtils.closeResultSet(tables);
+            }
+        });
+        return Boolean.TRUE.equals(found);
+    }
+}
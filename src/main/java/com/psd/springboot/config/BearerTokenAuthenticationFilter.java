@@ -0,0 +1,80 @@
+package com.psd.springboot.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.psd.springboot.exception.ErrorDetails;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Authenticates requests carrying "Authorization: Bearer <token>" from the token alone
+ * (see TokenService): no session, no user store, no password hash on the request path.
+ *
+ * Requests without a bearer token pass through untouched, so HTTP Basic keeps working for
+ * existing clients (at its per-request cost). An invalid or expired token is answered with
+ * 401 and WWW-Authenticate: Bearer error="invalid_token" right here instead of falling back
+ * to another scheme.
+ */
+public class BearerTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(BearerTokenAuthenticationFilter.class);
+
+    private static final String PREFIX = "Bearer ";
+
+    private final TokenService tokenService;
+    private final ObjectMapper objectMapper;
+    private final SecurityContextHolderStrategy contextHolder = SecurityContextHolder.getContextHolderStrategy();
+
+    public BearerTokenAuthenticationFilter(TokenService tokenService, ObjectMapper objectMapper) {
+        this.tokenService = tokenService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.regionMatches(true, 0, PREFIX, 0, PREFIX.length())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try {
+            SecurityContext context = contextHolder.createEmptyContext();
+            context.setAuthentication(tokenService.verify(authorization.substring(PREFIX.length()).trim()));
+            contextHolder.setContext(context);
+        } catch (AuthenticationException ex) {
+            contextHolder.clearContext();
+            reject(request, response, ex);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, AuthenticationException ex) throws IOException {
+        logger.debug("Rejected bearer token on {} {}: {}", request.getMethod(), request.getRequestURI(), ex.getMessage());
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ErrorDetails error = new ErrorDetails(
+                LocalDateTime.now(),
+                ex.getMessage(),
+                "uri=" + request.getRequestURI(),
+                "INVALID_TOKEN"
+        );
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
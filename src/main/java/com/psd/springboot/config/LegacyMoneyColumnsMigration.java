@@ -0,0 +1,134 @@
+package com.psd.springboot.config;
+
+import com.psd.springboot.support.Money;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves databases created before money was held as long minor units onto the new columns.
+ *
+ * Those schemas keep accounts.balance, accounts.overdraft_limit and transactions.amount as
+ * NOT NULL DOUBLE major units. ddl-auto=update adds balance_minor, overdraft_limit_minor and
+ * amount_minor (filled with 0) but never drops a column, so every INSERT fails under MySQL
+ * strict mode on the old columns, while the balance UPDATEs already land in balance_minor.
+ *
+ * At startup, after Hibernate has updated the schema and before any request is served, the
+ * old values are converted at the scale of each account's currency and added to the new
+ * columns, and the old columns are zeroed in the same statement; the old columns are then
+ * dropped. A restart halfway through repeats nothing: converted rows hold 0 in the old
+ * columns, and only columns that still exist are dropped. On a new schema this is one
+ * metadata lookup.
+ */
+@Component
+public class LegacyMoneyColumnsMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(LegacyMoneyColumnsMigration.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // Taking the EntityManagerFactory makes this run after ddl-auto has added the new columns
+    public LegacyMoneyColumnsMigration(JdbcTemplate jdbcTemplate,
+                                       TransactionTemplate transactionTemplate,
+                                       EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        boolean balance = hasColumn("accounts", "balance");
+        boolean overdraftLimit = hasColumn("accounts", "overdraft_limit");
+        boolean amount = hasColumn("transactions", "amount");
+        if (!balance && !overdraftLimit && !amount) {
+            return;
+        }
+        logger.info("Converting legacy money columns to minor units (balance: {}, overdraft_limit: {}, amount: {})",
+                balance, overdraftLimit, amount);
+
+        List<String> accountColumns = new ArrayList<>();
+        if (balance) {
+            accountColumns.add("balance");
+        }
+        if (overdraftLimit) {
+            accountColumns.add("overdraft_limit");
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            for (String currency : jdbcTemplate.queryForList("SELECT DISTINCT currency FROM accounts", String.class)) {
+                long factor = powerOfTen(Money.scaleOf(currency));
+                String accountsOfCurrency = currency == null ? "currency IS NULL" : "currency = ?";
+                Object[] currencyArg = currency == null ? new Object[0] : new Object[]{currency};
+                for (String column : accountColumns) {
+                    jdbcTemplate.update("UPDATE accounts SET " + convert(column) + " WHERE " + accountsOfCurrency,
+                            withFactor(factor, currencyArg));
+                }
+                if (amount) {
+                    jdbcTemplate.update("UPDATE transactions SET " + convert("amount") +
+                            " WHERE account_id IN (SELECT id FROM accounts WHERE " + accountsOfCurrency + ")",
+                            withFactor(factor, currencyArg));
+                }
+            }
+            if (amount) {
+                // Entries without a matching account: Money.scaleOf's default
+                jdbcTemplate.update("UPDATE transactions SET " + convert("amount") + " WHERE amount <> 0",
+                        powerOfTen(Money.DEFAULT_SCALE));
+            }
+        });
+
+        // DDL commits on its own in MySQL, so it runs once every value has been copied
+        for (String column : accountColumns) {
+            jdbcTemplate.execute("ALTER TABLE accounts DROP COLUMN " + column);
+        }
+        if (amount) {
+            jdbcTemplate.execute("ALTER TABLE transactions DROP COLUMN amount");
+        }
+        logger.info("Legacy money columns converted and dropped");
+    }
+
+    // Adds the old major-unit value, scaled by the bound factor, to the new column and zeroes the old one
+    private static String convert(String column) {
+        return column + "_minor = " + column + "_minor + ROUND(" + column + " * ?), " + column + " = 0";
+    }
+
+    private static Object[] withFactor(long factor, Object[] args) {
+        Object[] all = new Object[args.length + 1];
+        all[0] = factor;
+        System.arraycopy(args, 0, all, 1, args.length);
+        return all;
+    }
+
+    private static long powerOfTen(int exponent) {
+        long power = 1;
+        for (int i = 0; i < exponent; i++) {
+            power *= 10;
+        }
+        return power;
+    }
+
+    private boolean hasColumn(String table, String column) {
+        Boolean found = jdbcTemplate.execute((Connection connection) -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            boolean upperCase = metaData.storesUpperCaseIdentifiers();
+            ResultSet columns = metaData.getColumns(connection.getCatalog(), null,
+                    upperCase ? table.toUpperCase() : table, upperCase ? column.toUpperCase() : column);
+            try {
+                return columns.next();
+            } finally {
+                JdbcUtils.closeResultSet(columns);
+            }
+        });
+        return Boolean.TRUE.equals(found);
+    }
+}
@@ -0,0 +1,40 @@
+package com.psd.springboot.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.psd.springboot.support.TokenBucketTable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Rate limits in front of the public account API (see RateLimitFilter).
+ * banking.rate-limit.enabled=false removes the filter.
+ */
+@Configuration
+@ConditionalOnProperty(name = "banking.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    // After the Spring Security chain (the principal is known) and before RequestAdmissionFilter,
+    // so a throttled request never holds an admission slot
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+            @Value("${banking.rate-limit.max-keys:65536}") int maxKeys,
+            @Value("${banking.rate-limit.client.rate:200}") double clientRate,
+            @Value("${banking.rate-limit.client.burst:400}") int clientBurst,
+            @Value("${banking.rate-limit.client.heavy-cost:50}") int heavyCost,
+            @Value("${banking.rate-limit.account.rate:20}") double accountRate,
+            @Value("${banking.rate-limit.account.burst:40}") int accountBurst,
+            ObjectMapper objectMapper) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(new RateLimitFilter(
+                new TokenBucketTable(maxKeys, clientRate, clientBurst),
+                new TokenBucketTable(maxKeys, accountRate, accountBurst),
+                Math.min(heavyCost, clientBurst),
+                objectMapper));
+        registration.addUrlPatterns("/api/accounts/public", "/api/accounts/public/*");
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+        return registration;
+    }
+}
@@ -0,0 +1,125 @@
+package com.psd.springboot.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.psd.springboot.exception.ErrorDetails;
+import com.psd.springboot.support.ExpiringDedupTable;
+import com.psd.springboot.support.TokenBucketTable;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client and per-account rate limits for the public account API, so one integrator
+ * cannot take the whole connection pool.
+ *
+ * Every request takes tokens from its client's bucket: the authenticated principal, or the
+ * remote address for anonymous calls. Requests addressed to one account
+ * (/api/accounts/public/{id}/...) also take one token from that account's bucket, which caps
+ * deposits, withdrawals and reads hammering a single account whoever sends them. Full
+ * listings, statement exports and batches cost heavyCost client tokens instead of one. An
+ * over-limit request is answered with 429 and Retry-After (whole seconds, rounded up).
+ *
+ * The remote address is whatever getRemoteAddr() reports. Behind a load balancer or reverse
+ * proxy that is the proxy, and all anonymous callers share a single bucket; deployments
+ * there need server.forward-headers-strategy=native, which installs Tomcat's RemoteIpValve
+ * and takes the client address from X-Forwarded-For. Enable it only when the proxy
+ * overwrites that header, or clients can pick their own bucket.
+ *
+ * Both tables are TokenBucketTables: a hash of the key and a compare-and-set, with no lock or
+ * allocation on the allowed path.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private static final String PREFIX = "/api/accounts/public/";
+
+    private final TokenBucketTable clients;
+    private final TokenBucketTable accounts;
+    private final int heavyCost;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(TokenBucketTable clients, TokenBucketTable accounts, int heavyCost, ObjectMapper objectMapper) {
+        this.clients = clients;
+        this.accounts = accounts;
+        this.heavyCost = Math.max(1, heavyCost);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String uri = request.getRequestURI();
+        long wait = clients.tryAcquire(clientKey(request), isHeavy(request, uri) ? heavyCost : 1);
+        if (wait == 0) {
+            long accountId = accountIdOf(uri);
+            if (accountId > 0) {
+                wait = accounts.tryAcquire(accountId, 1);
+            }
+        }
+        if (wait > 0) {
+            reject(request, response, wait);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private static long clientKey(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        // Separate key spaces for names and addresses, so a user cannot be named after someone's address
+        return principal != null
+                ? ExpiringDedupTable.hash64(principal.getName())
+                : ~ExpiringDedupTable.hash64(request.getRemoteAddr());
+    }
+
+    // Requests whose cost grows with the data behind them rather than being one row
+    private static boolean isHeavy(HttpServletRequest request, String uri) {
+        return "true".equals(request.getParameter("stream"))
+                || uri.endsWith("/statement")
+                || uri.endsWith("/transactions/batch");
+    }
+
+    // The {id} of /api/accounts/public/{id}[/...], or -1 when the path does not address one account
+    static long accountIdOf(String uri) {
+        if (!uri.startsWith(PREFIX)) {
+            return -1;
+        }
+        long id = 0;
+        int i = PREFIX.length();
+        for (; i < uri.length() && uri.charAt(i) != '/'; i++) {
+            char c = uri.charAt(i);
+            if (c < '0' || c > '9' || id > (Long.MAX_VALUE - 9) / 10) {
+                return -1;
+            }
+            id = id * 10 + (c - '0');
+        }
+        return i > PREFIX.length() ? id : -1;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        logger.debug("Rate limited {} {}; retry after {} s", request.getMethod(), request.getRequestURI(), retryAfter);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ErrorDetails error = new ErrorDetails(
+                LocalDateTime.now(),
+                "Too many requests, please retry later",
+                "uri=" + request.getRequestURI(),
+                "RATE_LIMITED"
+        );
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
@@ -0,0 +1,129 @@
+package com.psd.springboot.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.psd.springboot.exception.ErrorDetails;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps the number of API requests being processed at once.
+ *
+ * With platform threads Tomcat's worker pool already bounds concurrency; with virtual threads
+ * every accepted connection gets its own thread, and thousands of them would pile up inside
+ * HikariCP's getConnection() until they time out. This semaphore keeps the number of waiters
+ * bounded (the connection pool stays the real bottleneck) and fails fast with 503 + Retry-After
+ * once a request has waited acquire-timeout-ms for a slot.
+ *
+ * Semaphore uses AbstractQueuedSynchronizer, so a virtual thread parked here unmounts from its
+ * carrier instead of pinning it.
+ *
+ * An async request (streamed exports) keeps its slot until the async processing completes,
+ * fails or times out, not just until the filter chain returns, since its connection and
+ * database cursor stay in use for the whole stream.
+ */
+public class RequestAdmissionFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestAdmissionFilter.class);
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+    private final ObjectMapper objectMapper;
+
+    public RequestAdmissionFilter(int maxConcurrentRequests, long acquireTimeoutMs, ObjectMapper objectMapper) {
+        this.permits = new Semaphore(Math.max(1, maxConcurrentRequests), true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            reject(request, response);
+            return;
+        }
+        boolean releasedLater = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // The response is still being produced (e.g. a StreamingResponseBody): hold the slot until it ends
+                request.getAsyncContext().addListener(new ReleaseWhenDone());
+                releasedLater = true;
+            }
+        } finally {
+            if (!releasedLater) {
+                permits.release();
+            }
+        }
+    }
+
+    // Releases the slot once, whichever of complete/error/timeout is reported (a timeout is followed by complete)
+    private final class ReleaseWhenDone implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Restarting async drops the listeners; stay registered for the new cycle
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        logger.warn("Rejected {} {}: no admission slot within {} ms", request.getMethod(), request.getRequestURI(), acquireTimeoutMs);
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ErrorDetails error = new ErrorDetails(
+                LocalDateTime.now(),
+                "Server is busy, please retry",
+                "uri=" + request.getRequestURI(),
+                "SERVER_BUSY"
+        );
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
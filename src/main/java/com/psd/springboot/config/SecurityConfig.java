@@ -1,7 +1,12 @@
 package com.psd.springboot.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -11,6 +16,8 @@ import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity                  // Enables Spring Security’s web security support
@@ -19,16 +26,23 @@ public class SecurityConfig {
 
     // Defines the main security filter chain for HTTP requests
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, TokenService tokenService,
+                                                   ObjectMapper objectMapper) throws Exception {
         http
                 // Disable CSRF protection (common for REST APIs without sessions)
                 .csrf(AbstractHttpConfigurer::disable)
 
+                // Every request authenticates itself (bearer token or Basic); never create or read an HTTP session
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+
                 // Define authorization rules based on URL patterns and roles
                 .authorizeHttpRequests(auth -> auth
                         // Public endpoints accessible without authentication
                         .requestMatchers("/api/accounts/public/**").permitAll()
 
+                        // Login: exchanges a user name and password for a bearer token
+                        .requestMatchers(HttpMethod.POST, "/api/auth/token").permitAll()
+
                         // Admin-only secure endpoints (matches your AdminSecureController)
                         .requestMatchers("/api/admin/secure/**").hasRole("ADMIN")
 
@@ -41,16 +55,31 @@ public class SecurityConfig {
                         // User dashboard accessible by USER or ADMIN roles
                         .requestMatchers("/api/user/dashboard/**").hasAnyRole("USER", "ADMIN")
 
+                        // Liveness for load balancers; everything else under actuator exposes internals
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                         // Any other requests require authentication
                         .anyRequest().authenticated()
                 )
 
-                // Enable HTTP Basic Authentication
+                // Bearer tokens from /api/auth/token are verified from the token alone (no user lookup, no hashing)
+                .addFilterBefore(new BearerTokenAuthenticationFilter(tokenService, objectMapper), BasicAuthenticationFilter.class)
+
+                // HTTP Basic stays available for existing clients; it checks the password on every request
                 .httpBasic(Customizer.withDefaults());
 
         return http.build();  // Build and return the SecurityFilterChain
     }
 
+    // Checks user name and password against the user store; used by the login endpoint and by HTTP Basic
+    @Bean
+    public AuthenticationManager authenticationManager(UserDetailsService userDetailsService) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        return new ProviderManager(provider);
+    }
+
     // In-memory user store with two users: admin and user
     @Bean
     public UserDetailsService userDetailsService() {
@@ -0,0 +1,37 @@
+package com.psd.springboot.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Threading setup for request handling, @Async and @Scheduled work.
+ *
+ * spring.threads.virtual.enabled switches all three between platform and virtual threads:
+ * Spring Boot then runs Tomcat requests on virtual threads and backs the application task
+ * executor and task scheduler with them. It only takes effect on a Java 21+ runtime.
+ *
+ * Either way, RequestAdmissionFilter bounds how many API requests run at once, so the JDBC
+ * connection pool stays the bottleneck and isn't stampeded by unbounded virtual threads.
+ */
+@Configuration
+@EnableAsync                        // @Async methods run on Boot's application task executor
+@EnableScheduling                   // @Scheduled methods run on Boot's task scheduler
+public class ThreadingConfig {
+
+    // Registered after the Spring Security chain, so unauthenticated requests never take a slot
+    @Bean
+    public FilterRegistrationBean<RequestAdmissionFilter> requestAdmissionFilter(
+            @Value("${banking.admission.max-concurrent-requests:200}") int maxConcurrentRequests,
+            @Value("${banking.admission.acquire-timeout-ms:2000}") long acquireTimeoutMs,
+            ObjectMapper objectMapper) {
+        FilterRegistrationBean<RequestAdmissionFilter> registration = new FilterRegistrationBean<>(
+                new RequestAdmissionFilter(maxConcurrentRequests, acquireTimeoutMs, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
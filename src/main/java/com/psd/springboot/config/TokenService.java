@@ -0,0 +1,187 @@
+package com.psd.springboot.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Issues and verifies the bearer tokens handed out by POST /api/auth/token.
+ *
+ * Tokens are compact JWTs signed with HMAC-SHA256 (header.claims.signature, base64url). The
+ * claims carry everything a request needs (user name, roles, expiry), so verifying a token is
+ * one HMAC over a few hundred bytes plus a small JSON parse, with no user store lookup and no
+ * password hashing. The key is decoded and a Mac initialised once; each signature works on a
+ * clone of it (no provider lookup or key setup, and nothing kept per thread, which matters
+ * with one virtual thread per request).
+ * Only the HS256 header this class writes is accepted, so a token cannot pick its own algorithm.
+ *
+ * Verified tokens are kept in a bounded cache keyed by the full token string (signature
+ * included, so a forged token can never match an entry). A client repeating its token skips
+ * the HMAC and the parse; expiry is still checked on every hit.
+ *
+ * Every node must share banking.auth.token-secret (base64, at least 32 bytes). Without it a
+ * random key is generated at startup, and tokens only work on this node until it restarts.
+ * A token stays valid until it expires: revocation would need a store lookup again.
+ */
+@Component
+public class TokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenService.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_KEY_BYTES = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String HEADER = ENCODER.encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.US_ASCII));
+
+    private final SecretKeySpec key;
+    private final Mac prototype;
+    private final Duration ttl;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader claimsReader;
+    private final Cache<String, Verified> verified;
+
+    public TokenService(@Value("${banking.auth.token-secret:}") String secret,
+                        @Value("${banking.auth.token-ttl:PT15M}") Duration ttl,
+                        @Value("${banking.auth.verified-cache-size:100000}") long verifiedCacheSize,
+                        ObjectMapper objectMapper) {
+        this.key = new SecretKeySpec(keyBytes(secret), ALGORITHM);
+        this.prototype = newMac();
+        this.ttl = ttl;
+        this.objectMapper = objectMapper;
+        this.claimsReader = objectMapper.readerFor(Claims.class);
+        this.verified = verifiedCacheSize > 0
+                ? Caffeine.newBuilder().maximumSize(verifiedCacheSize).expireAfterWrite(ttl).build()
+                : null;
+    }
+
+    public record IssuedToken(String token, Instant expiresAt) {}
+
+    // Claims as serialized into the token: subject, roles without the ROLE_ prefix, issued-at and expiry in epoch seconds
+    record Claims(String sub, List<String> roles, long iat, long exp) {}
+
+    private record Verified(Authentication authentication, long exp) {}
+
+    public IssuedToken issue(String username, Collection<? extends GrantedAuthority> authorities) {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(ttl);
+        List<String> roles = authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .map(authority -> authority.startsWith("ROLE_") ? authority.substring(5) : authority)
+                .toList();
+        byte[] claims;
+        try {
+            claims = objectMapper.writeValueAsBytes(new Claims(username, roles, now.getEpochSecond(), expiresAt.getEpochSecond()));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize token claims", e);
+        }
+        String signingInput = HEADER + "." + ENCODER.encodeToString(claims);
+        return new IssuedToken(signingInput + "." + ENCODER.encodeToString(sign(signingInput)), expiresAt);
+    }
+
+    /**
+     * Returns the authenticated principal carried by the token.
+     * Throws BadCredentialsException if the token is malformed, wrongly signed or expired.
+     */
+    public Authentication verify(String token) {
+        long now = Instant.now().getEpochSecond();
+        if (verified != null) {
+            Verified hit = verified.getIfPresent(token);
+            if (hit != null) {
+                if (hit.exp() <= now) {
+                    throw new BadCredentialsException("Token expired");
+                }
+                return hit.authentication();
+            }
+        }
+
+        int firstDot = token.indexOf('.');
+        int lastDot = token.lastIndexOf('.');
+        if (firstDot != HEADER.length() || lastDot == firstDot || !token.startsWith(HEADER)) {
+            throw new BadCredentialsException("Malformed token");
+        }
+        Claims claims;
+        try {
+            byte[] signature = DECODER.decode(token.substring(lastDot + 1));
+            if (!MessageDigest.isEqual(signature, sign(token.substring(0, lastDot)))) {
+                throw new BadCredentialsException("Invalid token signature");
+            }
+            claims = claimsReader.readValue(DECODER.decode(token.substring(firstDot + 1, lastDot)));
+        } catch (IllegalArgumentException | IOException e) {
+            throw new BadCredentialsException("Malformed token", e);
+        }
+        if (claims.sub() == null || claims.exp() <= now) {
+            throw new BadCredentialsException("Token expired");
+        }
+
+        List<SimpleGrantedAuthority> authorities = claims.roles() == null ? List.of() : claims.roles().stream()
+                .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
+        Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(claims.sub(), null, authorities);
+        if (verified != null) {
+            verified.put(token, new Verified(authentication, claims.exp()));
+        }
+        return authentication;
+    }
+
+    public Duration ttl() {
+        return ttl;
+    }
+
+    private byte[] sign(String signingInput) {
+        Mac mac;
+        try {
+            mac = (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            mac = newMac();
+        }
+        return mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    private static byte[] keyBytes(String secret) {
+        if (secret == null || secret.isBlank()) {
+            logger.warn("banking.auth.token-secret is not set: using a random key, tokens are valid on this node until restart");
+            byte[] random = new byte[MIN_KEY_BYTES];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+        byte[] decoded = Base64.getDecoder().decode(secret.trim());
+        if (decoded.length < MIN_KEY_BYTES) {
+            throw new IllegalStateException("banking.auth.token-secret must be at least " + MIN_KEY_BYTES + " bytes (base64)");
+        }
+        return decoded;
+    }
+}
@@ -1,19 +1,44 @@
 package com.psd.springboot.controller;
 
 import com.psd.springboot.dto.AccountDetailsDto;
+import com.psd.springboot.dto.AccountExportResultDto;
+import com.psd.springboot.dto.AccountImportResultDto;
 import com.psd.springboot.dto.AccountUpdateDto;
+import com.psd.springboot.dto.BalanceAsOfDto;
 import com.psd.springboot.dto.ApiResponse;
+import com.psd.springboot.dto.CursorPage;
+import com.psd.springboot.service.AccountExportService;
+import com.psd.springboot.service.AccountImportService;
 import com.psd.springboot.service.AccountService;
+import com.psd.springboot.service.TransactionHistoryService;
+import com.psd.springboot.support.StatementWriter;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 @RestController
+@Validated
 @RequestMapping("/api/accounts/internal") // Base path for internal/admin APIs
 @PreAuthorize("hasRole('ADMIN')")  // Restrict all methods to users with ADMIN Role
 public class AdminAccountController {
@@ -21,6 +46,15 @@ public class AdminAccountController {
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private TransactionHistoryService transactionHistoryService;
+
+    @Autowired
+    private AccountImportService accountImportService;
+
+    @Autowired
+    private AccountExportService accountExportService;
+
 
     // 🔍 1. Get full details of a specific account by ID
     @GetMapping("/account-details/{id}")
@@ -28,10 +62,62 @@ public class AdminAccountController {
         return ResponseEntity.ok(accountService.getAccountById(id));
     }
 
-    // 📄 2. Get all accounts with full internal details
+    // 🔍 1b. Get every account registered under a PAN (KYC lookup, admin only)
+    @GetMapping("/by-pan/{panNumber}")
+    public ResponseEntity<List<AccountDetailsDto>> getAccountsByPan(@PathVariable @Size(max = 20) String panNumber){
+        return ResponseEntity.ok(accountService.getAccountsByPanNumber(panNumber));
+    }
+
+    // 🔍 1c. Balance of an account at a past time (?at=ISO date-time; entries stamped before it count)
+    @GetMapping("/{id}/balance-as-of")
+    public ResponseEntity<BalanceAsOfDto> getBalanceAsOf(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at){
+        return ResponseEntity.ok(transactionHistoryService.getBalanceAsOf(id, at));
+    }
+
+    // 📄 2. Get accounts with full internal details, one keyset page at a time (?after=<id>&limit=)
     @GetMapping
-    public ResponseEntity<List<AccountDetailsDto>> getAllAccounts(){
-        return ResponseEntity.ok(accountService.getAllAccounts());
+    public ResponseEntity<CursorPage<AccountDetailsDto>> getAllAccounts(
+            @RequestParam(required = false) @Min(0) Long after,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit){
+        return ResponseEntity.ok(accountService.getAccountPage(after, limit));
+    }
+
+    // 📄 2b. Stream every account as one JSON array (?stream=true); heap use is independent of row count
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllAccounts(){
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(accountService::streamAccounts);
+    }
+
+    // 📥 2c. Bulk import of new accounts from a CSV or NDJSON upload (?format=csv|ndjson; Content-Encoding: gzip accepted).
+    // Rows are committed in chunks; after a failure, POST the same file with ?jobId= to continue after the last committed chunk
+    @PostMapping("/import")
+    public ResponseEntity<AccountImportResultDto> importAccounts(
+            @RequestParam(defaultValue = "csv") @Pattern(regexp = "csv|ndjson") String format,
+            @RequestParam(required = false) @Min(1) Long jobId,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            InputStream body) throws IOException {
+        InputStream in = "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(body, 64 * 1024) : body;
+        return ResponseEntity.ok(accountImportService.importAccounts(in, StatementWriter.Format.valueOf(format.toUpperCase()), jobId));
+    }
+
+    // 📦 2d. Columnar binary export of every account (see AccountColumnarFormat); returns the id to download it by
+    @PostMapping("/export")
+    public ResponseEntity<AccountExportResultDto> exportAccounts() throws IOException {
+        return ResponseEntity.status(HttpStatus.CREATED).body(accountExportService.exportAccounts());
+    }
+
+    // 📦 2e. Download a finished export; read it with AccountColumnarReader
+    @GetMapping("/export/{exportId}")
+    public ResponseEntity<Resource> downloadExport(
+            @PathVariable @Pattern(regexp = "accounts-[0-9-]+\\.acol") String exportId){
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(exportId).build().toString())
+                .body(new FileSystemResource(accountExportService.getExportFile(exportId)));
     }
 
     // ❌ 3. Delete an account by ID
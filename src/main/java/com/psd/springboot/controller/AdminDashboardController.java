@@ -1,5 +1,13 @@
 package com.psd.springboot.controller;
 
+import com.psd.springboot.dto.CacheStatsDto;
+import com.psd.springboot.dto.DashboardOverviewDto;
+import com.psd.springboot.dto.MetricsReportDto;
+import com.psd.springboot.service.impl.AccountIdResolver;
+import com.psd.springboot.service.impl.AccountSummaryCache;
+import com.psd.springboot.service.impl.DashboardAggregates;
+import com.psd.springboot.service.impl.MetricsReporter;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,8 +20,40 @@ import org.springframework.web.bind.annotation.RestController;
 @PreAuthorize("hasRole('ADMIN')")
 public class AdminDashboardController {
 
+    @Autowired
+    private AccountSummaryCache accountSummaryCache;
+
+    @Autowired
+    private AccountIdResolver accountIdResolver;
+
+    @Autowired
+    private MetricsReporter metricsReporter;
+
+    @Autowired
+    private DashboardAggregates dashboardAggregates;
+
+    // Account counts, balance totals and last-hour movements, read from in-memory counters (no table scan)
     @GetMapping("/overview")
-    public ResponseEntity<String> getAdminOverview() {
-        return ResponseEntity.ok("Admin dashboard overview data");
+    public ResponseEntity<DashboardOverviewDto> getAdminOverview() {
+        return ResponseEntity.ok(dashboardAggregates.overview());
+    }
+
+    // Hit/miss/eviction counters of the account summary cache
+    @GetMapping("/cache-stats")
+    public ResponseEntity<CacheStatsDto> getCacheStats() {
+        return ResponseEntity.ok(accountSummaryCache.stats());
+    }
+
+    // Hit/miss counters of the account number / IBAN -> id map
+    @GetMapping("/cache-stats/account-ids")
+    public ResponseEntity<CacheStatsDto> getAccountIdCacheStats() {
+        return ResponseEntity.ok(accountIdResolver.stats());
+    }
+
+    // Latency percentiles, throughput and error counts per HTTP mapping, service and repository method,
+    // plus connection-pool wait time
+    @GetMapping("/metrics")
+    public ResponseEntity<MetricsReportDto> getMetrics() {
+        return ResponseEntity.ok(metricsReporter.report());
     }
 }
@@ -0,0 +1,42 @@
+package com.psd.springboot.controller;
+
+import com.psd.springboot.config.TokenService;
+import com.psd.springboot.dto.TokenRequest;
+import com.psd.springboot.dto.TokenResponseDto;
+import com.psd.springboot.exception.UnauthorizedAccessException;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/auth")
+public class AuthController {
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private TokenService tokenService;
+
+    // Checks the password once and returns a bearer token valid for banking.auth.token-ttl
+    @PostMapping("/token")
+    public ResponseEntity<TokenResponseDto> issueToken(@Valid @RequestBody TokenRequest request) {
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    UsernamePasswordAuthenticationToken.unauthenticated(request.username(), request.password()));
+        } catch (AuthenticationException ex) {
+            throw new UnauthorizedAccessException("Invalid username or password");
+        }
+        TokenService.IssuedToken issued = tokenService.issue(authentication.getName(), authentication.getAuthorities());
+        return ResponseEntity.ok(new TokenResponseDto(issued.token(), "Bearer", tokenService.ttl().toSeconds(), issued.expiresAt()));
+    }
+}
@@ -2,16 +2,38 @@ package com.psd.springboot.controller;
 
 import com.psd.springboot.dto.AccountCreateDto;
 import com.psd.springboot.dto.AccountSummaryDto;
+import com.psd.springboot.dto.BatchTransactionItem;
+import com.psd.springboot.dto.BatchTransactionResult;
+import com.psd.springboot.dto.CursorPage;
+import com.psd.springboot.dto.TransactionDto;
 import com.psd.springboot.dto.TransactionRequest;
+import com.psd.springboot.dto.TransferRequest;
+import com.psd.springboot.dto.TransferResultDto;
 import com.psd.springboot.service.AccountService;
+import com.psd.springboot.service.TransactionBatchService;
+import com.psd.springboot.service.TransactionHistoryService;
+import com.psd.springboot.support.AcceptEncoding;
+import com.psd.springboot.support.StatementWriter;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -22,31 +44,154 @@ public class PublicAccountController {
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private TransactionBatchService transactionBatchService;
+
+    @Autowired
+    private TransactionHistoryService transactionHistoryService;
+
     @PostMapping
     public ResponseEntity<AccountSummaryDto> createAccount(@RequestBody @Valid AccountCreateDto accountCreateDto){
         return new ResponseEntity<>(accountService.createAccount(accountCreateDto), HttpStatus.CREATED);
     }
 
+    // Conditional GET: the ETag is the row version, so If-None-Match is answered with 304 from a
+    // version lookup alone. no-cache makes clients revalidate every time instead of trusting a copy
     @GetMapping("/{id}")
-    public ResponseEntity<AccountSummaryDto> getAccountSummary(@PathVariable @Min(1) Long id){
-        return ResponseEntity.ok(accountService.getAccountSummaryById(id));
+    public ResponseEntity<AccountSummaryDto> getAccountSummary(
+            @PathVariable @Min(1) Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        AccountSummaryDto summary;
+        if (ifNoneMatch != null) {
+            long version = accountService.getAccountVersion(id);
+            String eTag = eTagOf(id, version);
+            if (eTagMatches(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(CacheControl.noCache()).build();
+            }
+            summary = accountService.getAccountSummaryById(id, version);
+        } else {
+            summary = accountService.getAccountSummaryById(id);
+        }
+        return ResponseEntity.ok()
+                .eTag(eTagOf(id, summary.version()))
+                .cacheControl(CacheControl.noCache())
+                .body(summary);
+    }
+
+    // Lookups by the identifiers clients actually know; resolved to the id in memory, then served like GET /{id}
+    @GetMapping("/by-number/{accountNumber}")
+    public ResponseEntity<AccountSummaryDto> getAccountSummaryByNumber(@PathVariable @Size(max = 20) String accountNumber){
+        return ResponseEntity.ok(accountService.getAccountSummaryByAccountNumber(accountNumber));
+    }
+
+    @GetMapping("/by-iban/{iban}")
+    public ResponseEntity<AccountSummaryDto> getAccountSummaryByIban(@PathVariable @Size(max = 34) String iban){
+        return ResponseEntity.ok(accountService.getAccountSummaryByIban(iban));
+    }
+
+    // Ledger history, newest first, one keyset page at a time: ?from=&to= (ISO date-times, to exclusive)&type=&after=&limit=
+    @GetMapping("/{id}/transactions")
+    public ResponseEntity<CursorPage<TransactionDto>> getTransactionHistory(
+            @PathVariable @Min(1) Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) @Pattern(regexp = "DEPOSIT|WITHDRAWAL|TRANSFER_IN|TRANSFER_OUT") String type,
+            @RequestParam(required = false) @Min(1) Long after,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit){
+        return ResponseEntity.ok(transactionHistoryService.getHistory(id, from, to, type, after, limit));
+    }
+
+    // Statement download for [from, to): ?format=csv|ndjson, gzip-encoded when the client accepts it.
+    // Rows are streamed from a JDBC cursor as they are read, so any range size is fine
+    @GetMapping("/{id}/statement")
+    public ResponseEntity<StreamingResponseBody> exportStatement(
+            @PathVariable @Min(1) Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "csv") @Pattern(regexp = "csv|ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding){
+        // Fail with 404 before the response is committed; the body itself runs later on another thread
+        accountService.getAccountSummaryById(id);
+
+        StatementWriter.Format statementFormat = StatementWriter.Format.valueOf(format.toUpperCase());
+        boolean gzip = AcceptEncoding.accepts(acceptEncoding, "gzip");
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(statementFormat == StatementWriter.Format.CSV
+                        ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : new MediaType("application", "x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("statement-" + id + "." + format).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(out -> transactionHistoryService.exportStatement(id, from, to, statementFormat, gzip, out));
     }
 
+    // Optional Idempotency-Key header: a retry with the same key returns the first response instead of posting twice
     @PostMapping("/{id}/deposit")
     public ResponseEntity<AccountSummaryDto> deposit(@PathVariable Long id,
+                                                     @RequestHeader(value = "Idempotency-Key", required = false) @Size(min = 1, max = 100) String idempotencyKey,
                                                      @RequestBody @Valid TransactionRequest request){
-        return ResponseEntity.ok(accountService.depositAndReturnSummary(id, request.getAmount()));
+        return ResponseEntity.ok(accountService.depositAndReturnSummary(
+                id, accountService.parseAmount(id, request.getAmount()), request.getDescription(), idempotencyKey));
     }
 
     @PutMapping("/{id}/withdraw")
     public ResponseEntity<AccountSummaryDto> withdraw(@PathVariable Long id,
+                                                      @RequestHeader(value = "Idempotency-Key", required = false) @Size(min = 1, max = 100) String idempotencyKey,
                                                       @RequestBody @Valid TransactionRequest request){
-        return ResponseEntity.ok(accountService.withdrawAndReturnSummary(id, request.getAmount()));
+        return ResponseEntity.ok(accountService.withdrawAndReturnSummary(
+                id, accountService.parseAmount(id, request.getAmount()), request.getDescription(), idempotencyKey));
+    }
+
+    // Atomic account-to-account transfer; returns both accounts after the move
+    @PostMapping("/transfers")
+    public ResponseEntity<TransferResultDto> transfer(@RequestBody @Valid TransferRequest request){
+        return ResponseEntity.ok(accountService.transferAndReturnSummaries(
+                request.fromAccountId(), request.toAccountId(),
+                accountService.parseAmount(request.fromAccountId(), request.amount()), request.description()));
     }
 
+    // Many deposits/withdrawals in one call; one result per item, in request order
+    @PostMapping("/transactions/batch")
+    public ResponseEntity<List<BatchTransactionResult>> applyTransactionBatch(
+            @RequestBody @NotEmpty @Size(max = 10000) List<BatchTransactionItem> items){
+        return ResponseEntity.ok(transactionBatchService.applyBatch(items));
+    }
+
+    // Keyset-paginated listing: ?after=<last id of previous page>&limit=
     @GetMapping
-    public ResponseEntity<List<AccountSummaryDto>> getAllPublicAccounts(){
-        return ResponseEntity.ok(accountService.getAllAccountSummaries());
+    public ResponseEntity<CursorPage<AccountSummaryDto>> getAllPublicAccounts(
+            @RequestParam(required = false) @Min(0) Long after,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit){
+        return ResponseEntity.ok(accountService.getAccountSummaryPage(after, limit));
     }
-}
 
+    // Opt-in full listing (?stream=true), written incrementally from a streaming cursor
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllPublicAccounts(){
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(accountService::streamAccountSummaries);
+    }
+
+    // Strong validator: every write to the row bumps its version
+    private static String eTagOf(Long id, long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    // If-None-Match uses weak comparison: "*", or any listed tag equal once W/ is stripped
+    private static boolean eTagMatches(String ifNoneMatch, String eTag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,19 +1,33 @@
 package com.psd.springboot.controller;
 
+import com.psd.springboot.dto.UserOverviewDto;
+import com.psd.springboot.service.UserDashboardService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 @RequestMapping("/api/user/dashboard")
 @PreAuthorize("hasRole('USER')")
+@Validated
 public class UserDashboardController {
 
-    @GetMapping("/overview")
-    public ResponseEntity<String> getUserOverview() {
-        return ResponseEntity.ok("User dashboard overview data");
+    @Autowired
+    private UserDashboardService userDashboardService;
+
+    // Accounts, totals per currency and the latest ?recent= ledger entries across all of the user's accounts
+    @GetMapping("/{userId}/overview")
+    public ResponseEntity<UserOverviewDto> getUserOverview(
+            @PathVariable @Min(1) Long userId,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int recent) {
+        return ResponseEntity.ok(userDashboardService.getOverview(userId, recent));
     }
 }
-
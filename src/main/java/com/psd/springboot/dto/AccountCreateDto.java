@@ -1,9 +1,12 @@
 package com.psd.springboot.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.psd.springboot.support.DecimalAmountDeserializer;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Past;
-import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 
 import java.time.LocalDate;
 
@@ -28,7 +31,7 @@ import java.time.LocalDate;
  * @param contactEmail        Email address for communication and alerts.
  * @param contactPhone        Phone number of the account holder.
  * @param address             Physical address of the account holder.
- * @param balance             Initial deposit amount or opening balance.
+ * @param balance             Opening balance as a decimal string in the currency (e.g. "1250.00"); absent = zero.
  *
  * Optional KYC Fields:
  * @param panNumber           PAN (Permanent Account Number) for identity verification (India).
@@ -38,8 +41,8 @@ import java.time.LocalDate;
 
 public record AccountCreateDto(
 
-        @NotBlank String accountHolderName,
-        @NotBlank String accountNumber,
+        @NotBlank @Size(max = 30) String accountHolderName,   // column lengths of the accounts table
+        @NotBlank @Size(max = 20) String accountNumber,
         @NotBlank String accountType,
         @NotBlank String bankName,
         @NotBlank String branchCode,
@@ -51,7 +54,9 @@ public record AccountCreateDto(
         @NotBlank String address,
 
 //      Balance
-        @PositiveOrZero double balance,
+        @Pattern(regexp = "\\d+(\\.\\d+)?", message = "Balance must be zero or a positive decimal such as \"10.50\"")
+        @JsonDeserialize(using = DecimalAmountDeserializer.class)
+        String balance,
 
         // Optional for KYC
         String panNumber,
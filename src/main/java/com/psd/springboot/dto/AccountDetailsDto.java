@@ -1,6 +1,9 @@
 package com.psd.springboot.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.psd.springboot.support.CurrencyAware;
+import com.psd.springboot.support.MinorUnitsSerializer;
 import jakarta.validation.constraints.*;
 
 
@@ -33,7 +36,7 @@ import java.time.LocalDateTime;
  * @param ifscCode             IFSC code for Indian banking system.
  * @param currency             Currency used in the account (e.g., USD, INR).
  * @param accountCreationDate  Date the account was originally opened.
- * @param balance              Current balance available in the account.
+ * @param balance              Current balance available in the account (minor units, serialized as a decimal string).
  * @param active               Indicates whether the account is currently active.
  *
  * Contact Info:
@@ -44,7 +47,7 @@ import java.time.LocalDateTime;
  * Account Management:
  * @param accountStatus        Status of the account (e.g., Active, Suspended, Closed).
  * @param overdraftAllowed     Indicates if overdraft facility is enabled.
- * @param overdraftLimit       The maximum overdraft limit if applicable.
+ * @param overdraftLimit       The maximum overdraft limit if applicable (minor units, serialized as a decimal string).
  *
  * International Banking:
  * @param swiftCode            SWIFT code for international money transfers.
@@ -95,7 +98,8 @@ public record AccountDetailsDto(
         String address,
 
 //      Balance
-        @PositiveOrZero double balance,
+        @JsonSerialize(using = MinorUnitsSerializer.class)
+        @PositiveOrZero long balance,
 
         // Optional for KYC
         // Personal Identity
@@ -108,7 +112,8 @@ public record AccountDetailsDto(
         // Account Management
         String accountStatus,
         boolean overdraftAllowed,
-        double overdraftLimit,
+        @JsonSerialize(using = MinorUnitsSerializer.class)
+        long overdraftLimit,
 
         // International Banking
         String swiftCode,
@@ -126,4 +131,4 @@ public record AccountDetailsDto(
 
         // Ownership
         Long userId
-) {}
+) implements CurrencyAware {}
@@ -0,0 +1,23 @@
+package com.psd.springboot.dto;
+
+/**
+ * DTO Name        : AccountExportResultDto
+ * Intended For    : Internal / Admin APIs (Bulk Account Export)
+ * Purpose         : Describes a finished columnar export of the accounts table.
+ *
+ * Fields:
+ * @param exportId    File name of the export; download it from GET /api/accounts/internal/export/{exportId}.
+ * @param rows        Accounts written.
+ * @param rowGroups   Row groups in the file.
+ * @param partitions  Id ranges that were streamed and encoded in parallel.
+ * @param bytes       Size of the file.
+ * @param durationMs  Wall-clock time of the export.
+ */
+public record AccountExportResultDto(
+        String exportId,
+        long rows,
+        int rowGroups,
+        int partitions,
+        long bytes,
+        long durationMs
+) {}
@@ -0,0 +1,19 @@
+package com.psd.springboot.dto;
+
+/**
+ * DTO Name        : AccountImportRejection
+ * Intended For    : Internal / Admin APIs (Bulk Account Import)
+ * Purpose         : One input row that was not imported, and why.
+ *
+ * Fields:
+ * @param row            One-based data row in the uploaded file (a CSV header is not counted).
+ * @param accountNumber  Account number the row carried, when it could be read.
+ * @param errorCode      MALFORMED_ROW, VALIDATION_ERROR, DUPLICATE_ACCOUNT or DATA_INTEGRITY_VIOLATION.
+ * @param message        Human-readable reason.
+ */
+public record AccountImportRejection(
+        long row,
+        String accountNumber,
+        String errorCode,
+        String message
+) {}
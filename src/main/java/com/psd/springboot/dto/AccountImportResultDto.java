@@ -0,0 +1,30 @@
+package com.psd.springboot.dto;
+
+import java.util.List;
+
+/**
+ * DTO Name        : AccountImportResultDto
+ * Intended For    : Internal / Admin APIs (Bulk Account Import)
+ * Purpose         : Outcome of an import request. Counters are job totals across every run
+ *                   of the job; rejections only cover rows read by this request.
+ *
+ * Fields:
+ * @param jobId              Import job id; pass it back as ?jobId= to resume after a failure.
+ * @param status             RUNNING, FAILED or COMPLETED.
+ * @param resumedFromRow     Data rows skipped because earlier runs already committed them (0 for a new job).
+ * @param processedRows      Data rows imported or rejected so far.
+ * @param importedRows       Accounts created so far.
+ * @param rejectedRows       Rows rejected so far.
+ * @param rejections         Rejected rows of this request, in file order, up to the configured limit.
+ * @param rejectionsTruncated Whether more rows were rejected than are listed.
+ */
+public record AccountImportResultDto(
+        Long jobId,
+        String status,
+        long resumedFromRow,
+        long processedRows,
+        long importedRows,
+        long rejectedRows,
+        List<AccountImportRejection> rejections,
+        boolean rejectionsTruncated
+) {}
@@ -1,5 +1,10 @@
 package com.psd.springboot.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.psd.springboot.support.CurrencyAware;
+import com.psd.springboot.support.MinorUnitsSerializer;
+
 import java.time.LocalDate;
 
 /**
@@ -20,8 +25,11 @@ import java.time.LocalDate;
  * @param bankName            Name of the bank where the account is held.
  * @param currency            Currency used for the account (e.g., USD, INR).
  * @param accountCreationDate Date when the account was originally created.
- * @param balance             Current available balance in the account.
+ * @param balance             Current available balance, held in minor units and
+ *                            serialized as an exact decimal string (e.g. "123.45").
  * @param active              Whether the account is currently active.
+ * @param version             Row version the summary was read at. Not serialized; it backs the
+ *                            ETag of GET /api/accounts/public/{id}.
  */
 
 public record AccountSummaryDto(
@@ -32,8 +40,11 @@ public record AccountSummaryDto(
         String bankName,
         String currency,
         LocalDate accountCreationDate,
-        double balance,
+        @JsonSerialize(using = MinorUnitsSerializer.class)
+        long balance,
         boolean active,
         String branchDisplayName,
-        String displayStatus
-) {}
+        String displayStatus,
+        @JsonIgnore
+        long version
+) implements CurrencyAware {}
@@ -1,5 +1,7 @@
 package com.psd.springboot.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.psd.springboot.support.DecimalAmountDeserializer;
 import jakarta.validation.constraints.*;
 
 import java.time.LocalDate;
@@ -25,7 +27,7 @@ import java.time.LocalDate;
  * @param active              Flag to mark the account as active or inactive.
  * @param locked              Flag to lock or unlock the account.
  * @param overdraftAllowed    Whether overdraft functionality is enabled.
- * @param overdraftLimit      Maximum overdraft limit (if allowed).
+ * @param overdraftLimit      Maximum overdraft limit (if allowed), as a decimal string in the currency.
  */
 
 public record AccountUpdateDto(
@@ -46,6 +48,7 @@ public record AccountUpdateDto(
         boolean locked,
         boolean overdraftAllowed,
 
-        @PositiveOrZero(message = "Overdraft limit must be zero or positive")
-        double overdraftLimit
+        @Pattern(regexp = "\\d+(\\.\\d+)?", message = "Overdraft limit must be zero or a positive decimal")
+        @JsonDeserialize(using = DecimalAmountDeserializer.class)
+        String overdraftLimit
 ) {}
@@ -0,0 +1,28 @@
+package com.psd.springboot.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.psd.springboot.support.CurrencyAware;
+import com.psd.springboot.support.MinorUnitsSerializer;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO Name        : BalanceAsOfDto
+ * Intended For    : Admin / Internal Use Only (regulatory reporting)
+ * Purpose         : Balance of an account at a past point in time.
+ *
+ * Fields:
+ * @param accountId     Account the balance belongs to.
+ * @param currency      Currency of the balance.
+ * @param asOf          Requested time; every ledger entry stamped before it is included.
+ * @param balance       Balance at asOf, in minor units (serialized as a decimal string).
+ * @param snapshotAsOf  Snapshot the balance was replayed from, or null if it was derived from the current balance.
+ */
+public record BalanceAsOfDto(
+        Long accountId,
+        String currency,
+        LocalDateTime asOf,
+        @JsonSerialize(using = MinorUnitsSerializer.class)
+        long balance,
+        LocalDateTime snapshotAsOf
+) implements CurrencyAware {}
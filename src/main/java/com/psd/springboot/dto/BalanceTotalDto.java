@@ -0,0 +1,25 @@
+package com.psd.springboot.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.psd.springboot.support.CurrencyAware;
+import com.psd.springboot.support.MinorUnitsSerializer;
+
+/**
+ * DTO Name        : BalanceTotalDto
+ * Intended For    : Admin and user dashboards
+ * Purpose         : Number of accounts and their summed balance in one currency,
+ *                   optionally restricted to one account type.
+ *
+ * Fields:
+ * @param accountType  Account type the total covers, or null for all types.
+ * @param currency     Currency of the balances.
+ * @param accounts     Number of accounts.
+ * @param balance      Sum of their balances in minor units (serialized as a decimal string).
+ */
+public record BalanceTotalDto(
+        String accountType,
+        String currency,
+        long accounts,
+        @JsonSerialize(using = MinorUnitsSerializer.class)
+        long balance
+) implements CurrencyAware {}
@@ -0,0 +1,35 @@
+package com.psd.springboot.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.psd.springboot.support.DecimalAmountDeserializer;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * DTO Name        : BatchTransactionItem
+ * Intended For    : Public API (Batch Transactions)
+ * Purpose         : One deposit or withdrawal inside a batch request.
+ *                   Same shape as TransactionRequest plus the target account id.
+ *
+ * Fields:
+ * @param accountId        Account the money moves on.
+ * @param amount           Amount to deposit or withdraw, as a decimal string in the account currency; must be positive.
+ * @param transactionType  DEPOSIT or WITHDRAWAL.
+ * @param description      Optional free-text remark.
+ */
+public record BatchTransactionItem(
+
+        @NotNull(message = "Account id is required")
+        Long accountId,
+
+        @NotNull(message = "Amount is required")
+        @Pattern(regexp = "\\d+(\\.\\d+)?", message = "Amount must be a positive decimal such as \"10.50\"")
+        @JsonDeserialize(using = DecimalAmountDeserializer.class)
+        String amount,
+
+        @NotNull(message = "Transaction type is required")
+        @Pattern(regexp = "DEPOSIT|WITHDRAWAL", message = "Transaction type must be Deposit or Withdrawl")
+        String transactionType,
+
+        String description
+) {}
@@ -0,0 +1,29 @@
+package com.psd.springboot.dto;
+
+/**
+ * DTO Name        : BatchTransactionResult
+ * Intended For    : Public API (Batch Transactions)
+ * Purpose         : Outcome of one item of a batch, reported at the item's position in the request.
+ *
+ * Fields:
+ * @param index      Zero-based position of the item in the submitted array.
+ * @param accountId  Account the item targeted.
+ * @param applied    Whether the balance change was committed.
+ * @param errorCode  Same codes as GlobalExceptionHandler (e.g. INSUFFICIENT_BALANCE); null when applied.
+ * @param message    Human-readable reason for a rejection; null when applied.
+ */
+public record BatchTransactionResult(
+        int index,
+        Long accountId,
+        boolean applied,
+        String errorCode,
+        String message
+) {
+    public static BatchTransactionResult applied(int index, Long accountId) {
+        return new BatchTransactionResult(index, accountId, true, null, null);
+    }
+
+    public static BatchTransactionResult rejected(int index, Long accountId, String errorCode, String message) {
+        return new BatchTransactionResult(index, accountId, false, errorCode, message);
+    }
+}
@@ -0,0 +1,25 @@
+package com.psd.springboot.dto;
+
+/**
+ * DTO Name        : CacheStatsDto
+ * Intended For    : Admin / Internal Use Only
+ * Purpose         : Counters of an in-process cache since application start.
+ *
+ * Fields:
+ * @param name           Cache name.
+ * @param size           Estimated number of entries currently held.
+ * @param hitCount       Lookups served from the cache.
+ * @param missCount      Lookups that had to load from the database.
+ * @param hitRate        hitCount / (hitCount + missCount).
+ * @param evictionCount  Entries removed because of size or TTL (not explicit invalidations).
+ * @param invalidations  Entries removed explicitly after a write.
+ */
+public record CacheStatsDto(
+        String name,
+        long size,
+        long hitCount,
+        long missCount,
+        double hitRate,
+        long evictionCount,
+        long invalidations
+) {}
@@ -0,0 +1,25 @@
+package com.psd.springboot.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * DTO Name        : CursorPage
+ * Intended For    : Paged listing endpoints (keyset pagination)
+ * Purpose         : One page of results plus the cursor for the next page.
+ *                   Clients pass nextAfter back as ?after= to continue; null means there are no more rows.
+ *
+ * Fields:
+ * @param items      Rows of this page, ordered by id.
+ * @param nextAfter  Id of the last row on this page when more rows may follow, otherwise null.
+ */
+public record CursorPage<T>(
+        List<T> items,
+        Long nextAfter
+) {
+    // Builds a page from a result fetched with the given limit; a full page means there may be more
+    public static <T> CursorPage<T> of(List<T> items, int limit, Function<T, Long> idOf) {
+        Long nextAfter = items.size() == limit && !items.isEmpty() ? idOf.apply(items.get(items.size() - 1)) : null;
+        return new CursorPage<>(items, nextAfter);
+    }
+}
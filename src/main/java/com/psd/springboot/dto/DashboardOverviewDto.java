@@ -0,0 +1,30 @@
+package com.psd.springboot.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO Name        : DashboardOverviewDto
+ * Intended For    : Admin / Internal Use Only
+ * Purpose         : Bank-wide account counts, balance totals and recent activity for the admin dashboard.
+ *
+ * Fields:
+ * @param totalAccounts         Number of accounts.
+ * @param activeAccounts        Accounts flagged active.
+ * @param inactiveAccounts      Accounts flagged inactive.
+ * @param lockedAccounts        Locked accounts (active or not).
+ * @param balanceByCurrency     Balance totals per currency.
+ * @param balanceByAccountType  Balance totals per account type and currency.
+ * @param lastHour              Deposits and withdrawals per currency during the last hour (seen by this node).
+ * @param reconciledAt          When the totals were last checked against the database.
+ */
+public record DashboardOverviewDto(
+        long totalAccounts,
+        long activeAccounts,
+        long inactiveAccounts,
+        long lockedAccounts,
+        List<BalanceTotalDto> balanceByCurrency,
+        List<BalanceTotalDto> balanceByAccountType,
+        List<MovementTotalsDto> lastHour,
+        LocalDateTime reconciledAt
+) {}
@@ -0,0 +1,31 @@
+package com.psd.springboot.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO Name        : MetricsReportDto
+ * Intended For    : Admin / Internal Use Only
+ * Purpose         : Where request time goes, from the HTTP layer down to the connection pool.
+ *
+ * Fields:
+ * @param generatedAt        When the report was taken.
+ * @param uptimeSeconds      Seconds since application start (basis of throughputPerSecond).
+ * @param http               Controller mappings, by method/uri/status.
+ * @param services           Service methods (AccountService, TransactionBatchService).
+ * @param repositories       Spring Data repository methods.
+ * @param connectionAcquire  Time spent waiting for a pooled JDBC connection.
+ * @param connectionPool     Pool gauges: active, idle, pending, max, timeouts.
+ * @param errors             Errors answered by GlobalExceptionHandler, by "ERROR_CODE/ExceptionType".
+ */
+public record MetricsReportDto(
+        LocalDateTime generatedAt,
+        long uptimeSeconds,
+        List<OperationMetricsDto> http,
+        List<OperationMetricsDto> services,
+        List<OperationMetricsDto> repositories,
+        List<OperationMetricsDto> connectionAcquire,
+        Map<String, Double> connectionPool,
+        Map<String, Long> errors
+) {}
@@ -0,0 +1,27 @@
+package com.psd.springboot.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.psd.springboot.support.CurrencyAware;
+import com.psd.springboot.support.MinorUnitsSerializer;
+
+/**
+ * DTO Name        : MovementTotalsDto
+ * Intended For    : Admin / Internal Use Only
+ * Purpose         : Deposits and withdrawals in one currency over a recent time window.
+ *
+ * Fields:
+ * @param currency          Currency of the amounts.
+ * @param deposits          Number of deposits.
+ * @param depositAmount     Sum of deposited amounts in minor units (serialized as a decimal string).
+ * @param withdrawals       Number of withdrawals.
+ * @param withdrawalAmount  Sum of withdrawn amounts in minor units (serialized as a decimal string).
+ */
+public record MovementTotalsDto(
+        String currency,
+        long deposits,
+        @JsonSerialize(using = MinorUnitsSerializer.class)
+        long depositAmount,
+        long withdrawals,
+        @JsonSerialize(using = MinorUnitsSerializer.class)
+        long withdrawalAmount
+) implements CurrencyAware {}
@@ -0,0 +1,32 @@
+package com.psd.springboot.dto;
+
+import java.util.Map;
+
+/**
+ * DTO Name        : OperationMetricsDto
+ * Intended For    : Admin / Internal Use Only
+ * Purpose         : Latency and volume of one timed operation (a service method, repository
+ *                   method, HTTP mapping or connection-pool acquisition).
+ *
+ * Fields:
+ * @param name                 Meter name, e.g. banking.service or http.server.requests.
+ * @param tags                 Tags identifying the operation (class/method, uri/status, exception...).
+ * @param count                Calls since application start.
+ * @param throughputPerSecond  count averaged over the application's uptime.
+ * @param meanMs               Mean latency since application start.
+ * @param p50Ms                Median latency over the rolling window (~2 minutes).
+ * @param p99Ms                99th percentile over the rolling window.
+ * @param p999Ms               99.9th percentile over the rolling window.
+ * @param maxMs                Slowest call over the rolling window.
+ */
+public record OperationMetricsDto(
+        String name,
+        Map<String, String> tags,
+        long count,
+        double throughputPerSecond,
+        double meanMs,
+        double p50Ms,
+        double p99Ms,
+        double p999Ms,
+        double maxMs
+) {}
@@ -0,0 +1,22 @@
+package com.psd.springboot.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * DTO Name        : TokenRequest
+ * Intended For    : Public API (Authentication)
+ * Purpose         : Credentials exchanged once for a bearer token, which then authenticates
+ *                   every following request without sending the password again.
+ *
+ * Fields:
+ * @param username  User name.
+ * @param password  Password.
+ */
+public record TokenRequest(
+
+        @NotBlank(message = "Username is required")
+        String username,
+
+        @NotBlank(message = "Password is required")
+        String password
+) {}
@@ -0,0 +1,21 @@
+package com.psd.springboot.dto;
+
+import java.time.Instant;
+
+/**
+ * DTO Name        : TokenResponseDto
+ * Intended For    : Public API (Authentication)
+ * Purpose         : A signed bearer token, sent back as "Authorization: Bearer <accessToken>".
+ *
+ * Fields:
+ * @param accessToken  The token.
+ * @param tokenType    Always "Bearer".
+ * @param expiresIn    Seconds until the token expires.
+ * @param expiresAt    When the token expires.
+ */
+public record TokenResponseDto(
+        String accessToken,
+        String tokenType,
+        long expiresIn,
+        Instant expiresAt
+) {}
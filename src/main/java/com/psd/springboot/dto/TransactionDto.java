@@ -1,12 +1,18 @@
 package com.psd.springboot.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.psd.springboot.support.CurrencyAware;
+import com.psd.springboot.support.MinorUnitsSerializer;
+
 import java.time.LocalDateTime;
 
 public record TransactionDto(
         Long id,
         String type,
-        double amount,
+        @JsonSerialize(using = MinorUnitsSerializer.class)
+        long amount,            // Minor units of the account currency
+        String currency,
         LocalDateTime timestamp,
         String remarks,
         Long accountId
-) {}
+) implements CurrencyAware {}
@@ -1,6 +1,7 @@
 package com.psd.springboot.dto;
 
-import jakarta.validation.constraints.Min;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.psd.springboot.support.DecimalAmountDeserializer;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import lombok.Getter;
@@ -10,9 +11,11 @@ import lombok.Setter;
 @Setter
 public class TransactionRequest {
 
+    // Decimal string in the account currency (e.g. "10.50" INR), read at the currency's scale
     @NotNull(message = "Amount is required")
-    @Min(value = 0, message ="Amount must be positive")
-    private Double amount;
+    @Pattern(regexp = "\\d+(\\.\\d+)?", message = "Amount must be a positive decimal such as \"10.50\"")
+    @JsonDeserialize(using = DecimalAmountDeserializer.class)
+    private String amount;
 
     private String description;   // Optional: "ATM withdrawal", "Online deposit", etc.
 
@@ -0,0 +1,41 @@
+package com.psd.springboot.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.psd.springboot.support.DecimalAmountDeserializer;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * DTO Name        : TransferRequest
+ * Intended For    : Public API (Transfers)
+ * Purpose         : Moves money from one account to another in a single DB transaction.
+ *                   Both accounts must hold the same currency.
+ *
+ * Fields:
+ * @param fromAccountId  Account that is debited.
+ * @param toAccountId    Account that is credited; must differ from fromAccountId.
+ * @param amount         Decimal string in the accounts' currency (e.g. "10.50"); must be positive.
+ * @param description    Optional free-text remark, recorded on both ledger entries.
+ */
+public record TransferRequest(
+
+        @NotNull(message = "Source account id is required")
+        Long fromAccountId,
+
+        @NotNull(message = "Destination account id is required")
+        Long toAccountId,
+
+        @NotNull(message = "Amount is required")
+        @Pattern(regexp = "\\d+(\\.\\d+)?", message = "Amount must be a positive decimal such as \"10.50\"")
+        @JsonDeserialize(using = DecimalAmountDeserializer.class)
+        String amount,
+
+        String description
+) {
+
+    @AssertTrue(message = "Source and destination accounts must differ")
+    boolean isDistinctAccounts() {
+        return fromAccountId == null || !fromAccountId.equals(toAccountId);
+    }
+}
@@ -0,0 +1,15 @@
+package com.psd.springboot.dto;
+
+/**
+ * DTO Name        : TransferResultDto
+ * Intended For    : Public API (Transfers)
+ * Purpose         : Both accounts as they are right after a committed transfer.
+ *
+ * Fields:
+ * @param fromAccount  Summary of the debited account.
+ * @param toAccount    Summary of the credited account.
+ */
+public record TransferResultDto(
+        AccountSummaryDto fromAccount,
+        AccountSummaryDto toAccount
+) {}
@@ -0,0 +1,22 @@
+package com.psd.springboot.dto;
+
+import java.util.List;
+
+/**
+ * DTO Name        : UserOverviewDto
+ * Intended For    : Public / Client-facing APIs
+ * Purpose         : Everything the user dashboard shows on its first screen: the user's accounts,
+ *                   what they hold per currency and the latest activity across all of them.
+ *
+ * Fields:
+ * @param userId              The user the overview belongs to.
+ * @param accounts            Summaries of all the user's accounts, oldest first.
+ * @param balanceByCurrency   Number of accounts and total balance per currency.
+ * @param recentTransactions  Latest ledger entries across all the accounts, newest first.
+ */
+public record UserOverviewDto(
+        Long userId,
+        List<AccountSummaryDto> accounts,
+        List<BalanceTotalDto> balanceByCurrency,
+        List<TransactionDto> recentTransactions
+) {}
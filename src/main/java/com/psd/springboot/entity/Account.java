@@ -27,12 +27,20 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
-@Table(name = "accounts")
+@Table(name = "accounts", indexes = {
+        // Not unique: IBANs were never constrained before, so existing tables may hold duplicates
+        @Index(name = "idx_accounts_iban", columnList = "iban"),
+        @Index(name = "idx_accounts_pan_number", columnList = "pan_number"),
+        @Index(name = "idx_accounts_user_id", columnList = "user_id")
+})
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Account {
 
+    // Pooled sequence (a table on MySQL): one round trip hands out 50 ids, so inserts can be JDBC-batched.
+    // AccountIdSequenceMigration keeps it ahead of ids assigned before (AUTO_INCREMENT)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_seq")
+    @SequenceGenerator(name = "account_seq", sequenceName = "account_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id; // Primary key
 
@@ -52,7 +60,10 @@ public class Account {
     private String currency;      // e.g., USD, INR, EUR
 
     private LocalDate accountCreationDate;
-    private double balance;
+
+    @Column(name = "balance_minor")
+    private long balance;         // In minor units of the account currency (see Money)
+
     private boolean active;       // Indicates if account is currently active
 
     @NotBlank @Email String contactEmail;
@@ -70,7 +81,9 @@ public class Account {
     // =========================
     private String accountStatus; // e.g., ACTIVE, SUSPENDED, CLOSED
     private boolean overdraftAllowed;
-    private double overdraftLimit;
+
+    @Column(name = "overdraft_limit_minor")
+    private long overdraftLimit;  // In minor units of the account currency
 
     // =========================
     // International Banking
@@ -97,7 +110,13 @@ public class Account {
     private boolean locked;           // Indicates if account access is locked
     private int failedLoginAttempts;  // Used for brute-force protection
 
-    @ManyToOne
+    // =========================
+    // Concurrency Control
+    // =========================
+    @Version
+    private long version;             // Optimistic lock; bumped on every update of the row
+
+    @ManyToOne(fetch = FetchType.LAZY)   // Owner is rarely needed; fetch it explicitly (see UserRepository)
     @JoinColumn(name = "user_id")
     private User user;
 
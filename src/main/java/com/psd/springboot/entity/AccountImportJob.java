@@ -0,0 +1,49 @@
+package com.psd.springboot.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of one bulk account import. The counters are advanced in the same DB transaction
+ * as each chunk of inserted accounts, so processedRows is always the exact resume point:
+ * every data row before it has been either imported or rejected, none after it has.
+ */
+@Getter
+@Setter
+@Builder
+@ToString
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "account_import_jobs")
+public class AccountImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(nullable = false, length = 10)
+    private String format;              // CSV, NDJSON
+
+    @Column(nullable = false, length = 10)
+    private String status;              // RUNNING, FAILED, COMPLETED
+
+    @Column(name = "processed_rows", nullable = false)
+    private long processedRows;         // Data rows consumed by committed chunks (header not counted)
+
+    @Column(name = "imported_rows", nullable = false)
+    private long importedRows;
+
+    @Column(name = "rejected_rows", nullable = false)
+    private long rejectedRows;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,49 @@
+package com.psd.springboot.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Balance of one account just before a snapshot boundary (every ledger entry with an earlier
+ * timestamp included). Written in bulk by BalanceSnapshotJob, never updated.
+ * The primary key (account_id, as_of) keeps an account's snapshots next to each other, so the
+ * nearest snapshot to a given time is a single index probe.
+ */
+@Getter
+@Setter
+@Builder
+@ToString
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Immutable
+@IdClass(BalanceSnapshot.Key.class)
+@Table(name = "balance_snapshots", indexes = @Index(name = "idx_balance_snapshots_as_of", columnList = "as_of"))
+public class BalanceSnapshot {
+
+    @Id
+    @Column(name = "account_id")
+    @EqualsAndHashCode.Include
+    private Long accountId;
+
+    @Id
+    @Column(name = "as_of")
+    @EqualsAndHashCode.Include
+    private LocalDateTime asOf;
+
+    @Column(name = "balance_minor", nullable = false)
+    private long balance;               // In minor units of the account currency
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long accountId;
+        private LocalDateTime asOf;
+    }
+}
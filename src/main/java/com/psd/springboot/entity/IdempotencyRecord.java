@@ -0,0 +1,48 @@
+package com.psd.springboot.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks an Idempotency-Key as used. Inserted in the same DB transaction as the balance
+ * change it guards, so the key exists if and only if the change committed.
+ * Rows are purged once they fall out of the dedup window.
+ */
+@Getter
+@Setter
+@Builder
+@ToString
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_created_at", columnList = "created_at"))
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idempotency_key", length = 100)
+    @EqualsAndHashCode.Include
+    private String key;                 // Digest of caller and Idempotency-Key, see IdempotencyGuard
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(nullable = false, length = 20)
+    private String operation;           // DEPOSIT, WITHDRAWAL
+
+    @Column(name = "amount_minor", nullable = false)
+    private long amount;
+
+    @Column(name = "balance_after_minor", nullable = false)
+    private long balanceAfter;          // Balance returned to the original request
+
+    @Column(name = "version_after")
+    private Long versionAfter;          // Account version returned to the original request; null on rows from before it was kept
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -2,9 +2,15 @@ package com.psd.springboot.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Immutable;
 
 import java.time.LocalDateTime;
 
+/**
+ * Append-only ledger entry: one row per balance change, never updated or deleted.
+ * Ids come from a pooled sequence (emulated with a table on MySQL) instead of IDENTITY,
+ * so Hibernate can batch the inserts.
+ */
 @Getter
 @Setter
 @Builder
@@ -13,20 +19,30 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "transactions")
+@Immutable
+// History reads filter by account and time and page by (timestamp, id): one index range scan per page
+@Table(name = "transactions", indexes = @Index(name = "idx_transactions_account_time", columnList = "account_id, timestamp, id"))
 public class Transaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transaction_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
-    private String type;
-    private double amount;
+    @Column(updatable = false)
+    private String type;            // DEPOSIT, WITHDRAWAL
+
+    @Column(name = "amount_minor", updatable = false)
+    private long amount;            // In minor units of the account currency
+
+    @Column(updatable = false)
     private LocalDateTime timestamp;
+
+    @Column(updatable = false)
     private String remarks;
 
-    @ManyToOne
-    @JoinColumn(name = "account_id")
+    @ManyToOne(fetch = FetchType.LAZY)   // Join-fetch via TransactionRepository when the account is needed
+    @JoinColumn(name = "account_id", updatable = false)
     private Account account;
 }
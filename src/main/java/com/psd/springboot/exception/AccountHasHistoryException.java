@@ -0,0 +1,7 @@
+package com.psd.springboot.exception;
+
+public class AccountHasHistoryException extends RuntimeException {
+    public AccountHasHistoryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.psd.springboot.exception;
+
+public class AmountOutOfRangeException extends RuntimeException {
+    public AmountOutOfRangeException(String message) {
+        super(message);
+    }
+}
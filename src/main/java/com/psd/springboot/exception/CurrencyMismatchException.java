@@ -0,0 +1,7 @@
+package com.psd.springboot.exception;
+
+public class CurrencyMismatchException extends RuntimeException {
+    public CurrencyMismatchException(String message) {
+        super(message);
+    }
+}
@@ -1,7 +1,12 @@
 package com.psd.springboot.exception;
 
+import com.psd.springboot.service.impl.MetricsReporter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -16,8 +21,22 @@ public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private final MeterRegistry meterRegistry;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Error counts by code and exception type, reported on /api/admin/dashboard/metrics
+    private void countError(Exception ex, String errorCode) {
+        meterRegistry.counter(MetricsReporter.ERROR_COUNTER,
+                "errorCode", errorCode,
+                "exception", ex.getClass().getSimpleName()).increment();
+    }
+
     private ResponseEntity<ErrorDetails> buildErrorResponse(Exception ex, WebRequest request,
                                                             HttpStatus status, String errorCode) {
+        countError(ex, errorCode);
         ErrorDetails error = new ErrorDetails(
                 LocalDateTime.now(),
                 ex.getMessage(),
@@ -62,6 +81,25 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorDetails> handleValidationExceptions(MethodArgumentNotValidException ex, WebRequest request) {
         String message = ex.getBindingResult().getAllErrors().get(0).getDefaultMessage(); // first validation error message
         logger.warn("Validation failed: {}", message);
+        countError(ex, "VALIDATION_ERROR");
+        ErrorDetails error = new ErrorDetails(
+                LocalDateTime.now(),
+                message,
+                request.getDescription(false),
+                "VALIDATION_ERROR"
+        );
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    // Method-level constraints (e.g. @Min on path variables, @Size on request bodies)
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ErrorDetails> handleConstraintViolation(ConstraintViolationException ex, WebRequest request) {
+        String message = ex.getConstraintViolations().stream()
+                .map(ConstraintViolation::getMessage)
+                .findFirst()
+                .orElse(ex.getMessage());
+        logger.warn("Validation failed: {}", message);
+        countError(ex, "VALIDATION_ERROR");
         ErrorDetails error = new ErrorDetails(
                 LocalDateTime.now(),
                 message,
@@ -89,6 +127,66 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(ex, request, HttpStatus.CONFLICT, "DUPLICATE_ACCOUNT");
     }
 
+    @ExceptionHandler(AccountHasHistoryException.class)
+    public ResponseEntity<ErrorDetails> handleAccountHasHistory(AccountHasHistoryException ex, WebRequest request) {
+        logger.warn("Account has history: {}", ex.getMessage());
+        return buildErrorResponse(ex, request, HttpStatus.CONFLICT, "ACCOUNT_HAS_HISTORY");
+    }
+
+    // Amount or resulting balance beyond the limits in Money
+    @ExceptionHandler(AmountOutOfRangeException.class)
+    public ResponseEntity<ErrorDetails> handleAmountOutOfRange(AmountOutOfRangeException ex, WebRequest request) {
+        logger.warn("Amount out of range: {}", ex.getMessage());
+        return buildErrorResponse(ex, request, HttpStatus.BAD_REQUEST, "AMOUNT_OUT_OF_RANGE");
+    }
+
+    // Amount text that is not a positive decimal with at most the currency's fraction digits
+    @ExceptionHandler(InvalidAmountException.class)
+    public ResponseEntity<ErrorDetails> handleInvalidAmount(InvalidAmountException ex, WebRequest request) {
+        logger.warn("Invalid amount: {}", ex.getMessage());
+        return buildErrorResponse(ex, request, HttpStatus.BAD_REQUEST, "INVALID_AMOUNT");
+    }
+
+    // Unparseable request body; an amount sent as a JSON number lands here too (see DecimalAmountDeserializer)
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorDetails> handleNotReadable(HttpMessageNotReadableException ex, WebRequest request) {
+        if (ex.getMostSpecificCause() instanceof InvalidAmountException invalidAmount) {
+            return handleInvalidAmount(invalidAmount, request);
+        }
+        logger.warn("Malformed request body: {}", ex.getMessage());
+        return buildErrorResponse(ex, request, HttpStatus.BAD_REQUEST, "MALFORMED_REQUEST");
+    }
+
+    @ExceptionHandler(ConcurrentUpdateException.class)
+    public ResponseEntity<ErrorDetails> handleConcurrentUpdate(ConcurrentUpdateException ex, WebRequest request) {
+        logger.warn("Concurrent update: {}", ex.getMessage());
+        return buildErrorResponse(ex, request, HttpStatus.CONFLICT, "CONCURRENT_UPDATE");
+    }
+
+    @ExceptionHandler(CurrencyMismatchException.class)
+    public ResponseEntity<ErrorDetails> handleCurrencyMismatch(CurrencyMismatchException ex, WebRequest request) {
+        logger.warn("Currency mismatch: {}", ex.getMessage());
+        return buildErrorResponse(ex, request, HttpStatus.BAD_REQUEST, "CURRENCY_MISMATCH");
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ErrorDetails> handleIdempotencyKeyReused(IdempotencyKeyReusedException ex, WebRequest request) {
+        logger.warn("Idempotency key reused: {}", ex.getMessage());
+        return buildErrorResponse(ex, request, HttpStatus.UNPROCESSABLE_ENTITY, "IDEMPOTENCY_KEY_REUSED");
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorDetails> handleInvalidCursor(InvalidCursorException ex, WebRequest request) {
+        logger.warn("Invalid cursor: {}", ex.getMessage());
+        return buildErrorResponse(ex, request, HttpStatus.BAD_REQUEST, "INVALID_CURSOR");
+    }
+
+    @ExceptionHandler(InvalidImportFileException.class)
+    public ResponseEntity<ErrorDetails> handleInvalidImportFile(InvalidImportFileException ex, WebRequest request) {
+        logger.warn("Invalid import file: {}", ex.getMessage());
+        return buildErrorResponse(ex, request, HttpStatus.BAD_REQUEST, "INVALID_IMPORT_FILE");
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorDetails> handleGlobalException(Exception ex, WebRequest request) {
         logger.error("Unhandled exception: ", ex);
@@ -0,0 +1,7 @@
+package com.psd.springboot.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.psd.springboot.exception;
+
+public class InvalidImportFileException extends RuntimeException {
+    public InvalidImportFileException(String message) {
+        super(message);
+    }
+}
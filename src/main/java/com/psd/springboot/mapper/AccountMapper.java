@@ -4,7 +4,10 @@ import com.psd.springboot.dto.AccountCreateDto;
 import com.psd.springboot.dto.AccountSummaryDto;
 import com.psd.springboot.entity.Account;
 import com.psd.springboot.dto.AccountDetailsDto;
+import com.psd.springboot.repository.projection.AccountSummaryView;
+import org.springframework.stereotype.Component;
 
+@Component
 public class AccountMapper {
 
     public static Account mapToAccount(AccountDetailsDto accountDetailsDto) {
@@ -122,7 +125,26 @@ public class AccountMapper {
                 account.getBalance(),
                 account.isActive(),
                 account.getBranchCode(),  // or a friendly branch display name
-                account.getAccountStatus() // or a user-friendly status label
+                account.getAccountStatus(), // or a user-friendly status label
+                account.getVersion()
+        );
+    }
+
+    // Builds the summary straight from the narrow repository projection (no entity load)
+    public AccountSummaryDto toAccountSummaryDto(AccountSummaryView view) {
+        return new AccountSummaryDto(
+                view.id(),
+                view.accountHolderName(),
+                maskAccountNumber(view.accountNumber()),
+                view.accountType(),
+                view.bankName(),
+                view.currency(),
+                view.accountCreationDate(),
+                view.balance(),
+                view.active(),
+                view.branchCode(),
+                view.accountStatus(),
+                view.version()
         );
     }
 
@@ -2,6 +2,7 @@ package com.psd.springboot.mapper;
 
 import com.psd.springboot.entity.Transaction;
 import com.psd.springboot.dto.TransactionDto;
+import com.psd.springboot.repository.projection.TransactionView;
 import org.springframework.security.core.parameters.P;
 
 public class TransactionMapper {
@@ -23,8 +24,23 @@ public class TransactionMapper {
                 transaction.getId(),
                 transaction.getType(),
                 transaction.getAmount(),
+                transaction.getAccount() != null ? transaction.getAccount().getCurrency() : null,
                 transaction.getTimestamp(),
                 transaction.getRemarks(), transaction.getAccount() != null ? transaction.getAccount().getId() : null
         );
     }
+
+    // Builds the DTO from the history projection; currency and account id are the same for the whole page
+    public static TransactionDto mapToTransactionDto(TransactionView view, String currency, Long accountId) {
+
+        return new TransactionDto(
+                view.id(),
+                view.type(),
+                view.amount(),
+                currency,
+                view.timestamp(),
+                view.remarks(),
+                accountId
+        );
+    }
 }
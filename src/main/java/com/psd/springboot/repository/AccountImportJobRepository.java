@@ -0,0 +1,29 @@
+package com.psd.springboot.repository;
+
+import com.psd.springboot.entity.AccountImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface AccountImportJobRepository extends JpaRepository<AccountImportJob, Long> {
+
+    // Called inside the chunk's transaction, so the resume point moves only if the chunk committed
+    @Modifying
+    @Query("update AccountImportJob j set j.processedRows = j.processedRows + :rows, " +
+            "j.importedRows = j.importedRows + :imported, j.rejectedRows = j.rejectedRows + :rejected, " +
+            "j.updatedAt = :now where j.id = :id")
+    int advance(@Param("id") Long id,
+                @Param("rows") long rows,
+                @Param("imported") long imported,
+                @Param("rejected") long rejected,
+                @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("update AccountImportJob j set j.status = :status, j.updatedAt = :now where j.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") String status, @Param("now") LocalDateTime now);
+}
@@ -1,7 +1,142 @@
 package com.psd.springboot.repository;
 
+import com.psd.springboot.dto.AccountDetailsDto;
 import com.psd.springboot.entity.Account;
+import com.psd.springboot.repository.projection.AccountCurrencyView;
+import com.psd.springboot.repository.projection.AccountSegmentTotalsView;
+import com.psd.springboot.repository.projection.AccountSegmentView;
+import com.psd.springboot.repository.projection.AccountStateView;
+import com.psd.springboot.repository.projection.AccountSummaryView;
+import com.psd.springboot.support.Money;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface AccountRepository extends JpaRepository<Account, Long> {
+
+    // ===========================
+    // Set-based balance mutations
+    // ===========================
+    // Each method is a single conditional UPDATE; it returns the affected-row count,
+    // so 0 means the business rule in the WHERE clause rejected the movement (or the id is unknown).
+    // The version column is bumped so entity-based writers still detect the change.
+
+    // Also refuses a credit that would take the balance past Money.MAX_BALANCE, so the addition cannot overflow
+    @Modifying
+    @Query("update Account a set a.balance = a.balance + :amount, a.lastTransactionDate = :timestamp, " +
+            "a.version = a.version + 1 " +
+            "where a.id = :id and a.active = true and a.locked = false " +
+            "and a.balance <= " + Money.MAX_BALANCE + "L - :amount")
+    int applyDeposit(@Param("id") Long id,
+                     @Param("amount") long amount,
+                     @Param("timestamp") LocalDateTime timestamp);
+
+    @Modifying
+    @Query("update Account a set a.balance = a.balance - :amount, a.lastTransactionDate = :timestamp, " +
+            "a.version = a.version + 1 " +
+            "where a.id = :id and a.active = true and a.locked = false " +
+            "and a.balance + (case when a.overdraftAllowed = true then a.overdraftLimit else 0 end) >= :amount")
+    int applyWithdrawal(@Param("id") Long id,
+                        @Param("amount") long amount,
+                        @Param("timestamp") LocalDateTime timestamp);
+
+    // ===========================
+    // Narrow projections
+    // ===========================
+
+    // Upper end of the id range for jobs that walk every account in chunks
+    @Query("select coalesce(max(a.id), 0) from Account a")
+    long findMaxId();
+
+    // One entry per existing account; used to check that both sides of a transfer share a currency
+    @Query("select a.currency from Account a where a.id in :ids")
+    List<String> findCurrencies(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.psd.springboot.repository.projection.AccountSummaryView(" +
+            "a.id, a.accountHolderName, a.accountNumber, a.accountType, a.bankName, a.currency, " +
+            "a.accountCreationDate, a.balance, a.active, a.branchCode, a.accountStatus, a.version) " +
+            "from Account a where a.id = :id")
+    Optional<AccountSummaryView> findSummaryById(@Param("id") Long id);
+
+    // Every column of the accounts row except the version; a.user.id reads the user_id foreign key
+    // column, so neither users nor addresses is joined
+    String DETAILS_SELECT = "select new com.psd.springboot.dto.AccountDetailsDto(" +
+            "a.id, a.accountHolderName, a.accountNumber, a.accountType, a.bankName, a.branchCode, a.ifscCode, " +
+            "a.currency, a.accountCreationDate, a.active, a.contactEmail, a.contactPhone, a.address, a.balance, " +
+            "a.panNumber, a.nationality, a.dateOfBirth, a.accountStatus, a.overdraftAllowed, a.overdraftLimit, " +
+            "a.swiftCode, a.iban, a.lastTransactionDate, a.lastLoginDate, a.createdAt, a.updatedAt, " +
+            "a.locked, a.failedLoginAttempts, a.user.id) from Account a ";
+
+    @Query(DETAILS_SELECT + "where a.id = :id")
+    Optional<AccountDetailsDto> findDetailsById(@Param("id") Long id);
+
+    // ===========================
+    // External identifiers (each served by its own index on accounts)
+    // ===========================
+
+    @Query("select a.id from Account a where a.accountNumber = :accountNumber")
+    Optional<Long> findIdByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    // IBANs are indexed but not unique; should one be shared, the oldest account answers
+    @Query("select min(a.id) from Account a where a.iban = :iban")
+    Optional<Long> findIdByIban(@Param("iban") String iban);
+
+    // A PAN identifies a person, who may hold several accounts
+    @Query(DETAILS_SELECT + "where a.panNumber = :panNumber order by a.id")
+    List<AccountDetailsDto> findDetailsByPanNumber(@Param("panNumber") String panNumber);
+
+    // Currencies of the existing accounts among ids, to read their amounts at the right scale
+    @Query("select new com.psd.springboot.repository.projection.AccountCurrencyView(a.id, a.currency) " +
+            "from Account a where a.id in :ids")
+    List<AccountCurrencyView> findCurrenciesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.psd.springboot.repository.projection.AccountSegmentView(a.accountType, a.currency) " +
+            "from Account a where a.id = :id")
+    Optional<AccountSegmentView> findSegmentById(@Param("id") Long id);
+
+    // Which of the given account numbers are taken (one IN query per import chunk)
+    @Query("select a.accountNumber from Account a where a.accountNumber in :numbers")
+    List<String> findExistingAccountNumbers(@Param("numbers") Collection<String> numbers);
+
+    // Cheapest existence-and-freshness check: the row version alone, for conditional GETs
+    @Query("select a.version from Account a where a.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Full scan grouped by type and currency; only run by the periodic dashboard reconciliation
+    @Query("select new com.psd.springboot.repository.projection.AccountSegmentTotalsView(" +
+            "a.accountType, a.currency, count(a), sum(case when a.active = true then 1 else 0 end), " +
+            "sum(case when a.locked = true then 1 else 0 end), sum(a.balance)) " +
+            "from Account a group by a.accountType, a.currency")
+    List<AccountSegmentTotalsView> sumBySegment();
+
+    @Query("select new com.psd.springboot.repository.projection.AccountStateView(" +
+            "a.active, a.locked, a.overdraftAllowed) from Account a where a.id = :id")
+    Optional<AccountStateView> findStateById(@Param("id") Long id);
+
+    // ===========================
+    // Keyset pages (WHERE id > :after ORDER BY id, served by the primary key)
+    // ===========================
+
+    @Query("select new com.psd.springboot.repository.projection.AccountSummaryView(" +
+            "a.id, a.accountHolderName, a.accountNumber, a.accountType, a.bankName, a.currency, " +
+            "a.accountCreationDate, a.balance, a.active, a.branchCode, a.accountStatus, a.version) " +
+            "from Account a where a.id > :after order by a.id")
+    List<AccountSummaryView> findSummariesAfter(@Param("after") long after, Pageable page);
+
+    // Every account of one user through idx_accounts_user_id; a.user.id is the foreign key column, users is not joined
+    @Query("select new com.psd.springboot.repository.projection.AccountSummaryView(" +
+            "a.id, a.accountHolderName, a.accountNumber, a.accountType, a.bankName, a.currency, " +
+            "a.accountCreationDate, a.balance, a.active, a.branchCode, a.accountStatus, a.version) " +
+            "from Account a where a.user.id = :userId order by a.id")
+    List<AccountSummaryView> findSummariesByUserId(@Param("userId") Long userId);
+
+    @Query(DETAILS_SELECT + "where a.id > :after order by a.id")
+    List<AccountDetailsDto> findDetailsAfter(@Param("after") long after, Pageable page);
 }
@@ -0,0 +1,133 @@
+package com.psd.springboot.repository;
+
+import com.psd.springboot.dto.AccountDetailsDto;
+import com.psd.springboot.repository.projection.AccountSummaryView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Reads the whole accounts table through a forward-only, read-only JDBC cursor.
+ * With MySQL Connector/J a fetch size of Integer.MIN_VALUE (banking.jdbc.streaming-fetch-size)
+ * switches the result set to row-by-row streaming, so memory use does not depend on the number of rows.
+ * Each row is handed to the consumer and then dropped.
+ */
+@Repository
+public class AccountStreamingRepository {
+
+    private static final String SUMMARY_SQL =
+            "SELECT id, account_holder_name, account_number, account_type, bank_name, currency, " +
+            "account_creation_date, balance_minor, active, branch_code, account_status, version " +
+            "FROM accounts ORDER BY id";
+
+    private static final String DETAILS_SELECT =
+            "SELECT id, account_holder_name, account_number, account_type, bank_name, branch_code, ifsc_code, " +
+            "currency, account_creation_date, active, contact_email, contact_phone, address, balance_minor, " +
+            "pan_number, nationality, date_of_birth, account_status, overdraft_allowed, overdraft_limit_minor, " +
+            "swift_code, iban, last_transaction_date, last_login_date, created_at, updated_at, locked, " +
+            "failed_login_attempts, user_id " +
+            "FROM accounts ";
+
+    private static final String DETAILS_SQL = DETAILS_SELECT + "ORDER BY id";
+
+    // One primary-key range scan; partitions of a parallel export each stream their own range
+    private static final String DETAILS_RANGE_SQL = DETAILS_SELECT + "WHERE id >= ? AND id < ? ORDER BY id";
+
+    private static final String ID_RANGE_SQL = "SELECT MIN(id), MAX(id) FROM accounts";
+
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    public AccountStreamingRepository(DataSource dataSource,
+                                      @Value("${banking.jdbc.streaming-fetch-size:-2147483648}") int fetchSize) {
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    public void forEachSummary(Consumer<AccountSummaryView> consumer) {
+        streamingJdbcTemplate.query(SUMMARY_SQL, rs -> {
+            consumer.accept(new AccountSummaryView(
+                    rs.getLong("id"),
+                    rs.getString("account_holder_name"),
+                    rs.getString("account_number"),
+                    rs.getString("account_type"),
+                    rs.getString("bank_name"),
+                    rs.getString("currency"),
+                    rs.getObject("account_creation_date", LocalDate.class),
+                    rs.getLong("balance_minor"),
+                    rs.getBoolean("active"),
+                    rs.getString("branch_code"),
+                    rs.getString("account_status"),
+                    rs.getLong("version")
+            ));
+        });
+    }
+
+    public void forEachDetails(Consumer<AccountDetailsDto> consumer) {
+        streamingJdbcTemplate.query(DETAILS_SQL, rs -> {
+            consumer.accept(details(rs));
+        });
+    }
+
+    // Accounts with fromId <= id < toId, in id order
+    public void forEachDetailsInRange(long fromId, long toId, Consumer<AccountDetailsDto> consumer) {
+        streamingJdbcTemplate.query(DETAILS_RANGE_SQL, rs -> {
+            consumer.accept(details(rs));
+        }, fromId, toId);
+    }
+
+    // {min id, max id}, or null when the table is empty
+    public long[] idRange() {
+        return streamingJdbcTemplate.query(ID_RANGE_SQL, rs -> {
+            rs.next();
+            long min = rs.getLong(1);
+            return rs.wasNull() ? null : new long[]{min, rs.getLong(2)};
+        });
+    }
+
+    private static AccountDetailsDto details(ResultSet rs) throws SQLException {
+        return new AccountDetailsDto(
+                rs.getLong("id"),
+                rs.getString("account_holder_name"),
+                rs.getString("account_number"),
+                rs.getString("account_type"),
+                rs.getString("bank_name"),
+                rs.getString("branch_code"),
+                rs.getString("ifsc_code"),
+                rs.getString("currency"),
+                rs.getObject("account_creation_date", LocalDate.class),
+                rs.getBoolean("active"),
+                rs.getString("contact_email"),
+                rs.getString("contact_phone"),
+                rs.getString("address"),
+                rs.getLong("balance_minor"),
+                rs.getString("pan_number"),
+                rs.getString("nationality"),
+                rs.getObject("date_of_birth", LocalDate.class),
+                rs.getString("account_status"),
+                rs.getBoolean("overdraft_allowed"),
+                rs.getLong("overdraft_limit_minor"),
+                rs.getString("swift_code"),
+                rs.getString("iban"),
+                toLocalDateTime(rs, "last_transaction_date"),
+                toLocalDateTime(rs, "last_login_date"),
+                toLocalDateTime(rs, "created_at"),
+                toLocalDateTime(rs, "updated_at"),
+                rs.getBoolean("locked"),
+                rs.getInt("failed_login_attempts"),
+                rs.getObject("user_id", Long.class)
+        );
+    }
+
+    private static LocalDateTime toLocalDateTime(ResultSet rs, String column) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,36 @@
+package com.psd.springboot.repository;
+
+import com.psd.springboot.entity.BalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, BalanceSnapshot.Key> {
+
+    // Nearest snapshot at or before / after the given time (one probe of the primary key each)
+    Optional<BalanceSnapshot> findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(Long accountId, LocalDateTime time);
+
+    Optional<BalanceSnapshot> findFirstByAccountIdAndAsOfGreaterThanOrderByAsOfAsc(Long accountId, LocalDateTime time);
+
+    boolean existsByAsOf(LocalDateTime asOf);
+
+    // Snapshots at :asOf for the accounts in (fromId, toId] that moved money since :activeSince or have no
+    // snapshot yet. The balance is the current one minus the entries stamped at or after :asOf (debit types
+    // as in TransactionLedger.isDebit). IGNORE makes a re-run, or a second node running the job, a no-op.
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO balance_snapshots (account_id, as_of, balance_minor) " +
+            "SELECT a.id, :asOf, a.balance_minor - COALESCE((SELECT SUM(CASE WHEN t.type IN ('WITHDRAWAL', 'TRANSFER_OUT') " +
+            "THEN -t.amount_minor ELSE t.amount_minor END) FROM transactions t " +
+            "WHERE t.account_id = a.id AND t.timestamp >= :asOf), 0) " +
+            "FROM accounts a WHERE a.id > :fromId AND a.id <= :toId " +
+            "AND (a.last_transaction_date >= :activeSince " +
+            "OR NOT EXISTS (SELECT 1 FROM balance_snapshots s WHERE s.account_id = a.id))", nativeQuery = true)
+    int insertSnapshots(@Param("asOf") LocalDateTime asOf,
+                        @Param("activeSince") LocalDateTime activeSince,
+                        @Param("fromId") long fromId,
+                        @Param("toId") long toId);
+}
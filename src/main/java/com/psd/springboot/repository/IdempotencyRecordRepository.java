@@ -0,0 +1,31 @@
+package com.psd.springboot.repository;
+
+import com.psd.springboot.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Plain INSERT (save() would SELECT first for an assigned id); a reused key fails on the primary key
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys " +
+            "(idempotency_key, account_id, operation, amount_minor, balance_after_minor, version_after, created_at) " +
+            "VALUES (:key, :accountId, :operation, :amount, :balanceAfter, :versionAfter, :createdAt)", nativeQuery = true)
+    int insert(@Param("key") String key,
+               @Param("accountId") Long accountId,
+               @Param("operation") String operation,
+               @Param("amount") long amount,
+               @Param("balanceAfter") long balanceAfter,
+               @Param("versionAfter") long versionAfter,
+               @Param("createdAt") LocalDateTime createdAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,68 @@
+package com.psd.springboot.repository;
+
+import com.psd.springboot.repository.projection.TransactionView;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Latest ledger entries of several accounts in one statement: a UNION ALL of one
+ * "newest limit rows of this account" branch per account. Each branch is a short backward
+ * range scan of the (account_id, timestamp, id) index that stops after limit rows, so the
+ * statement reads at most accounts x limit index entries, however long the histories are.
+ */
+@Repository
+public class RecentTransactionRepository {
+
+    // Newest first, ties broken by id, as in the history pages
+    public static final Comparator<TransactionView> NEWEST_FIRST =
+            Comparator.comparing(TransactionView::timestamp).thenComparing(TransactionView::id).reversed();
+
+    // Keeps statements and parameter lists a sane size for users with very many accounts
+    private static final int BRANCHES_PER_STATEMENT = 100;
+
+    private static final String BRANCH_SQL =
+            "(SELECT account_id, id, type, amount_minor, timestamp, remarks FROM transactions " +
+            "WHERE account_id = ? ORDER BY timestamp DESC, id DESC LIMIT ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RecentTransactionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Up to limit latest entries of each account, keyed by account id, each list newest first.
+     * Accounts without entries are absent from the map.
+     */
+    public Map<Long, List<TransactionView>> findLatestPerAccount(List<Long> accountIds, int limit) {
+        Map<Long, List<TransactionView>> latest = new HashMap<>();
+        for (int start = 0; start < accountIds.size(); start += BRANCHES_PER_STATEMENT) {
+            List<Long> chunk = accountIds.subList(start, Math.min(accountIds.size(), start + BRANCHES_PER_STATEMENT));
+            String sql = String.join(" UNION ALL ", Collections.nCopies(chunk.size(), BRANCH_SQL));
+            Object[] args = new Object[chunk.size() * 2];
+            for (int i = 0; i < chunk.size(); i++) {
+                args[2 * i] = chunk.get(i);
+                args[2 * i + 1] = limit;
+            }
+            jdbcTemplate.query(sql, rs -> {
+                latest.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>(limit)).add(new TransactionView(
+                        rs.getLong(2),
+                        rs.getString(3),
+                        rs.getLong(4),
+                        rs.getTimestamp(5).toLocalDateTime(),
+                        rs.getString(6)
+                ));
+            }, args);
+        }
+        // UNION ALL does not promise to keep each branch's order; the lists are tiny and usually already sorted
+        latest.values().forEach(entries -> entries.sort(NEWEST_FIRST));
+        return latest;
+    }
+}
@@ -0,0 +1,54 @@
+package com.psd.springboot.repository;
+
+import com.psd.springboot.entity.Transaction;
+import com.psd.springboot.repository.projection.TransactionView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+
+    // Served by idx_transactions_account_time; stops at the first entry
+    boolean existsByAccountId(Long accountId);
+
+    // Transaction.account is lazy; TransactionMapper reads its currency, so fetch it in the same statement
+    @EntityGraph(attributePaths = "account")
+    List<Transaction> findWithAccountByIdIn(List<Long> ids);
+
+    // ===========================
+    // History (keyset pages over idx_transactions_account_time, newest first)
+    // ===========================
+    // Rows strictly before (beforeTimestamp, beforeId) in (timestamp desc, id desc) order and at or after from.
+    // The first page passes the exclusive upper time bound with beforeId = Long.MIN_VALUE, so every page is
+    // the same range scan that stops after limit rows, however many entries the account has.
+
+    @Query("select new com.psd.springboot.repository.projection.TransactionView(" +
+            "t.id, t.type, t.amount, t.timestamp, t.remarks) from Transaction t " +
+            "where t.account.id = :accountId and t.timestamp >= :from " +
+            "and (t.timestamp < :beforeTimestamp or (t.timestamp = :beforeTimestamp and t.id < :beforeId)) " +
+            "and (:type is null or t.type = :type) " +
+            "order by t.timestamp desc, t.id desc")
+    List<TransactionView> findHistoryPage(@Param("accountId") Long accountId,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+                                          @Param("beforeId") long beforeId,
+                                          @Param("type") String type,
+                                          Pageable page);
+
+    // Net movement of an account in [from, to): credits minus debits (debit types as in TransactionLedger.isDebit)
+    @Query("select coalesce(sum(case when t.type in ('WITHDRAWAL', 'TRANSFER_OUT') then -t.amount else t.amount end), 0) " +
+            "from Transaction t where t.account.id = :accountId and t.timestamp >= :from and t.timestamp < :to")
+    long sumMovements(@Param("accountId") Long accountId,
+                      @Param("from") LocalDateTime from,
+                      @Param("to") LocalDateTime to);
+
+    // Position of a cursor row; scoped to the account so a cursor from another account is rejected
+    @Query("select t.timestamp from Transaction t where t.id = :id and t.account.id = :accountId")
+    Optional<LocalDateTime> findTimestampByIdAndAccountId(@Param("id") Long id, @Param("accountId") Long accountId);
+}
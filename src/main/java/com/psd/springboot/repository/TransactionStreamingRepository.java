@@ -0,0 +1,57 @@
+package com.psd.springboot.repository;
+
+import com.psd.springboot.repository.projection.TransactionView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Reads an account's ledger entries for a time range through a forward-only, read-only JDBC
+ * cursor (see AccountStreamingRepository), oldest first, in the order of the
+ * (account_id, timestamp, id) index. Each row is handed to the consumer and then dropped.
+ */
+@Repository
+public class TransactionStreamingRepository {
+
+    private static final String ENTRIES_SQL =
+            "SELECT id, type, amount_minor, timestamp, remarks FROM transactions " +
+            "WHERE account_id = ? AND timestamp >= ? AND timestamp < ? ORDER BY timestamp, id";
+
+    // Current balance minus every movement at or after the given time; debit types as in TransactionLedger.isDebit
+    private static final String BALANCE_BEFORE_SQL =
+            "SELECT a.balance_minor - COALESCE((SELECT SUM(CASE WHEN t.type IN ('WITHDRAWAL', 'TRANSFER_OUT') " +
+            "THEN -t.amount_minor ELSE t.amount_minor END) FROM transactions t " +
+            "WHERE t.account_id = a.id AND t.timestamp >= ?), 0) FROM accounts a WHERE a.id = ?";
+
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    public TransactionStreamingRepository(DataSource dataSource,
+                                          @Value("${banking.jdbc.streaming-fetch-size:-2147483648}") int fetchSize) {
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    // Balance of the account just before the given time, or null for an unknown account
+    public Long balanceBefore(Long accountId, LocalDateTime time) {
+        return streamingJdbcTemplate.query(BALANCE_BEFORE_SQL,
+                rs -> rs.next() ? rs.getLong(1) : null,
+                Timestamp.valueOf(time), accountId);
+    }
+
+    public void forEachEntry(Long accountId, LocalDateTime from, LocalDateTime to, Consumer<TransactionView> consumer) {
+        streamingJdbcTemplate.query(ENTRIES_SQL, rs -> {
+            consumer.accept(new TransactionView(
+                    rs.getLong(1),
+                    rs.getString(2),
+                    rs.getLong(3),
+                    rs.getTimestamp(4).toLocalDateTime(),
+                    rs.getString(5)
+            ));
+        }, accountId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+}
@@ -0,0 +1,20 @@
+package com.psd.springboot.repository;
+
+import com.psd.springboot.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface UserRepository extends JpaRepository<User, Long> {
+
+    // All associations are lazy; these fetch exactly what UserMapper.mapToUserDto reads
+    // (address and account ids) in the same statement, instead of one extra query per user.
+
+    @EntityGraph(attributePaths = {"address", "accounts"})
+    Optional<User> findWithAccountsById(Long id);
+
+    @EntityGraph(attributePaths = {"address", "accounts"})
+    List<User> findAllWithAccountsByIdIn(List<Long> ids);
+}
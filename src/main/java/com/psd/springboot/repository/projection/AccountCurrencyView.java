@@ -0,0 +1,10 @@
+package com.psd.springboot.repository.projection;
+
+/**
+ * Currency of one account, fixed at creation; it decides the scale amounts for the account
+ * are read at, so it can be cached per account id.
+ */
+public record AccountCurrencyView(
+        Long id,
+        String currency
+) {}
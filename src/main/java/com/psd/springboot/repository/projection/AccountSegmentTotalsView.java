@@ -0,0 +1,14 @@
+package com.psd.springboot.repository.projection;
+
+/**
+ * Counts and balance total of all accounts sharing an account type and currency;
+ * one row of the dashboard reconciliation query.
+ */
+public record AccountSegmentTotalsView(
+        String accountType,
+        String currency,
+        long accounts,
+        long active,
+        long locked,
+        long balance
+) {}
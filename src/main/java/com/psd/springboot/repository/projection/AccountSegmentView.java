@@ -0,0 +1,10 @@
+package com.psd.springboot.repository.projection;
+
+/**
+ * The two attributes the dashboard aggregates are grouped by. Both are fixed when the
+ * account is created, so the pair can be cached per account id.
+ */
+public record AccountSegmentView(
+        String accountType,
+        String currency
+) {}
@@ -0,0 +1,11 @@
+package com.psd.springboot.repository.projection;
+
+/**
+ * The flags that decide whether a balance movement is allowed; read to explain
+ * why a conditional UPDATE touched no row.
+ */
+public record AccountStateView(
+        boolean active,
+        boolean locked,
+        boolean overdraftAllowed
+) {}
@@ -0,0 +1,22 @@
+package com.psd.springboot.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Constructor projection holding only the columns needed to build an AccountSummaryDto.
+ * Selected straight from the accounts table, so no entity, user or address is loaded.
+ */
+public record AccountSummaryView(
+        Long id,
+        String accountHolderName,
+        String accountNumber,
+        String accountType,
+        String bankName,
+        String currency,
+        LocalDate accountCreationDate,
+        long balance,
+        boolean active,
+        String branchCode,
+        String accountStatus,
+        long version
+) {}
@@ -0,0 +1,15 @@
+package com.psd.springboot.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Constructor projection of one ledger row for history listings.
+ * Read from the transactions table alone; the account's currency is looked up once per page.
+ */
+public record TransactionView(
+        Long id,
+        String type,
+        long amount,
+        LocalDateTime timestamp,
+        String remarks
+) {}
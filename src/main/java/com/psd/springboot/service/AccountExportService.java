@@ -0,0 +1,15 @@
+package com.psd.springboot.service;
+
+import com.psd.springboot.dto.AccountExportResultDto;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public interface AccountExportService {
+
+        // Writes every account to a new columnar export file (see AccountColumnarFormat)
+        AccountExportResultDto exportAccounts() throws IOException;
+
+        // The finished export file with that id
+        Path getExportFile(String exportId);
+}
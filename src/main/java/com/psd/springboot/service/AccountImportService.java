@@ -0,0 +1,13 @@
+package com.psd.springboot.service;
+
+import com.psd.springboot.dto.AccountImportResultDto;
+import com.psd.springboot.support.StatementWriter;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface AccountImportService {
+
+        // Creates an account per valid row of the upload; with jobId, continues that job after its last committed chunk
+        AccountImportResultDto importAccounts(InputStream in, StatementWriter.Format format, Long jobId) throws IOException;
+}
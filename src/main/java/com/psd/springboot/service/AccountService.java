@@ -4,11 +4,14 @@ import com.psd.springboot.dto.AccountCreateDto;
 import com.psd.springboot.dto.AccountDetailsDto;
 import com.psd.springboot.dto.AccountSummaryDto;
 import com.psd.springboot.dto.AccountUpdateDto;
+import com.psd.springboot.dto.CursorPage;
+import com.psd.springboot.dto.TransferResultDto;
 import com.psd.springboot.entity.Account;
-import jakarta.validation.constraints.Min;
-import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface AccountService {
@@ -19,15 +22,24 @@ public interface AccountService {
 
         AccountSummaryDto createAccount(AccountCreateDto accountCreateDto);
         AccountSummaryDto getAccountSummaryById(Long id);
-        AccountSummaryDto withdrawAndReturnSummary(Long id, @NotNull @Min(0) Double amount);
-        AccountSummaryDto depositAndReturnSummary(Long id, @NotNull @Min(0) Double amount);
-        List<AccountSummaryDto> getAllAccountSummaries();
+        AccountSummaryDto getAccountSummaryById(Long id, long minVersion);
+        long getAccountVersion(Long id);
+        AccountSummaryDto getAccountSummaryByAccountNumber(String accountNumber);
+        AccountSummaryDto getAccountSummaryByIban(String iban);
+        long parseAmount(Long accountId, String amount);
+        AccountSummaryDto withdrawAndReturnSummary(Long id, @Positive long amount, String remarks, String idempotencyKey);
+        AccountSummaryDto depositAndReturnSummary(Long id, @Positive long amount, String remarks, String idempotencyKey);
+        TransferResultDto transferAndReturnSummaries(Long fromId, Long toId, @Positive long amount, String remarks);
+        CursorPage<AccountSummaryDto> getAccountSummaryPage(Long after, int limit);
+        void streamAccountSummaries(OutputStream out) throws IOException;
         // ===========================
         // Admin/Internal Access Methods
         // ===========================
 
         AccountDetailsDto getAccountById(Long id);
-        List<AccountDetailsDto> getAllAccounts();
+        List<AccountDetailsDto> getAccountsByPanNumber(String panNumber);
+        CursorPage<AccountDetailsDto> getAccountPage(Long after, int limit);
+        void streamAccounts(OutputStream out) throws IOException;
         AccountDetailsDto updateAccount(Long id, AccountUpdateDto accountUpdateDto);
         boolean deleteAccount(Long id);
         void lockAccount(Long id);
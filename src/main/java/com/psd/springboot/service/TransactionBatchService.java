@@ -0,0 +1,12 @@
+package com.psd.springboot.service;
+
+import com.psd.springboot.dto.BatchTransactionItem;
+import com.psd.springboot.dto.BatchTransactionResult;
+
+import java.util.List;
+
+public interface TransactionBatchService {
+
+        // Applies every item that passes validation and the balance rules; one result per item, in request order
+        List<BatchTransactionResult> applyBatch(List<BatchTransactionItem> items);
+}
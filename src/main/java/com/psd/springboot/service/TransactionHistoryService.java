@@ -0,0 +1,24 @@
+package com.psd.springboot.service;
+
+import com.psd.springboot.dto.BalanceAsOfDto;
+import com.psd.springboot.dto.CursorPage;
+import com.psd.springboot.dto.TransactionDto;
+import com.psd.springboot.support.StatementWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+public interface TransactionHistoryService {
+
+        // One keyset page of an account's ledger entries, newest first; every filter is optional
+        CursorPage<TransactionDto> getHistory(Long accountId, LocalDateTime from, LocalDateTime to,
+                                              String type, Long after, int limit);
+
+        // Balance just before asOf, replayed from the nearest daily snapshot
+        BalanceAsOfDto getBalanceAsOf(Long accountId, LocalDateTime asOf);
+
+        // Streams the entries in [from, to) oldest first with the running balance after each one
+        void exportStatement(Long accountId, LocalDateTime from, LocalDateTime to, StatementWriter.Format format,
+                             boolean gzip, OutputStream out) throws IOException;
+}
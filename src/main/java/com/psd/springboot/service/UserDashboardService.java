@@ -0,0 +1,9 @@
+package com.psd.springboot.service;
+
+import com.psd.springboot.dto.UserOverviewDto;
+
+public interface UserDashboardService {
+
+        // Accounts, per-currency totals and the latest recentLimit entries across all of the user's accounts
+        UserOverviewDto getOverview(Long userId, int recentLimit);
+}
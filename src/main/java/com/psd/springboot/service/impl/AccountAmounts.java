@@ -0,0 +1,85 @@
+package com.psd.springboot.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.psd.springboot.exception.AccountNotFoundException;
+import com.psd.springboot.exception.InvalidAmountException;
+import com.psd.springboot.repository.AccountRepository;
+import com.psd.springboot.repository.projection.AccountCurrencyView;
+import com.psd.springboot.support.Money;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns the decimal amount strings of the API ("10.50") into minor units of the account's
+ * currency, the inbound counterpart of MinorUnitsSerializer.
+ *
+ * The scale comes from the account's currency, which is fixed at creation, and ids are never
+ * reused, so the scale is cached per account id without invalidation; a cached entry of a
+ * deleted account only means the movement is rejected by its UPDATE instead of here.
+ * Unknown ids are not cached.
+ *
+ * An amount must be a plain positive decimal with at most the currency's fraction digits
+ * (InvalidAmountException, 400 INVALID_AMOUNT) and at most Money.MAX_AMOUNT minor units
+ * (AmountOutOfRangeException, 400 AMOUNT_OUT_OF_RANGE).
+ */
+@Component
+public class AccountAmounts {
+
+    private final AccountRepository accountRepository;
+    private final Cache<Long, Integer> scales;
+
+    public AccountAmounts(AccountRepository accountRepository,
+                          @Value("${banking.cache.account-scales.max-size:1000000}") long maxSize) {
+        this.accountRepository = accountRepository;
+        this.scales = Caffeine.newBuilder().maximumSize(maxSize).build();
+    }
+
+    // Minor units of amount in the currency of the account; AccountNotFoundException if the id is unknown
+    public long parse(Long accountId, String amount) {
+        return parse(amount, scaleOf(accountId));
+    }
+
+    public int scaleOf(Long accountId) {
+        Integer scale = scales.get(accountId, id -> accountRepository.findSegmentById(id)
+                .map(view -> Money.scaleOf(view.currency()))
+                .orElse(null));
+        if (scale == null) {
+            throw new AccountNotFoundException("Account not found with id: " + accountId);
+        }
+        return scale;
+    }
+
+    // Scales of many accounts, with one query for those not cached yet; unknown ids are left out
+    public Map<Long, Integer> scalesOf(Collection<Long> accountIds) {
+        return scales.getAll(accountIds, missing -> {
+            Map<Long, Integer> loaded = new HashMap<>();
+            for (AccountCurrencyView view : accountRepository.findCurrenciesByIdIn(List.copyOf(missing))) {
+                loaded.put(view.id(), Money.scaleOf(view.currency()));
+            }
+            return loaded;
+        });
+    }
+
+    // Minor units of a positive decimal amount at the given scale
+    public static long parse(String amount, int scale) {
+        if (amount == null) {
+            throw new InvalidAmountException("Amount is required");
+        }
+        long minorUnits;
+        try {
+            minorUnits = Money.parse(amount, scale);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidAmountException(e.getMessage());
+        }
+        if (minorUnits <= 0) {
+            throw new InvalidAmountException("Amount must be positive");
+        }
+        return Money.checkAmount(minorUnits);
+    }
+}
@@ -0,0 +1,180 @@
+package com.psd.springboot.service.impl;
+
+import com.psd.springboot.dto.AccountExportResultDto;
+import com.psd.springboot.exception.ResourceNotFoundException;
+import com.psd.springboot.repository.AccountStreamingRepository;
+import com.psd.springboot.service.AccountExportService;
+import com.psd.springboot.support.AccountColumnarWriter;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Full dumps of the accounts table as columnar binary files, for the data team's nightly pulls.
+ *
+ * The id range [min, max] is cut into equal sub-ranges, one per partition. Each partition runs
+ * on its own thread and streams its range through a forward-only cursor
+ * (AccountStreamingRepository, one primary-key range scan). Rows are encoded by its
+ * AccountColumnarWriter.Partition, so heap use is a row group per partition, however large the
+ * table. The file is written as "<id>.part" and renamed once complete, so a listed export is
+ * never partial. Read it with AccountColumnarReader.
+ */
+@Service
+@Timed(MetricsReporter.SERVICE_TIMER)   // latency per public method, see MetricsReporter
+public class AccountExportServiceImpl implements AccountExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountExportServiceImpl.class);
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final AccountStreamingRepository accountStreamingRepository;
+    private final Path directory;
+    private final int partitions;
+    private final int rowGroupSize;
+
+    public AccountExportServiceImpl(AccountStreamingRepository accountStreamingRepository,
+                                    @Value("${banking.export.directory:exports}") String directory,
+                                    @Value("${banking.export.partitions:0}") int partitions,
+                                    @Value("${banking.export.row-group-size:65536}") int rowGroupSize) {
+        this.accountStreamingRepository = accountStreamingRepository;
+        this.directory = Path.of(directory).toAbsolutePath().normalize();
+        this.partitions = partitions > 0 ? partitions : Runtime.getRuntime().availableProcessors();
+        this.rowGroupSize = Math.max(1, rowGroupSize);
+    }
+
+    /**
+     * Exports every account to a new file in banking.export.directory and describes it.
+     * Accounts written while the export runs may or may not be included (each partition
+     * sees its range as of when its own query started).
+     */
+    @Override
+    public AccountExportResultDto exportAccounts() throws IOException {
+        long start = System.nanoTime();
+        Files.createDirectories(directory);
+        String exportId = "accounts-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".acol";
+        Path target = directory.resolve(exportId);
+        Path partial = directory.resolve(exportId + ".part");
+
+        long[] ids = accountStreamingRepository.idRange();
+        List<long[]> ranges = ids == null ? List.of() : split(ids[0], ids[1], partitions);
+        long rows;
+        int rowGroups;
+        try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            AccountColumnarWriter writer = new AccountColumnarWriter(channel);
+            writePartitions(writer, ranges);
+            writer.close();
+            rows = writer.rowCount();
+            rowGroups = writer.rowGroupCount();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        logger.info("Exported {} accounts to {} ({} row groups, {} partitions) in {} ms",
+                rows, target, rowGroups, ranges.size(), durationMs);
+        return new AccountExportResultDto(exportId, rows, rowGroups, ranges.size(), Files.size(target), durationMs);
+    }
+
+    /**
+     * Returns the path of a finished export.
+     * Throws ResourceNotFoundException if there is no such export in the export directory.
+     */
+    @Override
+    public Path getExportFile(String exportId) {
+        Path file = directory.resolve(exportId).normalize();
+        if (!directory.equals(file.getParent()) || !exportId.endsWith(".acol") || !Files.isRegularFile(file)) {
+            throw new ResourceNotFoundException("Export not found: " + exportId);
+        }
+        return file;
+    }
+
+    // Optional scheduled dump (banking.export.cron, off by default)
+    @Scheduled(cron = "${banking.export.cron:-}")
+    public void scheduledExport() {
+        try {
+            exportAccounts();
+        } catch (IOException | RuntimeException e) {
+            logger.error("Scheduled account export failed", e);
+        }
+    }
+
+    // [min, max] cut into at most count half-open ranges of equal width
+    static List<long[]> split(long min, long max, int count) {
+        long width = Math.max(1, (max - min + count) / count);
+        List<long[]> ranges = new ArrayList<>(count);
+        for (long from = min; from <= max; from += width) {
+            ranges.add(new long[]{from, Math.min(from + width, max + 1)});
+        }
+        return ranges;
+    }
+
+    private void writePartitions(AccountColumnarWriter writer, List<long[]> ranges) throws IOException {
+        if (ranges.isEmpty()) {
+            return;
+        }
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(ranges.size(), task -> {
+            Thread thread = new Thread(task, "account-export-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>(ranges.size());
+            for (long[] range : ranges) {
+                futures.add(executor.submit(() -> {
+                    writeRange(writer, range[0], range[1]);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof UncheckedIOException unchecked ? unchecked.getCause() : e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            throw cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Account export interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void writeRange(AccountColumnarWriter writer, long fromId, long toId) throws IOException {
+        try (AccountColumnarWriter.Partition partition = writer.partition(rowGroupSize)) {
+            accountStreamingRepository.forEachDetailsInRange(fromId, toId, account -> {
+                try {
+                    partition.write(account);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.psd.springboot.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.psd.springboot.dto.CacheStatsDto;
+import com.psd.springboot.exception.AccountNotFoundException;
+import com.psd.springboot.repository.AccountRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process map from external account identifiers (account number, IBAN) to the
+ * surrogate id, so a lookup by identifier normally costs one hash probe and then takes the
+ * same id-keyed path as every other read (including AccountSummaryCache).
+ *
+ * Both identifiers are assigned at creation and never updated, so an entry can only go stale
+ * when its account is deleted. Local deletes evict after commit; a delete made by another node
+ * shows up as AccountNotFoundException on the cached id, which evicts the entry and resolves
+ * the identifier again through its index. Unknown identifiers are not cached, so an
+ * account created on any node is found on its first lookup.
+ */
+@Component
+public class AccountIdResolver {
+
+    public enum Identifier { ACCOUNT_NUMBER, IBAN }
+
+    private final AccountRepository accountRepository;
+    private final Cache<String, Long> byAccountNumber;
+    private final Cache<String, Long> byIban;
+    private final LongAdder invalidations = new LongAdder();
+
+    public AccountIdResolver(AccountRepository accountRepository,
+                             @Value("${banking.cache.account-ids.max-size:1000000}") long maxSize) {
+        this.accountRepository = accountRepository;
+        this.byAccountNumber = Caffeine.newBuilder().maximumSize(maxSize).recordStats().build();
+        this.byIban = Caffeine.newBuilder().maximumSize(maxSize).recordStats().build();
+    }
+
+    /**
+     * Resolves the identifier to an account id and hands it to load.
+     * Throws AccountNotFoundException if no account carries the identifier.
+     */
+    public <T> T resolve(Identifier identifier, String value, Function<Long, T> load) {
+        String key = value.trim();
+        Cache<String, Long> ids = cacheFor(identifier);
+
+        Function<String, Long> lookup = k -> lookupId(identifier, k).orElse(null);
+        Long id = ids.get(key, lookup);
+        if (id != null) {
+            try {
+                return load.apply(id);
+            } catch (AccountNotFoundException deleted) {
+                // Account removed since the entry was cached (possibly by another node): resolve again
+                ids.invalidate(key);
+                invalidations.increment();
+                id = ids.get(key, lookup);
+            }
+        }
+        if (id == null) {
+            throw new AccountNotFoundException("Account not found with " + describe(identifier) + ": " + key);
+        }
+        return load.apply(id);
+    }
+
+    // Evicts a deleted account's identifiers once the surrounding transaction commits
+    public void invalidateAfterCommit(String accountNumber, String iban) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(accountNumber, iban);
+                }
+            });
+        } else {
+            invalidate(accountNumber, iban);
+        }
+    }
+
+    private void invalidate(String accountNumber, String iban) {
+        if (accountNumber != null) {
+            byAccountNumber.invalidate(accountNumber.trim());
+            invalidations.increment();
+        }
+        if (iban != null) {
+            byIban.invalidate(iban.trim());
+            invalidations.increment();
+        }
+    }
+
+    private Optional<Long> lookupId(Identifier identifier, String key) {
+        return identifier == Identifier.IBAN
+                ? accountRepository.findIdByIban(key)
+                : accountRepository.findIdByAccountNumber(key);
+    }
+
+    private Cache<String, Long> cacheFor(Identifier identifier) {
+        return identifier == Identifier.IBAN ? byIban : byAccountNumber;
+    }
+
+    private static String describe(Identifier identifier) {
+        return identifier == Identifier.IBAN ? "IBAN" : "account number";
+    }
+
+    public CacheStatsDto stats() {
+        CacheStats stats = byAccountNumber.stats().plus(byIban.stats());
+        return new CacheStatsDto(
+                "account-ids",
+                byAccountNumber.estimatedSize() + byIban.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                invalidations.sum()
+        );
+    }
+}
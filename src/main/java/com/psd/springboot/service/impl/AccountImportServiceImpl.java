@@ -0,0 +1,326 @@
+package com.psd.springboot.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.psd.springboot.dto.AccountCreateDto;
+import com.psd.springboot.dto.AccountImportRejection;
+import com.psd.springboot.dto.AccountImportResultDto;
+import com.psd.springboot.entity.Account;
+import com.psd.springboot.entity.AccountImportJob;
+import com.psd.springboot.exception.AmountOutOfRangeException;
+import com.psd.springboot.exception.InvalidImportFileException;
+import com.psd.springboot.exception.ResourceNotFoundException;
+import com.psd.springboot.mapper.AccountMapper;
+import com.psd.springboot.repository.AccountImportJobRepository;
+import com.psd.springboot.repository.AccountRepository;
+import com.psd.springboot.service.AccountImportService;
+import com.psd.springboot.support.AccountImportReader;
+import com.psd.springboot.support.Money;
+import com.psd.springboot.support.StatementWriter;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bulk account onboarding from a streamed CSV or NDJSON upload.
+ *
+ * The file is read one row at a time (AccountImportReader), so memory use depends on the
+ * chunk size, not on the file. Rows are checked with the Bean Validation constraints of
+ * AccountCreateDto, their opening balance is read at the scale of their currency, and they
+ * are collected into chunks. Each chunk is one DB transaction:
+ * - one IN query finds the account numbers that are already taken;
+ * - the remaining accounts go through saveAll. Account ids come from a pooled sequence, so
+ *   Hibernate can send the inserts as JDBC batches (hibernate.jdbc.batch_size);
+ * - the opening balance is recorded as a DEPOSIT in the TransactionLedger;
+ * - the job's counters are advanced.
+ *
+ * Bad rows are rejected and reported, and the job carries on. Because the counters commit
+ * with the chunk, a failed job can be resumed by uploading the same file with its jobId. The
+ * rows already processed are skipped without parsing. If a chunk still hits a constraint in
+ * the database (a concurrent insert of the same account number, say), that chunk is retried
+ * one row per transaction to isolate the offending rows; each of those transactions advances
+ * the counters past its own row, so resuming after a failure mid-chunk skips exactly the rows
+ * that committed.
+ */
+@Service
+@Timed(MetricsReporter.SERVICE_TIMER)   // latency per public method, see MetricsReporter
+public class AccountImportServiceImpl implements AccountImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountImportServiceImpl.class);
+
+    private static final String OPENING_BALANCE_REMARKS = "Opening balance (import)";
+
+    private final AccountRepository accountRepository;
+    private final AccountImportJobRepository accountImportJobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionLedger transactionLedger;
+    private final DashboardAggregates dashboardAggregates;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxReportedRejections;
+
+    public AccountImportServiceImpl(AccountRepository accountRepository,
+                                    AccountImportJobRepository accountImportJobRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    TransactionLedger transactionLedger,
+                                    DashboardAggregates dashboardAggregates,
+                                    Validator validator,
+                                    ObjectMapper objectMapper,
+                                    @Value("${banking.import.chunk-size:1000}") int chunkSize,
+                                    @Value("${banking.import.max-reported-rejections:1000}") int maxReportedRejections) {
+        this.accountRepository = accountRepository;
+        this.accountImportJobRepository = accountImportJobRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.transactionLedger = transactionLedger;
+        this.dashboardAggregates = dashboardAggregates;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxReportedRejections = Math.max(0, maxReportedRejections);
+    }
+
+    /**
+     * Imports every row of the upload, or the rows after the last committed chunk of job jobId.
+     * Throws InvalidImportFileException for an unusable CSV header, or when the file is shorter
+     * than what the job already processed (not the same file).
+     * Throws ResourceNotFoundException if jobId does not exist.
+     */
+    @Override
+    public AccountImportResultDto importAccounts(InputStream in, StatementWriter.Format format, Long jobId) throws IOException {
+        // Header problems fail the request before a job is created
+        AccountImportReader reader = AccountImportReader.open(format, in, objectMapper);
+        AccountImportJob job = jobId == null ? newJob(format) : resumableJob(jobId);
+        long resumedFrom = job.getProcessedRows();
+        Rejections rejections = new Rejections(maxReportedRejections);
+
+        if (!"COMPLETED".equals(job.getStatus())) {
+            try {
+                if (reader.skip(resumedFrom) < resumedFrom) {
+                    throw new InvalidImportFileException("File has fewer rows than import job " + job.getId()
+                            + " already processed (" + resumedFrom + ")");
+                }
+                List<AccountImportReader.Row> chunk = new ArrayList<>(chunkSize);
+                for (AccountImportReader.Row row = reader.next(); row != null; row = reader.next()) {
+                    chunk.add(row);
+                    if (chunk.size() == chunkSize) {
+                        importChunk(job.getId(), chunk, rejections);
+                        chunk.clear();
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    importChunk(job.getId(), chunk, rejections);
+                }
+                accountImportJobRepository.updateStatus(job.getId(), "COMPLETED", LocalDateTime.now());
+            } catch (IOException | RuntimeException e) {
+                markFailed(job.getId(), e);
+                throw e;
+            }
+        }
+
+        AccountImportJob done = accountImportJobRepository.findById(job.getId()).orElseThrow();
+        return new AccountImportResultDto(
+                done.getId(),
+                done.getStatus(),
+                resumedFrom,
+                done.getProcessedRows(),
+                done.getImportedRows(),
+                done.getRejectedRows(),
+                rejections.listed,
+                rejections.total > rejections.listed.size()
+        );
+    }
+
+    private AccountImportJob newJob(StatementWriter.Format format) {
+        LocalDateTime now = LocalDateTime.now();
+        return accountImportJobRepository.save(AccountImportJob.builder()
+                .format(format.name())
+                .status("RUNNING")
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+    }
+
+    private AccountImportJob resumableJob(Long jobId) {
+        AccountImportJob job = accountImportJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Import job not found with id: " + jobId));
+        if (!"COMPLETED".equals(job.getStatus())) {
+            accountImportJobRepository.updateStatus(jobId, "RUNNING", LocalDateTime.now());
+        }
+        return job;
+    }
+
+    private void markFailed(Long jobId, Exception cause) {
+        logger.warn("Account import job {} failed: {}", jobId, cause.getMessage());
+        try {
+            accountImportJobRepository.updateStatus(jobId, "FAILED", LocalDateTime.now());
+        } catch (RuntimeException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    private void importChunk(Long jobId, List<AccountImportReader.Row> rows, Rejections rejections) {
+        // Parse and validation failures are final whatever happens to the rest of the chunk
+        List<AccountImportRejection> invalid = new ArrayList<>();
+        List<AccountImportReader.Row> candidates = new ArrayList<>(rows.size());
+        for (AccountImportReader.Row row : rows) {
+            if (row.error() != null) {
+                invalid.add(new AccountImportRejection(row.number(), row.accountNumber(), "MALFORMED_ROW", row.error()));
+                continue;
+            }
+            Set<ConstraintViolation<AccountCreateDto>> violations = validator.validate(row.account());
+            if (!violations.isEmpty()) {
+                ConstraintViolation<AccountCreateDto> violation = violations.iterator().next();
+                invalid.add(new AccountImportRejection(row.number(), row.accountNumber(), "VALIDATION_ERROR",
+                        violation.getPropertyPath() + ": " + violation.getMessage()));
+                continue;
+            }
+            try {
+                openingBalance(row.account());
+                candidates.add(row);
+            } catch (IllegalArgumentException | AmountOutOfRangeException e) {
+                invalid.add(new AccountImportRejection(row.number(), row.accountNumber(), "INVALID_AMOUNT",
+                        "balance: " + e.getMessage()));
+            }
+        }
+
+        List<AccountImportRejection> duplicates = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                int imported = insert(candidates, duplicates);
+                accountImportJobRepository.advance(jobId, rows.size(), imported, invalid.size() + duplicates.size(),
+                        LocalDateTime.now());
+            });
+        } catch (DataIntegrityViolationException e) {
+            logger.info("Account import job {}: chunk rejected by the database, retrying row by row", jobId);
+            duplicates.clear();
+            importRowByRow(jobId, rows, invalid, duplicates);
+        }
+        List<AccountImportRejection> rejected = new ArrayList<>(invalid);
+        rejected.addAll(duplicates);
+        rejected.sort(Comparator.comparingLong(AccountImportRejection::row));
+        rejections.addAll(rejected);
+    }
+
+    // Inserts the rows whose account number is free; returns how many accounts were created
+    private int insert(List<AccountImportReader.Row> rows, List<AccountImportRejection> duplicates) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        Set<String> taken = new HashSet<>(accountRepository.findExistingAccountNumbers(
+                rows.stream().map(AccountImportReader.Row::accountNumber).toList()));
+        List<Account> accounts = new ArrayList<>(rows.size());
+        for (AccountImportReader.Row row : rows) {
+            // add() also catches the same number appearing twice within the chunk
+            if (!taken.add(row.accountNumber())) {
+                duplicates.add(new AccountImportRejection(row.number(), row.accountNumber(), "DUPLICATE_ACCOUNT",
+                        "Account number already exists: " + row.accountNumber()));
+            } else {
+                accounts.add(toAccount(row.account()));
+            }
+        }
+        accountRepository.saveAll(accounts);
+        for (Account account : accounts) {
+            if (account.getBalance() > 0) {
+                transactionLedger.record(account.getId(), "DEPOSIT", account.getBalance(), OPENING_BALANCE_REMARKS);
+            }
+            dashboardAggregates.accountCreated(account);
+        }
+        return accounts.size();
+    }
+
+    // Slow path: one transaction per row, each advancing the job past that row and the invalid rows before it,
+    // so a resumed job never re-imports a row that already committed
+    private void importRowByRow(Long jobId, List<AccountImportReader.Row> rows,
+                                List<AccountImportRejection> invalid, List<AccountImportRejection> rejected) {
+        Set<Long> invalidRows = new HashSet<>();
+        for (AccountImportRejection rejection : invalid) {
+            invalidRows.add(rejection.row());
+        }
+        long advancedTo = rows.get(0).number() - 1;
+        int skipped = 0;
+        for (AccountImportReader.Row row : rows) {
+            if (invalidRows.contains(row.number())) {
+                skipped++;
+                continue;
+            }
+            long processed = row.number() - advancedTo;
+            int invalidBefore = skipped;
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    List<AccountImportRejection> duplicate = new ArrayList<>(1);
+                    int imported = insert(List.of(row), duplicate);
+                    accountImportJobRepository.advance(jobId, processed, imported, invalidBefore + duplicate.size(),
+                            LocalDateTime.now());
+                    rejected.addAll(duplicate);
+                });
+            } catch (DataIntegrityViolationException e) {
+                rejected.add(new AccountImportRejection(row.number(), row.accountNumber(), "DATA_INTEGRITY_VIOLATION",
+                        e.getMostSpecificCause().getMessage()));
+                transactionTemplate.executeWithoutResult(status -> accountImportJobRepository.advance(
+                        jobId, processed, 0, invalidBefore + 1, LocalDateTime.now()));
+            }
+            advancedTo = row.number();
+            skipped = 0;
+        }
+        // Invalid rows after the last candidate
+        long trailing = rows.get(rows.size() - 1).number() - advancedTo;
+        if (trailing > 0) {
+            int invalidAfter = skipped;
+            transactionTemplate.executeWithoutResult(status -> accountImportJobRepository.advance(
+                    jobId, trailing, 0, invalidAfter, LocalDateTime.now()));
+        }
+    }
+
+    // Same defaults as AccountServiceImpl.createAccount, with the opening balance from the row
+    private static Account toAccount(AccountCreateDto dto) {
+        Account account = AccountMapper.mapToAccount(dto);
+        account.setActive(true);
+        account.setLocked(false);
+        account.setAccountCreationDate(LocalDate.now());
+        account.setFailedLoginAttempts(0);
+        account.setBalance(openingBalance(dto));
+        return account;
+    }
+
+    // Opening balance in minor units of the row's currency; an absent balance is zero
+    private static long openingBalance(AccountCreateDto dto) {
+        return dto.balance() == null ? 0 : Money.checkAmount(Money.parse(dto.balance(), Money.scaleOf(dto.currency())));
+    }
+
+    // Every rejection is counted; only the first max are kept for the response
+    private static final class Rejections {
+
+        private final int max;
+        private final List<AccountImportRejection> listed = new ArrayList<>();
+        private long total;
+
+        Rejections(int max) {
+            this.max = max;
+        }
+
+        void addAll(List<AccountImportRejection> rejections) {
+            for (AccountImportRejection rejection : rejections) {
+                if (listed.size() < max) {
+                    listed.add(rejection);
+                }
+                total++;
+            }
+        }
+    }
+}
@@ -1,34 +1,78 @@
 package com.psd.springboot.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.psd.springboot.dto.AccountCreateDto;
 import com.psd.springboot.dto.AccountDetailsDto;
 import com.psd.springboot.dto.AccountSummaryDto;
 import com.psd.springboot.dto.AccountUpdateDto;
+import com.psd.springboot.dto.CursorPage;
+import com.psd.springboot.dto.TransferResultDto;
 import com.psd.springboot.entity.Account;
+import com.psd.springboot.exception.AccountHasHistoryException;
 import com.psd.springboot.exception.AccountLockedException;
 import com.psd.springboot.exception.AccountNotFoundException;
 import com.psd.springboot.exception.AccountUnlockedException;
+import com.psd.springboot.exception.AmountOutOfRangeException;
+import com.psd.springboot.exception.CurrencyMismatchException;
+import com.psd.springboot.exception.InsufficientBalanceException;
+import com.psd.springboot.exception.OverdraftLimitExceededException;
 import com.psd.springboot.mapper.AccountMapper;
 import com.psd.springboot.repository.AccountRepository;
+import com.psd.springboot.repository.AccountStreamingRepository;
+import com.psd.springboot.repository.projection.AccountStateView;
 
 import com.psd.springboot.service.AccountService;
+import com.psd.springboot.support.JsonStreams;
+import com.psd.springboot.support.Money;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.function.Supplier;
 
 @RequiredArgsConstructor
 @Service
+@Timed(MetricsReporter.SERVICE_TIMER)   // latency per public method, see MetricsReporter
 public class AccountServiceImpl implements AccountService {
 
     // Inject repository for DB operations - marked final and injected by Lombok's @RequiredArgsConstructor
-    private AccountRepository accountRepository;
+    private final AccountRepository accountRepository;
 
     // Inject mapper to convert between entity and DTO objects
-    private AccountMapper accountMapper;
+    private final AccountMapper accountMapper;
+
+    // Serializes and retries every read-modify-write of an account row
+    private final BalanceMutationEngine balanceMutationEngine;
+
+    // Append-only history of every balance change
+    private final TransactionLedger transactionLedger;
+
+    // Read-through cache of summaries; every mutation below evicts the account after commit
+    private final AccountSummaryCache accountSummaryCache;
+
+    // External identifier (account number / IBAN) -> id, so identifier lookups reuse the id-keyed paths
+    private final AccountIdResolver accountIdResolver;
+
+    // Counters behind the admin dashboard; every committed change below is reported to it
+    private final DashboardAggregates dashboardAggregates;
+
+    // Answers retried deposits/withdrawals (same Idempotency-Key) without moving money twice
+    private final IdempotencyGuard idempotencyGuard;
+
+    // Forward-only cursor reads and JSON writer for the streamed listings
+    private final AccountStreamingRepository accountStreamingRepository;
+    private final ObjectMapper objectMapper;
+
+    // Reads the API's decimal amount strings at the scale of the account's currency
+    private final AccountAmounts accountAmounts;
 
     /**
      * Creates and saves a new Account with default values,
@@ -47,98 +91,266 @@ public class AccountServiceImpl implements AccountService {
         account.setAccountCreationDate(LocalDate.now());
         account.setAccountStatus("ACTIVE");
         account.setFailedLoginAttempts(0);
-        account.setBalance(0.0);
+        account.setBalance(0L);
         account.setLastTransactionDate(null);
         account.setLastLoginDate(null);
 
         // Save new account in DB
         Account savedAccount = accountRepository.save(account);
+        dashboardAggregates.accountCreated(savedAccount);
 
         // Convert saved entity to summary DTO and return
         return accountMapper.toAccountSummaryDto(savedAccount);
     }
 
     /**
-     * Fetches Account by ID and returns a summary DTO.
+     * Returns the summary DTO of an account, served from the summary cache when possible.
      * Throws AccountNotFoundException if the account does not exist.
      */
     @Override
     public AccountSummaryDto getAccountSummaryById(Long id) {
-        Account account = accountRepository.findById(id)
+        return accountSummaryCache.get(id, this::summaryOf);
+    }
+
+    /**
+     * Same as getAccountSummaryById, but never older than minVersion: a cached summary from
+     * before a write made on another node is dropped and read again.
+     * Used after a conditional GET found the client's ETag out of date.
+     */
+    @Override
+    public AccountSummaryDto getAccountSummaryById(Long id, long minVersion) {
+        AccountSummaryDto summary = getAccountSummaryById(id);
+        if (summary.version() >= minVersion) {
+            return summary;
+        }
+        accountSummaryCache.invalidateAfterCommit(id);
+        return getAccountSummaryById(id);
+    }
+
+    /**
+     * Returns the current row version of the account, which every write bumps.
+     * One indexed single-column read; answers If-None-Match without building the summary.
+     * Throws AccountNotFoundException if the account does not exist.
+     */
+    @Override
+    public long getAccountVersion(Long id) {
+        return accountRepository.findVersionById(id)
                 .orElseThrow(() -> new AccountNotFoundException("Account not found with id: " + id));
-        return accountMapper.toAccountSummaryDto(account);
     }
 
     /**
-     * Withdraws an amount from account balance if sufficient funds are available.
-     * Updates last transaction date.
-     * Throws exceptions if account not found, amount invalid, or insufficient balance.
+     * Returns the summary DTO of the account with the given account number.
+     * The number is resolved to an id in memory when possible, then served like getAccountSummaryById.
+     * Throws AccountNotFoundException if no account has that number.
      */
     @Override
-    public AccountSummaryDto withdrawAndReturnSummary(Long id, Double amount) {
-        Account account = accountRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Account not found with id"));
+    public AccountSummaryDto getAccountSummaryByAccountNumber(String accountNumber) {
+        return accountIdResolver.resolve(AccountIdResolver.Identifier.ACCOUNT_NUMBER, accountNumber, this::getAccountSummaryById);
+    }
 
+    /**
+     * Returns the summary DTO of the account with the given IBAN (same resolution as by account number).
+     * Throws AccountNotFoundException if no account has that IBAN.
+     */
+    @Override
+    public AccountSummaryDto getAccountSummaryByIban(String iban) {
+        return accountIdResolver.resolve(AccountIdResolver.Identifier.IBAN, iban, this::getAccountSummaryById);
+    }
+
+    /**
+     * Converts a decimal amount string from the API (e.g. "10.50") into minor units of the
+     * account's currency. Throws AccountNotFoundException for an unknown account,
+     * InvalidAmountException for a malformed, non-positive or too precise amount and
+     * AmountOutOfRangeException for one above Money.MAX_AMOUNT.
+     */
+    @Override
+    public long parseAmount(Long accountId, String amount) {
+        return accountAmounts.parse(accountId, amount);
+    }
+
+    /**
+     * Withdraws an amount (in minor units of the account currency) from account balance
+     * if sufficient funds are available.
+     * Overdraft-enabled accounts may go negative down to their overdraft limit.
+     * The balance check and the debit are one conditional UPDATE; when it touches no row
+     * the account is re-read to report why.
+     * With an idempotency key, a retry of a completed withdrawal returns the original summary.
+     * Throws exceptions if account not found, inactive/locked, amount invalid, or insufficient balance.
+     */
+    @Override
+    public AccountSummaryDto withdrawAndReturnSummary(Long id, long amount, String remarks, String idempotencyKey) {
         if(amount <= 0){
             throw new IllegalArgumentException("Withdrawal amount must be greater than zero.");
         }
+        Money.checkAmount(amount);
+
+        return idempotently(idempotencyKey, id, "WITHDRAWAL", amount, () -> balanceMutationEngine.execute(id, () -> {
+            int updated = accountRepository.applyWithdrawal(id, amount, LocalDate.now().atStartOfDay());
+            if(updated == 0){
+                throw rejectedMovement(id, false);
+            }
+            transactionLedger.record(id, "WITHDRAWAL", amount, remarks);
+            accountSummaryCache.invalidateAfterCommit(id);
+            dashboardAggregates.movement(id, "WITHDRAWAL", amount);
+            // Return updated account summary DTO
+            return recordIdempotencyKey(idempotencyKey, id, "WITHDRAWAL", amount, summaryOf(id));
+        }));
+    }
 
-        if(account.getBalance() < amount){
-            throw new RuntimeException("Insufficient balance");
+    /**
+     * Deposits an amount (in minor units) to the account balance if account is active and unlocked.
+     * Both movements record a ledger entry carrying the optional remarks.
+     * Throws exceptions for invalid amount or if account is inactive/locked, and
+     * AmountOutOfRangeException if the balance would pass Money.MAX_BALANCE.
+     */
+    @Override
+    public AccountSummaryDto depositAndReturnSummary(Long id, long amount, String remarks, String idempotencyKey) {
+        if(amount <= 0){
+            throw new IllegalArgumentException("Deposit amount must be greater than zero.");
         }
-
-        // Deduct amount from balance
-        account.setBalance(account.getBalance() - amount);
-        // Update last transaction date to start of current day
-        account.setLastTransactionDate(LocalDate.now().atStartOfDay());
-
-        // Save updated account state
-        accountRepository.save(account);
-
-        // Return updated account summary DTO
-        return accountMapper.toAccountSummaryDto(account);
+        Money.checkAmount(amount);
+
+        return idempotently(idempotencyKey, id, "DEPOSIT", amount, () -> balanceMutationEngine.execute(id, () -> {
+            int updated = accountRepository.applyDeposit(id, amount, LocalDate.now().atStartOfDay());
+            if(updated == 0){
+                throw rejectedMovement(id, true);
+            }
+            transactionLedger.record(id, "DEPOSIT", amount, remarks);
+            accountSummaryCache.invalidateAfterCommit(id);
+            dashboardAggregates.movement(id, "DEPOSIT", amount);
+            // Return updated account summary DTO
+            return recordIdempotencyKey(idempotencyKey, id, "DEPOSIT", amount, summaryOf(id));
+        }));
     }
 
     /**
-     * Deposits an amount to the account balance if account is active and unlocked.
-     * Throws exceptions for invalid amount or if account is inactive/locked.
+     * Moves an amount (in minor units) from one account to another in a single DB transaction.
+     * The debit and the credit are the same conditional UPDATEs as withdraw/deposit, issued in
+     * ascending account id order: together with the ordered stripe locks this means concurrent
+     * transfers (including opposite directions between the same two accounts) always lock rows
+     * in the same order and can never deadlock. If either leg is rejected the whole transfer
+     * rolls back. Both accounts must have the same currency.
+     * Returns the summaries of both accounts after the transfer.
      */
     @Override
-    public AccountSummaryDto depositAndReturnSummary(Long id, Double amount) {
-        Account account = accountRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Account not found with id: " + id));
-
-        if(!account.isActive() || account.isLocked()){
-            throw new RuntimeException("Account is either inactive or locked");
+    public TransferResultDto transferAndReturnSummaries(Long fromId, Long toId, long amount, String remarks) {
+        if(amount <= 0){
+            throw new IllegalArgumentException("Transfer amount must be greater than zero.");
+        }
+        if(fromId.equals(toId)){
+            throw new IllegalArgumentException("Source and destination accounts must differ.");
         }
+        Money.checkAmount(amount);
+
+        return balanceMutationEngine.executeForAccounts(List.of(fromId, toId), () -> {
+            // Currency is fixed at account creation, so checking it up front is enough
+            List<String> currencies = accountRepository.findCurrencies(List.of(fromId, toId));
+            if(currencies.size() < 2){
+                Long missing = accountRepository.existsById(fromId) ? toId : fromId;
+                throw new AccountNotFoundException("Account not found with id: " + missing);
+            }
+            if(!Objects.equals(currencies.get(0), currencies.get(1))){
+                throw new CurrencyMismatchException("Accounts " + fromId + " and " + toId + " hold different currencies");
+            }
+
+            LocalDateTime timestamp = LocalDate.now().atStartOfDay();
+            for(Long id : fromId < toId ? List.of(fromId, toId) : List.of(toId, fromId)){
+                boolean credit = id.equals(toId);
+                int updated = credit
+                        ? accountRepository.applyDeposit(id, amount, timestamp)
+                        : accountRepository.applyWithdrawal(id, amount, timestamp);
+                if(updated == 0){
+                    throw rejectedMovement(id, credit);
+                }
+            }
+            transactionLedger.record(fromId, "TRANSFER_OUT", amount, remarks);
+            transactionLedger.record(toId, "TRANSFER_IN", amount, remarks);
+            accountSummaryCache.invalidateAfterCommit(List.of(fromId, toId));
+            dashboardAggregates.movement(fromId, "TRANSFER_OUT", amount);
+            dashboardAggregates.movement(toId, "TRANSFER_IN", amount);
+            return new TransferResultDto(summaryOf(fromId), summaryOf(toId));
+        });
+    }
 
-        if(amount == null || amount <= 0){
-            throw new IllegalArgumentException("Deposit amount must be greater than zero.");
+    // Replays the stored response for a known key; otherwise runs the movement once
+    private AccountSummaryDto idempotently(String idempotencyKey, Long id, String operation, long amount,
+                                           Supplier<AccountSummaryDto> movement) {
+        if(idempotencyKey == null){
+            return movement.get();
+        }
+        AccountSummaryDto previous = idempotencyGuard.replay(idempotencyKey, id, operation, amount, this::getAccountSummaryById);
+        if(previous != null){
+            return previous;
         }
+        try {
+            return movement.get();
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent request with the same key committed first; ours was rolled back
+            previous = idempotencyGuard.replay(idempotencyKey, id, operation, amount, this::getAccountSummaryById);
+            if(previous == null){
+                throw ex;
+            }
+            return previous;
+        }
+    }
 
-        // Add amount to balance
-        account.setBalance(account.getBalance() + amount);
-        // Update last transaction date to start of current day
-        account.setLastTransactionDate(LocalDate.now().atStartOfDay());
+    // Claims the key in the movement's transaction, so it commits or rolls back with the balance change
+    private AccountSummaryDto recordIdempotencyKey(String idempotencyKey, Long id, String operation, long amount,
+                                                   AccountSummaryDto summary) {
+        if(idempotencyKey != null){
+            idempotencyGuard.record(idempotencyKey, id, operation, amount, summary);
+        }
+        return summary;
+    }
 
-        // Save updated account state
-        Account updatedAccount = accountRepository.save(account);
+    // Reads the post-update summary through the narrow projection
+    private AccountSummaryDto summaryOf(Long id) {
+        return accountRepository.findSummaryById(id)
+                .map(accountMapper::toAccountSummaryDto)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found with id: " + id));
+    }
 
-        // Return updated account summary DTO
-        return accountMapper.toAccountSummaryDto(updatedAccount);
+    // Works out which rule made a conditional balance UPDATE affect no rows (slow path only)
+    private RuntimeException rejectedMovement(Long id, boolean credit) {
+        AccountStateView state = accountRepository.findStateById(id).orElse(null);
+        if(state == null){
+            return new AccountNotFoundException("Account not found with id: " + id);
+        }
+        if(!state.active() || state.locked()){
+            return new AccountLockedException("Account is either inactive or locked");
+        }
+        if(credit){
+            // The only other condition of applyDeposit
+            return new AmountOutOfRangeException("Balance would exceed the maximum of " + Money.MAX_BALANCE + " minor units");
+        }
+        if(state.overdraftAllowed()){
+            return new OverdraftLimitExceededException("Withdrawal exceeds overdraft limit");
+        }
+        return new InsufficientBalanceException("Insufficient balance");
     }
 
     /**
-     * Returns list of all accounts as AccountSummaryDto.
+     * Returns one keyset page of account summaries with id greater than after (null = from the start).
+     * Reads only the summary columns and never more than limit rows.
      */
     @Override
-    public List<AccountSummaryDto> getAllAccountSummaries() {
-        List<Account> accounts = accountRepository.findAll();
-
-        // Map each Account entity to summary DTO
-        return accounts.stream()
+    public CursorPage<AccountSummaryDto> getAccountSummaryPage(Long after, int limit) {
+        List<AccountSummaryDto> summaries = accountRepository
+                .findSummariesAfter(after != null ? after : 0L, PageRequest.ofSize(limit))
+                .stream()
                 .map(accountMapper::toAccountSummaryDto)
                 .toList();
+        return CursorPage.of(summaries, limit, AccountSummaryDto::id);
+    }
+
+    /**
+     * Writes every account summary to out as a JSON array, reading through a streaming
+     * JDBC cursor so heap usage stays flat regardless of the number of accounts.
+     */
+    @Override
+    public void streamAccountSummaries(OutputStream out) throws IOException {
+        JsonStreams.writeArray(objectMapper, out, AccountSummaryDto.class, sink ->
+                accountStreamingRepository.forEachSummary(view -> sink.accept(accountMapper.toAccountSummaryDto(view))));
     }
 
     /**
@@ -147,34 +359,61 @@ public class AccountServiceImpl implements AccountService {
      */
     @Override
     public AccountDetailsDto getAccountById(Long id) {
-        Account account = accountRepository.findById(id)
+        // Projected straight into the DTO: one row from accounts, no user/address fetch
+        return accountRepository.findDetailsById(id)
                 .orElseThrow(() -> new RuntimeException("Account not found with id: " + id));
-        return accountMapper.toAccountDetailsDto(account);
     }
 
     /**
-     * Returns list of all accounts with detailed information.
+     * Returns every account registered under a PAN, oldest first, read through the pan_number index.
+     * An unknown PAN gives an empty list.
      */
     @Override
-    public List<AccountDetailsDto> getAllAccounts() {
-        List<Account> accounts = accountRepository.findAll();
+    public List<AccountDetailsDto> getAccountsByPanNumber(String panNumber) {
+        return accountRepository.findDetailsByPanNumber(panNumber.trim());
+    }
 
-        // Map each account entity to details DTO
-        return accounts.stream()
-                .map(accountMapper::toAccountDetailsDto) // fixed to use injected mapper
-                .collect(Collectors.toList());
+    /**
+     * Returns one keyset page of accounts with detailed information.
+     */
+    @Override
+    public CursorPage<AccountDetailsDto> getAccountPage(Long after, int limit) {
+        List<AccountDetailsDto> accounts = accountRepository
+                .findDetailsAfter(after != null ? after : 0L, PageRequest.ofSize(limit));
+        return CursorPage.of(accounts, limit, AccountDetailsDto::id);
+    }
+
+    /**
+     * Writes every account with detailed information to out as a JSON array (streaming cursor).
+     */
+    @Override
+    public void streamAccounts(OutputStream out) throws IOException {
+        JsonStreams.writeArray(objectMapper, out, AccountDetailsDto.class, accountStreamingRepository::forEachDetails);
     }
 
     /**
      * Deletes an account by ID.
-     * Throws RuntimeException if account not found.
+     * Throws RuntimeException if account not found, and AccountHasHistoryException if any
+     * ledger entry references it (such accounts are deactivated instead).
      * Returns true if delete succeeded.
      */
     @Override
     public boolean deleteAccount(Long id) {
         Account account = accountRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Account not found with id: " + id));
-        accountRepository.delete(account);
+        // The ledger is append-only and its rows reference the account, so only unused accounts can go
+        if (transactionLedger.hasEntries(id)) {
+            throw new AccountHasHistoryException("Account " + id + " has ledger entries and cannot be deleted; deactivate it instead");
+        }
+        try {
+            accountRepository.delete(account);
+        } catch (DataIntegrityViolationException ex) {
+            // First entry committed between the check and the delete
+            throw new AccountHasHistoryException("Account " + id + " has ledger entries and cannot be deleted; deactivate it instead");
+        }
+        accountSummaryCache.invalidateAfterCommit(id);
+        accountIdResolver.invalidateAfterCommit(account.getAccountNumber(), account.getIban());
+        dashboardAggregates.accountDeleted(account);
         return true;
     }
 
@@ -186,30 +425,27 @@ public class AccountServiceImpl implements AccountService {
      */
     @Override
     public AccountDetailsDto updateAccount(Long id, AccountUpdateDto accountUpdateDto) {
-        Account existingAccount = accountRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Account not found with ID: " + id));
+        Account updatedAccount = balanceMutationEngine.mutate(id, existingAccount -> {
+            if(accountUpdateDto.accountHolderName() != null){
+                existingAccount.setAccountHolderName(accountUpdateDto.accountHolderName());
+            }
 
-        if(accountUpdateDto.accountHolderName() != null){
-            existingAccount.setAccountHolderName(accountUpdateDto.accountHolderName());
-        }
+            if(accountUpdateDto.contactEmail() != null){
+                existingAccount.setContactEmail(accountUpdateDto.contactEmail());
+            }
 
-        if(accountUpdateDto.contactEmail() != null){
-            existingAccount.setContactEmail(accountUpdateDto.contactEmail());
-        }
+            if(accountUpdateDto.contactPhone() != null){
+                existingAccount.setContactPhone(accountUpdateDto.contactPhone());
+            }
 
-        if(accountUpdateDto.contactPhone() != null){
-            existingAccount.setContactPhone(accountUpdateDto.contactPhone());
-        }
+            if(accountUpdateDto.accountStatus() != null){
+                existingAccount.setAccountStatus(accountUpdateDto.accountStatus());
+            }
 
-        if(accountUpdateDto.accountStatus() != null){
-            existingAccount.setAccountStatus(accountUpdateDto.accountStatus());
-        }
-
-        // Update timestamp to indicate modification time
-        existingAccount.setUpdatedAt(LocalDateTime.now());
-
-        // Save changes
-        Account updatedAccount = accountRepository.save(existingAccount);
+            // Update timestamp to indicate modification time
+            existingAccount.setUpdatedAt(LocalDateTime.now());
+            accountSummaryCache.invalidateAfterCommit(id);
+        });
 
         // Return updated account details DTO
         return accountMapper.toAccountDetailsDto(updatedAccount);
@@ -221,17 +457,16 @@ public class AccountServiceImpl implements AccountService {
      */
     @Override
     public void lockAccount(Long id) {
-        Account account = accountRepository.findById(id)
-                .orElseThrow(() -> new AccountNotFoundException("Account not found with ID: " + id));
-
-        if (account.isLocked()) {
-            throw new AccountLockedException("Account is already locked.");
-        }
-
-        account.setLocked(true);
-        account.setUpdatedAt(LocalDateTime.now());
-
-        accountRepository.save(account);
+        balanceMutationEngine.mutate(id, account -> {
+            if (account.isLocked()) {
+                throw new AccountLockedException("Account is already locked.");
+            }
+
+            account.setLocked(true);
+            account.setUpdatedAt(LocalDateTime.now());
+            accountSummaryCache.invalidateAfterCommit(id);
+            dashboardAggregates.stateChanged(account.isActive(), false, account.isActive(), true);
+        });
     }
 
     /**
@@ -240,17 +475,16 @@ public class AccountServiceImpl implements AccountService {
      */
     @Override
     public void unlockAccount(Long id) {
-        Account account = accountRepository.findById(id)
-                .orElseThrow(() -> new AccountNotFoundException("Account not found with ID: " + id));
-
-        if (!account.isLocked()) {
-            throw new AccountUnlockedException("Account is already unlocked.");
-        }
-
-        account.setLocked(false);
-        account.setUpdatedAt(LocalDateTime.now());
-
-        accountRepository.save(account);
+        balanceMutationEngine.mutate(id, account -> {
+            if (!account.isLocked()) {
+                throw new AccountUnlockedException("Account is already unlocked.");
+            }
+
+            account.setLocked(false);
+            account.setUpdatedAt(LocalDateTime.now());
+            accountSummaryCache.invalidateAfterCommit(id);
+            dashboardAggregates.stateChanged(account.isActive(), true, account.isActive(), false);
+        });
     }
 
     /**
@@ -259,17 +493,16 @@ public class AccountServiceImpl implements AccountService {
      */
     @Override
     public void setAccountActive(Long id, boolean isActive) {
-        Account account = accountRepository.findById(id)
-                .orElseThrow(() -> new AccountNotFoundException("Account not found with ID: " + id));
-
-        if(account.isActive() == isActive){
-            String status = isActive ? "ACTIVE" : "INACTIVE";
-            throw new IllegalArgumentException("Account is already " + status + ".");
-        }
-
-        account.setActive(isActive);
-        account.setUpdatedAt(LocalDateTime.now());
-
-        accountRepository.save(account);
+        balanceMutationEngine.mutate(id, account -> {
+            if(account.isActive() == isActive){
+                String status = isActive ? "ACTIVE" : "INACTIVE";
+                throw new IllegalArgumentException("Account is already " + status + ".");
+            }
+
+            account.setActive(isActive);
+            account.setUpdatedAt(LocalDateTime.now());
+            accountSummaryCache.invalidateAfterCommit(id);
+            dashboardAggregates.stateChanged(!isActive, account.isLocked(), isActive, account.isLocked());
+        });
     }
 }
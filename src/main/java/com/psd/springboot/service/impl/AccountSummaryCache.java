@@ -0,0 +1,84 @@
+package com.psd.springboot.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.psd.springboot.dto.AccountSummaryDto;
+import com.psd.springboot.dto.CacheStatsDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of AccountSummaryDto keyed by account id.
+ *
+ * Every write path evicts the affected ids once its transaction has committed. A load that
+ * is in flight while a write commits cannot leave a stale entry behind: Caffeine runs the
+ * eviction after the load for the same key completes, and a load that starts after the
+ * commit reads the new row. Within this JVM a cached summary is therefore never older than
+ * the last committed write. Writes made by other nodes are only picked up when the entry
+ * expires, so the TTL bounds cross-node staleness.
+ */
+@Component
+public class AccountSummaryCache {
+
+    private final Cache<Long, AccountSummaryDto> cache;
+    private final LongAdder invalidations = new LongAdder();
+
+    public AccountSummaryCache(@Value("${banking.cache.account-summary.max-size:100000}") long maxSize,
+                               @Value("${banking.cache.account-summary.ttl:10s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    // Returns the cached summary or loads it; exceptions from the loader propagate and nothing is cached
+    public AccountSummaryDto get(Long id, Function<Long, AccountSummaryDto> loader) {
+        return cache.get(id, loader);
+    }
+
+    // Evicts the account once the surrounding transaction commits (immediately if there is none)
+    public void invalidateAfterCommit(Long id) {
+        invalidateAfterCommit(List.of(id));
+    }
+
+    public void invalidateAfterCommit(Collection<Long> ids) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(ids);
+                }
+            });
+        } else {
+            invalidate(ids);
+        }
+    }
+
+    private void invalidate(Collection<Long> ids) {
+        cache.invalidateAll(ids);
+        invalidations.add(ids.size());
+    }
+
+    public CacheStatsDto stats() {
+        CacheStats stats = cache.stats();
+        return new CacheStatsDto(
+                "account-summary",
+                cache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                invalidations.sum()
+        );
+    }
+}
@@ -0,0 +1,129 @@
+package com.psd.springboot.service.impl;
+
+import com.psd.springboot.entity.Account;
+import com.psd.springboot.exception.AccountNotFoundException;
+import com.psd.springboot.exception.ConcurrentUpdateException;
+import com.psd.springboot.repository.AccountRepository;
+import com.psd.springboot.support.StripedLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Applies read-modify-write changes to a single Account safely under concurrency.
+ *
+ * - Inside this JVM, writers of the same account are serialized by a striped lock,
+ *   so contended accounts queue on a cheap in-process lock instead of on a MySQL row lock.
+ * - Across JVMs, the @Version column on Account detects lost updates; a conflicting
+ *   attempt is rolled back and retried in a fresh transaction, up to a bounded number of times.
+ * - Balance movements that are expressed as one conditional UPDATE use execute(...), which
+ *   needs no retry because the database applies them atomically.
+ */
+@Component
+public class BalanceMutationEngine {
+
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final StripedLock accountLocks;
+    private final int maxAttempts;
+
+    public BalanceMutationEngine(AccountRepository accountRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${banking.concurrency.lock-stripes:1024}") int lockStripes,
+                                 @Value("${banking.concurrency.max-attempts:5}") int maxAttempts) {
+        this.accountRepository = accountRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.accountLocks = new StripedLock(lockStripes);
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    /**
+     * Loads the account, applies the mutation and flushes it in one transaction.
+     * The mutation may throw a business exception to abort without retrying.
+     * Throws AccountNotFoundException if the account does not exist and
+     * ConcurrentUpdateException if every attempt lost an optimistic-lock race.
+     */
+    public Account mutate(Long id, Consumer<Account> mutation) {
+        ReentrantLock lock = accountLocks.forKey(id);
+        lock.lock();
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return transactionTemplate.execute(status -> {
+                        Account account = accountRepository.findById(id)
+                                .orElseThrow(() -> new AccountNotFoundException("Account not found with id: " + id));
+                        mutation.accept(account);
+                        return accountRepository.saveAndFlush(account);
+                    });
+                } catch (ObjectOptimisticLockingFailureException ex) {
+                    if (attempt >= maxAttempts) {
+                        throw new ConcurrentUpdateException(
+                                "Account " + id + " was modified concurrently, please retry.");
+                    }
+                    backOff(attempt);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs a set-based mutation of one account (e.g. a conditional UPDATE) in a transaction
+     * while holding the account's stripe lock, so contended accounts wait here rather than
+     * on an InnoDB row lock with a pooled connection checked out.
+     */
+    public <T> T execute(Long id, Supplier<T> work) {
+        ReentrantLock lock = accountLocks.forKey(id);
+        lock.lock();
+        try {
+            return transactionTemplate.execute(status -> work.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Same as execute(...) for work that touches several accounts (batches, transfers).
+     * Stripes are acquired in ascending index order, so two multi-account callers can never
+     * deadlock on each other or on a single-account caller.
+     */
+    public <T> T executeForAccounts(Collection<Long> ids, Supplier<T> work) {
+        int[] stripeIndexes = ids.stream()
+                .mapToInt(accountLocks::indexFor)
+                .distinct()
+                .sorted()
+                .toArray();
+        int acquired = 0;
+        try {
+            for (int index : stripeIndexes) {
+                accountLocks.stripe(index).lock();
+                acquired++;
+            }
+            return transactionTemplate.execute(status -> work.get());
+        } finally {
+            for (int i = acquired - 1; i >= 0; i--) {
+                accountLocks.stripe(stripeIndexes[i]).unlock();
+            }
+        }
+    }
+
+    // Small randomized exponential back-off so competing nodes don't retry in lock-step
+    private static void backOff(int attempt) {
+        long maxMicros = 100L << Math.min(attempt, 6);
+        long sleepMicros = ThreadLocalRandom.current().nextLong(maxMicros);
+        try {
+            Thread.sleep(sleepMicros / 1000, (int) (sleepMicros % 1000) * 1000);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrentUpdateException("Interrupted while retrying update of account.");
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.psd.springboot.service.impl;
+
+import com.psd.springboot.repository.AccountRepository;
+import com.psd.springboot.repository.BalanceSnapshotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Writes the daily balance snapshots that as-of queries start from.
+ *
+ * Boundaries are midnights (server time). A little after each midnight the job snapshots every
+ * account that moved money during the previous day, plus accounts that have no snapshot yet,
+ * walking the accounts table in id chunks, one short transaction per chunk. Accounts without
+ * movements are skipped: their previous snapshot is still exact. As a result, between an
+ * account's nearest snapshot and any time T there is at most one day of ledger entries.
+ *
+ * The job waits settle-delay after midnight so that ledger entries stamped before midnight have
+ * been committed (and, with GROUP durability, flushed) when the balance is read. Each run also
+ * flushes this node's ledger buffer first, so that no entry stamped after the boundary is still
+ * in flight. If the node was down at that time, the missed boundary is taken at the next start.
+ */
+@Component
+public class BalanceSnapshotJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceSnapshotJob.class);
+
+    private final AccountRepository accountRepository;
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionLedger transactionLedger;
+    private final int chunkSize;
+    private final Duration settleDelay;
+
+    public BalanceSnapshotJob(AccountRepository accountRepository,
+                              BalanceSnapshotRepository balanceSnapshotRepository,
+                              TransactionTemplate transactionTemplate,
+                              TransactionLedger transactionLedger,
+                              @Value("${banking.snapshots.chunk-size:10000}") int chunkSize,
+                              @Value("${banking.snapshots.settle-delay:PT5M}") Duration settleDelay) {
+        this.accountRepository = accountRepository;
+        this.balanceSnapshotRepository = balanceSnapshotRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.transactionLedger = transactionLedger;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.settleDelay = settleDelay;
+    }
+
+    @Scheduled(cron = "${banking.snapshots.cron:0 5 0 * * *}")
+    public void snapshotLastMidnight() {
+        takeSnapshots(lastSettledBoundary());
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUp() {
+        LocalDateTime boundary = lastSettledBoundary();
+        if (!balanceSnapshotRepository.existsByAsOf(boundary)) {
+            takeSnapshots(boundary);
+        }
+    }
+
+    /**
+     * Snapshots the balances at asOf of every account active during the day before it
+     * (or never snapshotted). Returns the number of snapshots written.
+     */
+    public long takeSnapshots(LocalDateTime asOf) {
+        // A buffered entry stamped after asOf is already in the balance but not yet subtractable
+        transactionLedger.flush();
+        LocalDateTime activeSince = asOf.minusDays(1);
+        long maxId = accountRepository.findMaxId();
+        long written = 0;
+        for (long fromId = 0; fromId < maxId; fromId += chunkSize) {
+            long chunkStart = fromId;
+            Integer inserted = transactionTemplate.execute(status ->
+                    balanceSnapshotRepository.insertSnapshots(asOf, activeSince, chunkStart, chunkStart + chunkSize));
+            written += inserted != null ? inserted : 0;
+        }
+        logger.info("Balance snapshots at {}: {} written", asOf, written);
+        return written;
+    }
+
+    // Most recent midnight whose settle delay has passed
+    private LocalDateTime lastSettledBoundary() {
+        return LocalDateTime.now().minus(settleDelay).toLocalDate().atStartOfDay();
+    }
+}
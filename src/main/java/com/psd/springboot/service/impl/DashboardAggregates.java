@@ -0,0 +1,279 @@
+package com.psd.springboot.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.psd.springboot.dto.BalanceTotalDto;
+import com.psd.springboot.dto.DashboardOverviewDto;
+import com.psd.springboot.dto.MovementTotalsDto;
+import com.psd.springboot.entity.Account;
+import com.psd.springboot.repository.AccountRepository;
+import com.psd.springboot.repository.projection.AccountSegmentTotalsView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Account counts, balance totals and recent movements behind the admin dashboard, kept up
+ * to date by the write paths instead of scanning accounts on every refresh.
+ *
+ * Every total is a base read from the database plus LongAdder deltas that the service write
+ * paths add once their transaction has committed. Balances are grouped by (account type,
+ * currency), which is fixed per account; the segment of an account is cached by id so a
+ * movement costs a hash lookup and two adds. Reading the overview walks the handful of
+ * segments and the 60 one-minute buckets of the movement window, independent of the number
+ * of accounts.
+ *
+ * reconcile() periodically replaces the base with a grouped scan of accounts and starts new,
+ * empty deltas just before the scan. This corrects drift from writes made by other nodes,
+ * bulk SQL and anything else that bypasses the service layer. Changes committing while the
+ * scan runs can be counted twice until the next reconciliation. The movement window is
+ * per node and is not reconciled.
+ */
+@Component
+public class DashboardAggregates {
+
+    private static final String UNSPECIFIED = "UNSPECIFIED";
+    private static final int WINDOW_MINUTES = 60;
+
+    private final AccountRepository accountRepository;
+    private final Cache<Long, Segment> segments;
+    private final AtomicReferenceArray<MinuteBucket> window = new AtomicReferenceArray<>(WINDOW_MINUTES);
+    // Serializes reconcile(); a lock rather than synchronized, so a virtual thread blocked on the scan does not pin its carrier
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+
+    // Writers add to deltas; readers combine view.base with view.deltas (the same object outside reconcile())
+    private volatile Deltas deltas = new Deltas();
+    private volatile View view = new View(Map.of(), deltas, null);
+
+    public DashboardAggregates(AccountRepository accountRepository,
+                               @Value("${banking.dashboard.segment-cache-size:100000}") long segmentCacheSize) {
+        this.accountRepository = accountRepository;
+        this.segments = Caffeine.newBuilder().maximumSize(segmentCacheSize).build();
+    }
+
+    // ===========================
+    // Write side (applied after the caller's transaction commits)
+    // ===========================
+
+    public void accountCreated(Account account) {
+        Segment segment = Segment.of(account.getAccountType(), account.getCurrency());
+        segments.put(account.getId(), segment);
+        afterCommit(d -> d.add(segment, 1, account.getBalance(), account.isActive(), account.isLocked()));
+    }
+
+    public void accountDeleted(Account account) {
+        Segment segment = Segment.of(account.getAccountType(), account.getCurrency());
+        afterCommit(d -> d.add(segment, -1, Math.negateExact(account.getBalance()), !account.isActive(), !account.isLocked()));
+    }
+
+    // Active / locked flags of one account changed from (wasActive, wasLocked) to (active, locked)
+    public void stateChanged(boolean wasActive, boolean wasLocked, boolean active, boolean locked) {
+        afterCommit(d -> d.changeState(wasActive, wasLocked, active, locked));
+    }
+
+    // One ledger movement (same type names as TransactionLedger); unknown accounts are ignored
+    public void movement(Long accountId, String type, long amount) {
+        Segment segment = segments.get(accountId, id -> accountRepository.findSegmentById(id)
+                .map(view -> Segment.of(view.accountType(), view.currency()))
+                .orElse(null));
+        if (segment == null) {
+            return;
+        }
+        long signed = TransactionLedger.isDebit(type) ? Math.negateExact(amount) : amount;
+        afterCommit(d -> {
+            d.segment(segment)[1].add(signed);
+            recordInWindow(segment.currency(), type, amount);
+        });
+    }
+
+    private void afterCommit(Consumer<Deltas> update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.accept(deltas);
+                }
+            });
+        } else {
+            update.accept(deltas);
+        }
+    }
+
+    private void recordInWindow(String currency, String type, long amount) {
+        boolean deposit = "DEPOSIT".equals(type);
+        if (!deposit && !"WITHDRAWAL".equals(type)) {
+            return;
+        }
+        long minute = System.currentTimeMillis() / 60_000;
+        int slot = (int) (minute % WINDOW_MINUTES);
+        MinuteBucket bucket = window.get(slot);
+        // Replace the bucket left over from an earlier hour; losers of the race use the winner's bucket
+        while (bucket == null || bucket.minute < minute) {
+            MinuteBucket fresh = new MinuteBucket(minute);
+            bucket = window.compareAndSet(slot, bucket, fresh) ? fresh : window.get(slot);
+        }
+        LongAdder[] counters = bucket.byCurrency.computeIfAbsent(currency, k -> adders(4));
+        counters[deposit ? 0 : 2].increment();
+        counters[deposit ? 1 : 3].add(amount);
+    }
+
+    // ===========================
+    // Reconciliation
+    // ===========================
+
+    @Scheduled(fixedDelayString = "${banking.dashboard.reconcile-interval:PT5M}")
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            Deltas fresh = new Deltas();
+            deltas = fresh;
+            Map<Segment, long[]> base = new HashMap<>();
+            for (AccountSegmentTotalsView row : accountRepository.sumBySegment()) {
+                base.put(Segment.of(row.accountType(), row.currency()),
+                        new long[]{row.accounts(), row.balance(), row.active(), row.locked()});
+            }
+            view = new View(base, fresh, LocalDateTime.now());
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    // ===========================
+    // Read side
+    // ===========================
+
+    public DashboardOverviewDto overview() {
+        View current = view;
+        Deltas d = current.deltas();
+
+        long accounts = d.accounts.sum();
+        long active = d.active.sum();
+        long locked = d.locked.sum();
+        Map<Segment, long[]> merged = new TreeMap<>(Segment.ORDER);
+        for (Map.Entry<Segment, long[]> entry : current.base().entrySet()) {
+            long[] totals = entry.getValue();
+            accounts += totals[0];
+            active += totals[2];
+            locked += totals[3];
+            merged.put(entry.getKey(), new long[]{totals[0], totals[1]});
+        }
+        d.segments.forEach((segment, adders) -> {
+            long[] totals = merged.computeIfAbsent(segment, k -> new long[2]);
+            totals[0] += adders[0].sum();
+            totals[1] += adders[1].sum();
+        });
+
+        List<BalanceTotalDto> byAccountType = new ArrayList<>(merged.size());
+        Map<String, long[]> byCurrency = new TreeMap<>();
+        merged.forEach((segment, totals) -> {
+            byAccountType.add(new BalanceTotalDto(segment.accountType(), segment.currency(), totals[0], totals[1]));
+            long[] currencyTotals = byCurrency.computeIfAbsent(segment.currency(), k -> new long[2]);
+            currencyTotals[0] += totals[0];
+            currencyTotals[1] += totals[1];
+        });
+        List<BalanceTotalDto> balanceByCurrency = new ArrayList<>(byCurrency.size());
+        byCurrency.forEach((currency, totals) -> balanceByCurrency.add(new BalanceTotalDto(null, currency, totals[0], totals[1])));
+
+        return new DashboardOverviewDto(accounts, active, accounts - active, locked,
+                balanceByCurrency, byAccountType, lastHour(), current.reconciledAt());
+    }
+
+    private List<MovementTotalsDto> lastHour() {
+        long oldestMinute = System.currentTimeMillis() / 60_000 - WINDOW_MINUTES;
+        Map<String, long[]> byCurrency = new TreeMap<>();
+        for (int slot = 0; slot < WINDOW_MINUTES; slot++) {
+            MinuteBucket bucket = window.get(slot);
+            if (bucket == null || bucket.minute <= oldestMinute) {
+                continue;
+            }
+            bucket.byCurrency.forEach((currency, counters) -> {
+                long[] totals = byCurrency.computeIfAbsent(currency, k -> new long[4]);
+                for (int i = 0; i < 4; i++) {
+                    totals[i] += counters[i].sum();
+                }
+            });
+        }
+        List<MovementTotalsDto> result = new ArrayList<>(byCurrency.size());
+        byCurrency.forEach((currency, t) -> result.add(new MovementTotalsDto(currency, t[0], t[1], t[2], t[3])));
+        return result;
+    }
+
+    private static LongAdder[] adders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private record Segment(String accountType, String currency) {
+
+        static final Comparator<Segment> ORDER =
+                Comparator.comparing(Segment::accountType).thenComparing(Segment::currency);
+
+        static Segment of(String accountType, String currency) {
+            return new Segment(accountType != null ? accountType : UNSPECIFIED, currency != null ? currency : UNSPECIFIED);
+        }
+    }
+
+    // Changes since the last reconciliation; per segment: [accounts, balance]
+    private static final class Deltas {
+
+        final LongAdder accounts = new LongAdder();
+        final LongAdder active = new LongAdder();
+        final LongAdder locked = new LongAdder();
+        final ConcurrentHashMap<Segment, LongAdder[]> segments = new ConcurrentHashMap<>();
+
+        LongAdder[] segment(Segment segment) {
+            return segments.computeIfAbsent(segment, k -> adders(2));
+        }
+
+        // sign of accounts (+1 / -1) says whether the flags are being added or removed
+        void add(Segment segment, int accountDelta, long balance, boolean activeFlag, boolean lockedFlag) {
+            accounts.add(accountDelta);
+            if (accountDelta > 0 ? activeFlag : !activeFlag) {
+                active.add(accountDelta);
+            }
+            if (accountDelta > 0 ? lockedFlag : !lockedFlag) {
+                locked.add(accountDelta);
+            }
+            LongAdder[] totals = segment(segment);
+            totals[0].add(accountDelta);
+            totals[1].add(balance);
+        }
+
+        void changeState(boolean wasActive, boolean wasLocked, boolean isActive, boolean isLocked) {
+            active.add((isActive ? 1 : 0) - (wasActive ? 1 : 0));
+            locked.add((isLocked ? 1 : 0) - (wasLocked ? 1 : 0));
+        }
+    }
+
+    // base per segment: [accounts, balance, active, locked] as of reconciledAt
+    private record View(Map<Segment, long[]> base, Deltas deltas, LocalDateTime reconciledAt) {}
+
+    private static final class MinuteBucket {
+
+        final long minute;
+        // per currency: [deposits, deposit amount, withdrawals, withdrawal amount]
+        final ConcurrentHashMap<String, LongAdder[]> byCurrency = new ConcurrentHashMap<>();
+
+        MinuteBucket(long minute) {
+            this.minute = minute;
+        }
+    }
+}
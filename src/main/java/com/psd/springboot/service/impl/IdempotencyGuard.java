@@ -0,0 +1,162 @@
+package com.psd.springboot.service.impl;
+
+import com.psd.springboot.dto.AccountSummaryDto;
+import com.psd.springboot.entity.IdempotencyRecord;
+import com.psd.springboot.exception.IdempotencyKeyReusedException;
+import com.psd.springboot.repository.IdempotencyRecordRepository;
+import com.psd.springboot.support.ExpiringDedupTable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Deduplicates retried deposits/withdrawals carrying the same Idempotency-Key.
+ *
+ * Keys are scoped to the caller: the stored key is a SHA-256 digest of the authenticated
+ * principal's name (empty for anonymous requests) and the header value, so two callers
+ * picking the same key neither see each other's responses nor block each other, and the
+ * digest fits the key column whatever the length of the name.
+ *
+ * The durable source of truth is the idempotency_keys table: the key row is inserted in the
+ * same transaction as the balance change, so a retry either finds the committed row or its
+ * own insert fails on the primary key and rolls the duplicate movement back.
+ *
+ * In front of it sits an ExpiringDedupTable holding only the balance and version returned to
+ * the original request. It is filled after commit, so retries landing on this node within
+ * the window skip the key row. Either way the answer is rebuilt from that outcome on top of
+ * the current summary's descriptive fields (normally an AccountSummaryCache hit), so a
+ * replay never pairs the original balance with a later version (and ETag). Rows written
+ * before the version was recorded fall back to the current version.
+ */
+@Component
+public class IdempotencyGuard {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ExpiringDedupTable<Outcome> recent;
+    private final Duration ttl;
+
+    public IdempotencyGuard(IdempotencyRecordRepository idempotencyRecordRepository,
+                            @Value("${banking.idempotency.max-entries:100000}") int maxEntries,
+                            @Value("${banking.idempotency.ttl:24h}") Duration ttl) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.recent = new ExpiringDedupTable<>(maxEntries, ttl);
+        this.ttl = ttl;
+    }
+
+    /**
+     * Returns the response of an earlier request with this key, or null if the key is unused.
+     * Throws IdempotencyKeyReusedException if the key was used for a different account,
+     * operation or amount. currentSummary is only called when rebuilding from the DB row.
+     */
+    public AccountSummaryDto replay(String key, Long accountId, String operation, long amount,
+                                    Function<Long, AccountSummaryDto> currentSummary) {
+        String scopedKey = scopedKey(key);
+        long keyHash = ExpiringDedupTable.hash64(scopedKey);
+        long fingerprint = fingerprint(accountId, operation, amount);
+        Outcome remembered = recent.get(keyHash, fingerprint);
+        if (remembered != null) {
+            return withOutcome(currentSummary.apply(accountId), remembered.balance(), remembered.version());
+        }
+
+        Optional<IdempotencyRecord> stored = idempotencyRecordRepository.findById(scopedKey);
+        if (stored.isEmpty()) {
+            return null;
+        }
+        IdempotencyRecord record = stored.get();
+        if (!record.getAccountId().equals(accountId) || !record.getOperation().equals(operation)
+                || record.getAmount() != amount) {
+            throw new IdempotencyKeyReusedException(
+                    "Idempotency-Key " + key + " was already used for a different request.");
+        }
+        AccountSummaryDto current = currentSummary.apply(accountId);
+        Outcome outcome = new Outcome(record.getBalanceAfter(),
+                record.getVersionAfter() != null ? record.getVersionAfter() : current.version());
+        recent.put(keyHash, fingerprint, outcome);
+        return withOutcome(current, outcome.balance(), outcome.version());
+    }
+
+    /**
+     * Claims the key inside the caller's transaction (fails with DataIntegrityViolationException
+     * if it is already taken) and remembers the response once the transaction commits.
+     */
+    public void record(String key, Long accountId, String operation, long amount, AccountSummaryDto result) {
+        String scopedKey = scopedKey(key);
+        idempotencyRecordRepository.insert(scopedKey, accountId, operation, amount, result.balance(), result.version(),
+                LocalDateTime.now());
+
+        long keyHash = ExpiringDedupTable.hash64(scopedKey);
+        long fingerprint = fingerprint(accountId, operation, amount);
+        Outcome outcome = new Outcome(result.balance(), result.version());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recent.put(keyHash, fingerprint, outcome);
+                }
+            });
+        } else {
+            recent.put(keyHash, fingerprint, outcome);
+        }
+    }
+
+    // Keys older than the dedup window may be reused
+    @Scheduled(fixedDelayString = "${banking.idempotency.purge-interval:PT10M}")
+    public void purgeExpired() {
+        idempotencyRecordRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+    }
+
+    // Digest of the caller and the client's key, as stored in idempotency_keys (43 chars)
+    private static String scopedKey(String key) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String caller = authentication == null || authentication instanceof AnonymousAuthenticationToken
+                ? "" : authentication.getName();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(caller.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static long fingerprint(Long accountId, String operation, long amount) {
+        return ExpiringDedupTable.mix64(accountId)
+                ^ ExpiringDedupTable.mix64(amount * 31 + operation.hashCode());
+    }
+
+    private static AccountSummaryDto withOutcome(AccountSummaryDto summary, long balance, long version) {
+        return new AccountSummaryDto(
+                summary.id(),
+                summary.accountHolderName(),
+                summary.maskedAccountNumber(),
+                summary.accountType(),
+                summary.bankName(),
+                summary.currency(),
+                summary.accountCreationDate(),
+                balance,
+                summary.active(),
+                summary.branchDisplayName(),
+                summary.displayStatus(),
+                version
+        );
+    }
+
+    // What the original request returned; everything else in the response is read fresh
+    private record Outcome(long balance, long version) {
+    }
+}
@@ -0,0 +1,112 @@
+package com.psd.springboot.service.impl;
+
+import com.psd.springboot.dto.MetricsReportDto;
+import com.psd.springboot.dto.OperationMetricsDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the application's Micrometer timers and counters into a MetricsReportDto.
+ *
+ * Recording happens elsewhere and is cheap (a few atomic updates per call): @Timed on the
+ * service classes, Spring Boot's built-in instrumentation of MVC mappings, Spring Data
+ * repositories and HikariCP, and the error counter in GlobalExceptionHandler.
+ */
+@Component
+@RequiredArgsConstructor
+public class MetricsReporter {
+
+    public static final String SERVICE_TIMER = "banking.service";
+    public static final String ERROR_COUNTER = "banking.errors";
+
+    private static final String HTTP_TIMER = "http.server.requests";
+    private static final String REPOSITORY_TIMER = "spring.data.repository.invocations";
+    private static final String CONNECTION_ACQUIRE_TIMER = "hikaricp.connections.acquire";
+
+    private final MeterRegistry meterRegistry;
+
+    public MetricsReportDto report() {
+        double uptimeSeconds = ManagementFactory.getRuntimeMXBean().getUptime() / 1000.0;
+
+        Map<String, Double> pool = new LinkedHashMap<>();
+        for (String gauge : List.of("active", "idle", "pending", "max")) {
+            Gauge meter = meterRegistry.find("hikaricp.connections." + gauge).gauge();
+            if (meter != null) {
+                pool.put(gauge, meter.value());
+            }
+        }
+        Counter timeouts = meterRegistry.find("hikaricp.connections.timeout").counter();
+        if (timeouts != null) {
+            pool.put("timeouts", timeouts.count());
+        }
+
+        Map<String, Long> errors = new TreeMap<>();
+        for (Counter counter : meterRegistry.find(ERROR_COUNTER).counters()) {
+            errors.merge(counter.getId().getTag("errorCode") + "/" + counter.getId().getTag("exception"),
+                    (long) counter.count(), Long::sum);
+        }
+
+        return new MetricsReportDto(
+                LocalDateTime.now(),
+                (long) uptimeSeconds,
+                timers(HTTP_TIMER, uptimeSeconds),
+                timers(SERVICE_TIMER, uptimeSeconds),
+                timers(REPOSITORY_TIMER, uptimeSeconds),
+                timers(CONNECTION_ACQUIRE_TIMER, uptimeSeconds),
+                pool,
+                errors
+        );
+    }
+
+    // One entry per tag combination, busiest first
+    private List<OperationMetricsDto> timers(String name, double uptimeSeconds) {
+        List<OperationMetricsDto> operations = new ArrayList<>();
+        for (Timer timer : meterRegistry.find(name).timers()) {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            Map<String, String> tags = new LinkedHashMap<>();
+            for (Tag tag : timer.getId().getTags()) {
+                tags.put(tag.getKey(), tag.getValue());
+            }
+            operations.add(new OperationMetricsDto(
+                    name,
+                    tags,
+                    snapshot.count(),
+                    uptimeSeconds > 0 ? snapshot.count() / uptimeSeconds : 0,
+                    snapshot.mean(TimeUnit.MILLISECONDS),
+                    percentile(snapshot, 0.5),
+                    percentile(snapshot, 0.99),
+                    percentile(snapshot, 0.999),
+                    snapshot.max(TimeUnit.MILLISECONDS)
+            ));
+        }
+        operations.sort(Comparator.comparingLong(OperationMetricsDto::count).reversed());
+        return operations;
+    }
+
+    // NaN when the percentile isn't configured (see management.metrics.distribution.percentiles)
+    private static double percentile(HistogramSnapshot snapshot, double percentile) {
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            if (value.percentile() == percentile) {
+                return value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return Double.NaN;
+    }
+}
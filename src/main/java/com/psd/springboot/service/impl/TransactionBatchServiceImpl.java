@@ -0,0 +1,266 @@
+package com.psd.springboot.service.impl;
+
+import com.psd.springboot.dto.BatchTransactionItem;
+import com.psd.springboot.dto.BatchTransactionResult;
+import com.psd.springboot.exception.AmountOutOfRangeException;
+import com.psd.springboot.exception.InvalidAmountException;
+import com.psd.springboot.service.TransactionBatchService;
+import com.psd.springboot.support.Money;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Applies many deposits/withdrawals with as few round trips as possible.
+ *
+ * Items are validated one by one (invalid items are reported, not fatal) and their decimal
+ * amounts read at the scale of their account's currency (AccountAmounts, one query for the
+ * accounts not cached yet), then sorted by
+ * account id while keeping the submitted order within each account. The sorted list is cut
+ * into chunks; each chunk is a single DB transaction that sends one JDBC batch of the same
+ * conditional UPDATE used by AccountRepository, with a signed amount so deposits and
+ * withdrawals share one statement and keep their relative order. The per-statement update
+ * count tells which items were applied. Sorting by id also makes every chunk take InnoDB
+ * row locks in ascending order, so concurrent batches cannot deadlock each other.
+ * Applied items are recorded in the TransactionLedger like single deposits/withdrawals.
+ *
+ * A driver may answer a batch with SUCCESS_NO_INFO instead of row counts. That says nothing
+ * about which conditional UPDATEs matched, so the chunk is rolled back and applied again one
+ * statement per item, where every count is exact. Nothing is recorded for an item whose
+ * outcome is not known.
+ */
+@Service
+@Timed(MetricsReporter.SERVICE_TIMER)   // latency per public method, see MetricsReporter
+public class TransactionBatchServiceImpl implements TransactionBatchService {
+
+    // Positive delta = deposit (checked against the balance ceiling), negative delta = withdrawal
+    // (checked against balance + overdraft); same rules as applyDeposit / applyWithdrawal
+    private static final String APPLY_DELTA_SQL =
+            "UPDATE accounts SET balance_minor = balance_minor + ?, last_transaction_date = ?, version = version + 1 " +
+            "WHERE id = ? AND active = TRUE AND locked = FALSE AND balance_minor <= ? " +
+            "AND (? >= 0 OR balance_minor + CASE WHEN overdraft_allowed THEN overdraft_limit_minor ELSE 0 END + ? >= 0)";
+
+    private static final String ACCOUNT_STATE_SQL =
+            "SELECT id, active, locked, overdraft_allowed FROM accounts WHERE id IN (:ids)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final BalanceMutationEngine balanceMutationEngine;
+    private final TransactionLedger transactionLedger;
+    private final AccountSummaryCache accountSummaryCache;
+    private final DashboardAggregates dashboardAggregates;
+    private final AccountAmounts accountAmounts;
+    private final Validator validator;
+    private final int chunkSize;
+
+    public TransactionBatchServiceImpl(JdbcTemplate jdbcTemplate,
+                                       NamedParameterJdbcTemplate namedJdbcTemplate,
+                                       BalanceMutationEngine balanceMutationEngine,
+                                       TransactionLedger transactionLedger,
+                                       AccountSummaryCache accountSummaryCache,
+                                       DashboardAggregates dashboardAggregates,
+                                       AccountAmounts accountAmounts,
+                                       Validator validator,
+                                       @Value("${banking.batch.chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.balanceMutationEngine = balanceMutationEngine;
+        this.transactionLedger = transactionLedger;
+        this.accountSummaryCache = accountSummaryCache;
+        this.dashboardAggregates = dashboardAggregates;
+        this.accountAmounts = accountAmounts;
+        this.validator = validator;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    @Override
+    public List<BatchTransactionResult> applyBatch(List<BatchTransactionItem> items) {
+        BatchTransactionResult[] results = new BatchTransactionResult[items.size()];
+
+        // Validate each item on its own so one bad row doesn't sink the whole batch
+        List<Integer> accepted = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            BatchTransactionItem item = items.get(i);
+            if (item == null) {
+                results[i] = BatchTransactionResult.rejected(i, null, "VALIDATION_ERROR", "Item must not be null");
+                continue;
+            }
+            Set<ConstraintViolation<BatchTransactionItem>> violations = validator.validate(item);
+            if (!violations.isEmpty()) {
+                results[i] = BatchTransactionResult.rejected(i, item.accountId(), "VALIDATION_ERROR",
+                        violations.iterator().next().getMessage());
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        long[] amounts = new long[items.size()];
+        List<Integer> parsed = parseAmounts(items, accepted, amounts, results);
+
+        // Group by account (stable sort keeps each account's items in submission order)
+        parsed.sort(Comparator.comparing(i -> items.get(i).accountId()));
+
+        for (int from = 0; from < parsed.size(); from += chunkSize) {
+            List<Integer> chunk = parsed.subList(from, Math.min(from + chunkSize, parsed.size()));
+            applyChunk(items, amounts, chunk, results);
+        }
+        return Arrays.asList(results);
+    }
+
+    // Minor units of each accepted item into amounts; returns the items whose amount could be read
+    private List<Integer> parseAmounts(List<BatchTransactionItem> items, List<Integer> accepted, long[] amounts,
+                                       BatchTransactionResult[] results) {
+        Set<Long> accountIds = new HashSet<>();
+        for (int index : accepted) {
+            accountIds.add(items.get(index).accountId());
+        }
+        Map<Long, Integer> scales = accountIds.isEmpty() ? Map.of() : accountAmounts.scalesOf(accountIds);
+
+        List<Integer> parsed = new ArrayList<>(accepted.size());
+        for (int index : accepted) {
+            BatchTransactionItem item = items.get(index);
+            Integer scale = scales.get(item.accountId());
+            if (scale == null) {
+                results[index] = BatchTransactionResult.rejected(index, item.accountId(), "ACCOUNT_NOT_FOUND",
+                        "Account not found with id: " + item.accountId());
+                continue;
+            }
+            try {
+                amounts[index] = AccountAmounts.parse(item.amount(), scale);
+                parsed.add(index);
+            } catch (InvalidAmountException e) {
+                results[index] = BatchTransactionResult.rejected(index, item.accountId(), "INVALID_AMOUNT", e.getMessage());
+            } catch (AmountOutOfRangeException e) {
+                results[index] = BatchTransactionResult.rejected(index, item.accountId(), "AMOUNT_OUT_OF_RANGE", e.getMessage());
+            }
+        }
+        return parsed;
+    }
+
+    private void applyChunk(List<BatchTransactionItem> items, long[] amounts, List<Integer> chunk,
+                            BatchTransactionResult[] results) {
+        Set<Long> accountIds = new LinkedHashSet<>();
+        for (int index : chunk) {
+            accountIds.add(items.get(index).accountId());
+        }
+        Timestamp timestamp = Timestamp.valueOf(LocalDate.now().atStartOfDay());
+
+        try {
+            balanceMutationEngine.executeForAccounts(accountIds, () -> {
+                int[] counts = jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, chunk, chunk.size(),
+                        (ps, index) -> bindDelta(ps, items.get(index), amounts[index], timestamp))[0];
+                for (int count : counts) {
+                    if (count < 0) {
+                        // SUCCESS_NO_INFO (or EXECUTE_FAILED): roll the whole chunk back, see below
+                        throw new UnknownBatchOutcomeException();
+                    }
+                }
+                recordOutcomes(items, amounts, chunk, counts, accountIds, results);
+                return null;
+            });
+        } catch (UnknownBatchOutcomeException e) {
+            // Same statements one at a time: executeUpdate always reports the real row count
+            balanceMutationEngine.executeForAccounts(accountIds, () -> {
+                int[] counts = new int[chunk.size()];
+                for (int i = 0; i < chunk.size(); i++) {
+                    int index = chunk.get(i);
+                    counts[i] = jdbcTemplate.update(APPLY_DELTA_SQL,
+                            ps -> bindDelta(ps, items.get(index), amounts[index], timestamp));
+                }
+                recordOutcomes(items, amounts, chunk, counts, accountIds, results);
+                return null;
+            });
+        }
+    }
+
+    // Positive delta = deposit, negative = withdrawal; the delta is bound twice more for the overdraft check
+    private static void bindDelta(PreparedStatement ps, BatchTransactionItem item, long amount, Timestamp timestamp)
+            throws SQLException {
+        boolean withdrawal = "WITHDRAWAL".equals(item.transactionType());
+        long delta = withdrawal ? Money.negate(amount) : amount;
+        ps.setLong(1, delta);
+        ps.setTimestamp(2, timestamp);
+        ps.setLong(3, item.accountId());
+        ps.setLong(4, withdrawal ? Long.MAX_VALUE : Money.creditCeiling(amount));
+        ps.setLong(5, delta);
+        ps.setLong(6, delta);
+    }
+
+    // counts[i] is the exact update count of chunk item i: 1 = applied, 0 = rejected by the WHERE clause
+    private void recordOutcomes(List<BatchTransactionItem> items, long[] amounts, List<Integer> chunk, int[] counts,
+                                Set<Long> accountIds, BatchTransactionResult[] results) {
+        accountSummaryCache.invalidateAfterCommit(accountIds);
+
+        Set<Long> rejectedAccounts = new HashSet<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            if (counts[i] == 0) {
+                rejectedAccounts.add(items.get(chunk.get(i)).accountId());
+            }
+        }
+        Map<Long, boolean[]> states = rejectedAccounts.isEmpty() ? Map.of() : loadStates(rejectedAccounts);
+
+        for (int i = 0; i < chunk.size(); i++) {
+            int index = chunk.get(i);
+            BatchTransactionItem item = items.get(index);
+            Long accountId = item.accountId();
+            if (counts[i] > 0) {
+                transactionLedger.record(accountId, item.transactionType(), amounts[index], item.description());
+                dashboardAggregates.movement(accountId, item.transactionType(), amounts[index]);
+                results[index] = BatchTransactionResult.applied(index, accountId);
+            } else {
+                results[index] = rejection(index, accountId, states.get(accountId),
+                        "DEPOSIT".equals(item.transactionType()));
+            }
+        }
+    }
+
+    // Narrow read of the flags needed to explain rejected items (only runs when something was rejected)
+    private Map<Long, boolean[]> loadStates(Set<Long> accountIds) {
+        Map<Long, boolean[]> states = new HashMap<>();
+        namedJdbcTemplate.query(ACCOUNT_STATE_SQL, Map.of("ids", accountIds), rs -> {
+            states.put(rs.getLong("id"), new boolean[]{
+                    rs.getBoolean("active"), rs.getBoolean("locked"), rs.getBoolean("overdraft_allowed")});
+        });
+        return states;
+    }
+
+    private static BatchTransactionResult rejection(int index, Long accountId, boolean[] state, boolean deposit) {
+        if (state == null) {
+            return BatchTransactionResult.rejected(index, accountId, "ACCOUNT_NOT_FOUND",
+                    "Account not found with id: " + accountId);
+        }
+        if (!state[0] || state[1]) {
+            return BatchTransactionResult.rejected(index, accountId, "ACCOUNT_LOCKED",
+                    "Account is either inactive or locked");
+        }
+        // Same choice of reasons as AccountServiceImpl for a single deposit or withdrawal
+        if (deposit) {
+            return BatchTransactionResult.rejected(index, accountId, "AMOUNT_OUT_OF_RANGE",
+                    "Balance would exceed the maximum of " + Money.MAX_BALANCE + " minor units");
+        }
+        if (state[2]) {
+            return BatchTransactionResult.rejected(index, accountId, "OVERDRAFT_LIMIT_EXCEEDED",
+                    "Withdrawal exceeds overdraft limit");
+        }
+        return BatchTransactionResult.rejected(index, accountId, "INSUFFICIENT_BALANCE",
+                "Insufficient balance");
+    }
+
+    // Thrown inside the chunk's transaction to roll it back when the driver did not report row counts
+    private static final class UnknownBatchOutcomeException extends RuntimeException {
+
+        UnknownBatchOutcomeException() {
+            super("Batch update counts not reported", null, false, false);
+        }
+    }
+}
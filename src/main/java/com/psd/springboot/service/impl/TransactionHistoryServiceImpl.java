@@ -0,0 +1,203 @@
+package com.psd.springboot.service.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.psd.springboot.dto.BalanceAsOfDto;
+import com.psd.springboot.dto.CursorPage;
+import com.psd.springboot.dto.TransactionDto;
+import com.psd.springboot.entity.BalanceSnapshot;
+import com.psd.springboot.exception.AccountNotFoundException;
+import com.psd.springboot.exception.InvalidCursorException;
+import com.psd.springboot.mapper.TransactionMapper;
+import com.psd.springboot.repository.AccountRepository;
+import com.psd.springboot.repository.BalanceSnapshotRepository;
+import com.psd.springboot.repository.TransactionRepository;
+import com.psd.springboot.repository.TransactionStreamingRepository;
+import com.psd.springboot.service.TransactionHistoryService;
+import com.psd.springboot.support.Money;
+import com.psd.springboot.support.StatementWriter;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Reads an account's ledger entries: page by page for the history API, as one stream for statements.
+ *
+ * Pages are ordered newest first by (timestamp, id) and served by the
+ * (account_id, timestamp, id) index: the cursor is the id of the last entry returned, its
+ * timestamp is read by primary key, and the next page is a range scan starting right after it.
+ * The cost of a page depends on the page size, not on how many entries the account holds or how
+ * deep the client has paged. Entries written while a client pages (including group-committed
+ * ledger entries that land late) never shift or repeat rows on later pages.
+ *
+ * Past balances come from the daily BalanceSnapshot rows plus the ledger: the nearest snapshot
+ * at or before the requested time plus the entries between the two, or, before an account's
+ * first snapshot, the first later snapshot minus the entries in between. BalanceSnapshotJob
+ * guarantees at most one day of entries between them, so the cost of an as-of query does not
+ * grow with the account's history. Accounts never snapshotted yet (no movements since the job
+ * started) fall back to the current balance minus every later movement.
+ *
+ * Statements are streamed rather than paged: one read-only REPEATABLE READ transaction first
+ * works out the balance at the start of the range as above, then walks the range through a
+ * forward-only cursor and writes each entry with its running balance straight to the response.
+ * Heap use is the writer's buffers, whatever the range.
+ */
+@Service
+@Timed(MetricsReporter.SERVICE_TIMER)   // latency per public method, see MetricsReporter
+public class TransactionHistoryServiceImpl implements TransactionHistoryService {
+
+    // Open ends of the time filter (the DATETIME range MySQL accepts)
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1000, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionStreamingRepository transactionStreamingRepository;
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+    private final TransactionTemplate snapshotTransaction;
+    private final JsonFactory jsonFactory;
+
+    public TransactionHistoryServiceImpl(TransactionRepository transactionRepository,
+                                         AccountRepository accountRepository,
+                                         TransactionStreamingRepository transactionStreamingRepository,
+                                         BalanceSnapshotRepository balanceSnapshotRepository,
+                                         PlatformTransactionManager transactionManager,
+                                         ObjectMapper objectMapper) {
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.transactionStreamingRepository = transactionStreamingRepository;
+        this.balanceSnapshotRepository = balanceSnapshotRepository;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Returns entries with from <= timestamp < to (either bound may be null) and, if given, of one type.
+     * after is the nextAfter of the previous page.
+     * Throws AccountNotFoundException for an unknown account and InvalidCursorException when after
+     * does not name an entry of this account.
+     */
+    @Override
+    public CursorPage<TransactionDto> getHistory(Long accountId, LocalDateTime from, LocalDateTime to,
+                                                 String type, Long after, int limit) {
+        // Same currency for every entry; also tells an unknown account from an empty history
+        String currency = currencyOf(accountId);
+
+        LocalDateTime beforeTimestamp = to != null ? to : LATEST;
+        long beforeId = Long.MIN_VALUE;
+        if (after != null) {
+            LocalDateTime cursorTimestamp = transactionRepository.findTimestampByIdAndAccountId(after, accountId)
+                    .orElseThrow(() -> new InvalidCursorException("Unknown cursor for account " + accountId + ": " + after));
+            // A cursor past the upper bound (client changed "to" mid-way) must not widen the range
+            if (cursorTimestamp.isBefore(beforeTimestamp)) {
+                beforeTimestamp = cursorTimestamp;
+                beforeId = after;
+            }
+        }
+
+        List<TransactionDto> entries = transactionRepository
+                .findHistoryPage(accountId, from != null ? from : EARLIEST, beforeTimestamp, beforeId, type,
+                        PageRequest.ofSize(limit))
+                .stream()
+                .map(view -> TransactionMapper.mapToTransactionDto(view, currency, accountId))
+                .toList();
+        return CursorPage.of(entries, limit, TransactionDto::id);
+    }
+
+    /**
+     * Writes the statement for [from, to) (either bound may be null) in the given format, gzip-compressed if asked.
+     * Throws AccountNotFoundException if the account does not exist when the snapshot is taken.
+     */
+    @Override
+    public void exportStatement(Long accountId, LocalDateTime from, LocalDateTime to, StatementWriter.Format format,
+                                boolean gzip, OutputStream out) throws IOException {
+        LocalDateTime start = from != null ? from : EARLIEST;
+        LocalDateTime end = to != null ? to : LATEST;
+        GZIPOutputStream compressed = gzip ? StatementWriter.gzip(out) : null;
+        OutputStream target = compressed != null ? compressed : out;
+
+        try {
+            snapshotTransaction.executeWithoutResult(status -> {
+                String currency = currencyOf(accountId);
+                long opening = balanceBefore(accountId, start).balance();
+                try {
+                    StatementWriter writer = StatementWriter.create(format, target, currency, jsonFactory);
+                    long[] balance = {opening};
+                    transactionStreamingRepository.forEachEntry(accountId, start, end, entry -> {
+                        long signed = TransactionLedger.isDebit(entry.type()) ? Money.negate(entry.amount()) : entry.amount();
+                        balance[0] = Money.add(balance[0], signed);
+                        try {
+                            writer.write(entry, signed, balance[0]);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                    writer.finish();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (compressed != null) {
+            compressed.finish();
+        }
+    }
+
+    /**
+     * Returns the balance just before asOf (every entry stamped earlier included).
+     * Throws AccountNotFoundException if the account does not exist.
+     */
+    @Override
+    public BalanceAsOfDto getBalanceAsOf(Long accountId, LocalDateTime asOf) {
+        return snapshotTransaction.execute(status -> {
+            String currency = currencyOf(accountId);
+            PastBalance past = balanceBefore(accountId, asOf);
+            return new BalanceAsOfDto(accountId, currency, asOf, past.balance(), past.snapshotAsOf());
+        });
+    }
+
+    private String currencyOf(Long accountId) {
+        List<String> currencies = accountRepository.findCurrencies(List.of(accountId));
+        if (currencies.isEmpty()) {
+            throw new AccountNotFoundException("Account not found with id: " + accountId);
+        }
+        return currencies.get(0);
+    }
+
+    // Nearest snapshot on either side plus/minus the entries in between; at most a day of entries
+    private PastBalance balanceBefore(Long accountId, LocalDateTime time) {
+        BalanceSnapshot earlier = balanceSnapshotRepository
+                .findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(accountId, time).orElse(null);
+        if (earlier != null) {
+            long delta = transactionRepository.sumMovements(accountId, earlier.getAsOf(), time);
+            return new PastBalance(Money.add(earlier.getBalance(), delta), earlier.getAsOf());
+        }
+        BalanceSnapshot later = balanceSnapshotRepository
+                .findFirstByAccountIdAndAsOfGreaterThanOrderByAsOfAsc(accountId, time).orElse(null);
+        if (later != null) {
+            long delta = transactionRepository.sumMovements(accountId, time, later.getAsOf());
+            return new PastBalance(Money.subtract(later.getBalance(), delta), later.getAsOf());
+        }
+        Long derived = transactionStreamingRepository.balanceBefore(accountId, time);
+        if (derived == null) {
+            throw new AccountNotFoundException("Account not found with id: " + accountId);
+        }
+        return new PastBalance(derived, null);
+    }
+
+    private record PastBalance(long balance, LocalDateTime snapshotAsOf) {}
+}
@@ -0,0 +1,330 @@
+package com.psd.springboot.service.impl;
+
+import com.psd.springboot.entity.Transaction;
+import com.psd.springboot.repository.AccountRepository;
+import com.psd.springboot.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records every balance change as an append-only Transaction row.
+ *
+ * Durability is chosen with banking.ledger.durability:
+ *
+ * - COMMIT: the entry is persisted inside the caller's DB transaction, so the ledger row and
+ *   the balance change commit (or roll back) together. Nothing is lost on a crash, but the
+ *   insert is paid on the request path.
+ *
+ * - GROUP (default): once the caller's transaction has committed, the entry is handed to a
+ *   bounded in-memory buffer. A background writer flushes the buffer in one transaction as
+ *   soon as batch-size entries are waiting or group-timeout-ms has passed since the oldest
+ *   one, whichever comes first; Hibernate batches the inserts and Connector/J rewrites them
+ *   into multi-row INSERTs. The request path never waits for the insert, but a JVM crash can
+ *   lose at most the entries accepted during the last group window (the balance changes
+ *   themselves are already committed). A graceful shutdown drains the buffer first.
+ *   When the buffer is full the caller blocks for up to offer-timeout-ms and then writes
+ *   its entry synchronously, so back-pressure never drops entries.
+ *
+ *   An entry is stamped when record() is called but only becomes visible once its group is
+ *   written, so readers of the ledger (history pages, as-of balances, statements, balance
+ *   snapshots) can miss an entry whose balance change is already committed: for up to one
+ *   group window normally, for as long as the database is unavailable while the writer
+ *   retries, and for good if the JVM crashes first. Only failures that can clear up by
+ *   themselves (connection lost, lock timeout) are retried; an entry rejected for any other
+ *   reason, such as an account that no longer exists, is logged as "Dropped ledger entry" and
+ *   skipped so it cannot hold up the entries behind it. A late entry keeps its record() timestamp,
+ *   so it can land inside a range that was already read. Callers that need every entry
+ *   recorded so far on this node call flush() first; use COMMIT where any of this is not
+ *   acceptable.
+ */
+@Component
+public class TransactionLedger {
+
+    public enum Durability { COMMIT, GROUP }
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionLedger.class);
+
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Durability durability;
+    private final int batchSize;
+    private final long groupTimeoutNanos;
+    private final long offerTimeoutMs;
+    private final BlockingQueue<PendingEntry> buffer;
+
+    private volatile boolean running;
+    private volatile boolean retriesStopped;
+    private Thread writer;
+
+    public TransactionLedger(TransactionRepository transactionRepository,
+                             AccountRepository accountRepository,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${banking.ledger.durability:GROUP}") Durability durability,
+                             @Value("${banking.ledger.buffer-capacity:65536}") int bufferCapacity,
+                             @Value("${banking.ledger.batch-size:500}") int batchSize,
+                             @Value("${banking.ledger.group-timeout-ms:20}") long groupTimeoutMs,
+                             @Value("${banking.ledger.offer-timeout-ms:50}") long offerTimeoutMs) {
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.durability = durability;
+        this.batchSize = Math.max(1, batchSize);
+        this.groupTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, groupTimeoutMs));
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.buffer = new ArrayBlockingQueue<>(Math.max(1, bufferCapacity));
+    }
+
+    @PostConstruct
+    void start() {
+        if (durability == Durability.GROUP) {
+            running = true;
+            writer = new Thread(this::runWriter, "ledger-writer");
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    // Entry types that take money out of the account; every other type adds to it
+    public static boolean isDebit(String type) {
+        return "WITHDRAWAL".equals(type) || "TRANSFER_OUT".equals(type);
+    }
+
+    /**
+     * Records one balance change on the given account.
+     * Call from inside the transaction that applied the change.
+     */
+    public void record(Long accountId, String type, long amount, String remarks) {
+        PendingEntry entry = new PendingEntry(accountId, type, amount, LocalDateTime.now(), remarks, null);
+
+        if (durability == Durability.COMMIT) {
+            transactionRepository.save(toEntity(entry));
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Only buffer entries whose balance change actually committed
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(entry);
+                }
+            });
+        } else {
+            enqueue(entry);
+        }
+    }
+
+    /**
+     * Waits until every entry recorded on this node before the call is persisted.
+     * A no-op with COMMIT durability, where entries are persisted by the caller's transaction.
+     * Returns early, keeping the interrupt flag, if the calling thread is interrupted.
+     */
+    public void flush() {
+        if (durability == Durability.COMMIT || !running) {
+            return;
+        }
+        // The marker queues behind every entry buffered so far; the writer counts it down after their batch is written
+        PendingEntry marker = PendingEntry.marker();
+        try {
+            buffer.put(marker);
+            while (!marker.flushed().await(100, TimeUnit.MILLISECONDS)) {
+                if (!writer.isAlive()) {
+                    return;   // stopped meanwhile: it drained the buffer before exiting
+                }
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns true if the account has at least one ledger entry, counting the ones still
+     * buffered on this node (they are flushed first).
+     */
+    public boolean hasEntries(Long accountId) {
+        flush();
+        return transactionRepository.existsByAccountId(accountId);
+    }
+
+    private void enqueue(PendingEntry entry) {
+        if (!running) {
+            // Writer already stopped (shutdown in progress): persist directly
+            write(List.of(entry));
+            return;
+        }
+        try {
+            if (buffer.offer(entry, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+        // Buffer saturated (or shutting down): write on the caller's thread rather than drop it
+        write(List.of(entry));
+    }
+
+    private void runWriter() {
+        List<PendingEntry> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                PendingEntry first = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + groupTimeoutNanos;
+                while (batch.size() < batchSize) {
+                    buffer.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingEntry next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                writeAndRelease(batch);
+                batch.clear();
+            } catch (InterruptedException ie) {
+                // Treat an interrupt as a shutdown request, but still drain what is buffered
+                running = false;
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeAndRelease(batch);
+        }
+    }
+
+    // Writes the entries of the batch, then releases the flush() callers whose markers it holds
+    private void writeAndRelease(List<PendingEntry> batch) {
+        List<PendingEntry> entries = new ArrayList<>(batch.size());
+        for (PendingEntry entry : batch) {
+            if (entry.flushed() == null) {
+                entries.add(entry);
+            }
+        }
+        if (!entries.isEmpty()) {
+            writeWithRetry(entries);
+        }
+        for (PendingEntry entry : batch) {
+            if (entry.flushed() != null) {
+                entry.flushed().countDown();
+            }
+        }
+    }
+
+    // A batch that fails for good is retried one entry at a time, so a single bad entry does not take its batch with it
+    private void writeWithRetry(List<PendingEntry> batch) {
+        try {
+            writeRetryingTransient(batch);
+        } catch (RuntimeException ex) {
+            if (isTransient(ex) || batch.size() == 1) {
+                // Either the writer was interrupted while the database was unavailable, or the entry itself is bad
+                batch.forEach(entry -> deadLetter(entry, ex));
+                return;
+            }
+            logger.warn("Ledger flush of {} entries failed, writing them one at a time", batch.size(), ex);
+            for (PendingEntry entry : batch) {
+                writeWithRetry(List.of(entry));
+            }
+        }
+    }
+
+    // Retries with back-off while the database is unavailable; gives up on any other failure, or once interrupted
+    private void writeRetryingTransient(List<PendingEntry> batch) {
+        long backOffMs = 100;
+        while (true) {
+            try {
+                write(batch);
+                return;
+            } catch (RuntimeException ex) {
+                if (!isTransient(ex) || retriesStopped) {
+                    throw ex;
+                }
+                logger.error("Ledger flush of {} entries failed, retrying in {} ms", batch.size(), backOffMs, ex);
+                try {
+                    Thread.sleep(backOffMs);
+                } catch (InterruptedException ie) {
+                    // Shutdown request: stop waiting for the database and let the writer exit
+                    running = false;
+                    retriesStopped = true;
+                    throw ex;
+                }
+                backOffMs = Math.min(backOffMs * 2, 5_000);
+            }
+        }
+    }
+
+    private static boolean isTransient(RuntimeException ex) {
+        return ex instanceof TransientDataAccessException
+                || ex instanceof RecoverableDataAccessException
+                || ex instanceof DataAccessResourceFailureException
+                || ex instanceof CannotCreateTransactionException;
+    }
+
+    // The balance change is already committed, so the entry is logged in full to be replayed by hand
+    private void deadLetter(PendingEntry entry, RuntimeException cause) {
+        logger.error("Dropped ledger entry: account={} type={} amount={} timestamp={} remarks={} ({})",
+                entry.accountId(), entry.type(), entry.amount(), entry.timestamp(), entry.remarks(), cause.toString());
+    }
+
+    private void write(List<PendingEntry> entries) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Transaction> rows = new ArrayList<>(entries.size());
+            for (PendingEntry entry : entries) {
+                rows.add(toEntity(entry));
+            }
+            transactionRepository.saveAll(rows);
+        });
+    }
+
+    // Uses a reference proxy for the account so no SELECT is issued per entry
+    private Transaction toEntity(PendingEntry entry) {
+        return Transaction.builder()
+                .type(entry.type())
+                .amount(entry.amount())
+                .timestamp(entry.timestamp())
+                .remarks(entry.remarks())
+                .account(accountRepository.getReferenceById(entry.accountId()))
+                .build();
+    }
+
+    // flushed is only set on the markers queued by flush()
+    private record PendingEntry(Long accountId, String type, long amount, LocalDateTime timestamp, String remarks,
+                                CountDownLatch flushed) {
+
+        static PendingEntry marker() {
+            return new PendingEntry(null, null, 0, null, null, new CountDownLatch(1));
+        }
+    }
+}
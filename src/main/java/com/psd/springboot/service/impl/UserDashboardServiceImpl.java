@@ -0,0 +1,111 @@
+package com.psd.springboot.service.impl;
+
+import com.psd.springboot.dto.AccountSummaryDto;
+import com.psd.springboot.dto.BalanceTotalDto;
+import com.psd.springboot.dto.TransactionDto;
+import com.psd.springboot.dto.UserOverviewDto;
+import com.psd.springboot.exception.ResourceNotFoundException;
+import com.psd.springboot.mapper.AccountMapper;
+import com.psd.springboot.mapper.TransactionMapper;
+import com.psd.springboot.repository.AccountRepository;
+import com.psd.springboot.repository.RecentTransactionRepository;
+import com.psd.springboot.repository.UserRepository;
+import com.psd.springboot.repository.projection.AccountSummaryView;
+import com.psd.springboot.repository.projection.TransactionView;
+import com.psd.springboot.service.UserDashboardService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Builds the user dashboard from two statements, whatever the number of accounts:
+ * the user's account summaries (one index range on accounts.user_id, no user or address load),
+ * and the latest entries of every one of those accounts (RecentTransactionRepository, one
+ * bounded index scan per account). Per-currency totals are summed from the summaries.
+ *
+ * Recent activity is a k-way merge of the per-account lists, each already newest first: a heap
+ * holds the head of every list and the newest head is taken until recentLimit entries are out,
+ * so the merge costs O(recentLimit log accounts) however much history the accounts have.
+ */
+@RequiredArgsConstructor
+@Service
+@Timed(MetricsReporter.SERVICE_TIMER)   // latency per public method, see MetricsReporter
+public class UserDashboardServiceImpl implements UserDashboardService {
+
+    private final AccountRepository accountRepository;
+    private final UserRepository userRepository;
+    private final RecentTransactionRepository recentTransactionRepository;
+    private final AccountMapper accountMapper;
+
+    /**
+     * Returns the user's accounts, balance totals per currency and the latest recentLimit
+     * ledger entries across all of their accounts.
+     * Throws ResourceNotFoundException if the user does not exist.
+     */
+    @Override
+    public UserOverviewDto getOverview(Long userId, int recentLimit) {
+        List<AccountSummaryView> accounts = accountRepository.findSummariesByUserId(userId);
+        // Only a user without accounts needs the extra existence check
+        if (accounts.isEmpty() && !userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found with id: " + userId);
+        }
+
+        List<AccountSummaryDto> summaries = new ArrayList<>(accounts.size());
+        List<Long> accountIds = new ArrayList<>(accounts.size());
+        Map<Long, String> currencies = new HashMap<>();
+        Map<String, long[]> byCurrency = new TreeMap<>();
+        for (AccountSummaryView account : accounts) {
+            summaries.add(accountMapper.toAccountSummaryDto(account));
+            accountIds.add(account.id());
+            currencies.put(account.id(), account.currency());
+            String currency = account.currency() != null ? account.currency() : "UNSPECIFIED";
+            long[] totals = byCurrency.computeIfAbsent(currency, k -> new long[2]);
+            totals[0]++;
+            totals[1] += account.balance();
+        }
+        List<BalanceTotalDto> balanceByCurrency = new ArrayList<>(byCurrency.size());
+        byCurrency.forEach((currency, totals) -> balanceByCurrency.add(new BalanceTotalDto(null, currency, totals[0], totals[1])));
+
+        List<TransactionDto> recent = accountIds.isEmpty()
+                ? List.of()
+                : mergeNewestFirst(recentTransactionRepository.findLatestPerAccount(accountIds, recentLimit), currencies, recentLimit);
+
+        return new UserOverviewDto(userId, summaries, balanceByCurrency, recent);
+    }
+
+    // k-way merge of per-account lists that are each newest first
+    private static List<TransactionDto> mergeNewestFirst(Map<Long, List<TransactionView>> perAccount,
+                                                         Map<Long, String> currencies, int limit) {
+        PriorityQueue<Head> heads = new PriorityQueue<>(Math.max(1, perAccount.size()), Head.NEWEST_FIRST);
+        perAccount.forEach((accountId, entries) -> heads.add(new Head(accountId, entries, 0)));
+
+        List<TransactionDto> merged = new ArrayList<>(limit);
+        while (merged.size() < limit && !heads.isEmpty()) {
+            Head head = heads.poll();
+            merged.add(TransactionMapper.mapToTransactionDto(head.entry(), currencies.get(head.accountId()), head.accountId()));
+            if (head.position() + 1 < head.entries().size()) {
+                heads.add(new Head(head.accountId(), head.entries(), head.position() + 1));
+            }
+        }
+        return merged;
+    }
+
+    // Next unmerged entry of one account's list
+    private record Head(Long accountId, List<TransactionView> entries, int position) {
+
+        static final Comparator<Head> NEWEST_FIRST =
+                Comparator.comparing(Head::entry, RecentTransactionRepository.NEWEST_FIRST);
+
+        TransactionView entry() {
+            return entries.get(position);
+        }
+    }
+}
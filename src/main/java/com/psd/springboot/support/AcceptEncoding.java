@@ -0,0 +1,55 @@
+package com.psd.springboot.support;
+
+/**
+ * Reads an Accept-Encoding header (RFC 9110, section 12.5.3) as a list of content codings
+ * with optional q-values, e.g. "gzip;q=0.8, br, *;q=0".
+ *
+ * A coding is acceptable when its own entry, or failing that the "*" entry, has q > 0.
+ * Codings the header does not mention are not acceptable; identity always is, so a caller
+ * that finds nothing acceptable just sends the body uncompressed. A q-value that does not
+ * parse counts as 0 for the same reason.
+ */
+public final class AcceptEncoding {
+
+    private AcceptEncoding() {
+    }
+
+    public static boolean accepts(String header, String coding) {
+        if (header == null) {
+            return false;
+        }
+        Double exact = null;
+        Double wildcard = null;
+        for (String element : header.split(",")) {
+            int semicolon = element.indexOf(';');
+            String name = (semicolon < 0 ? element : element.substring(0, semicolon)).trim();
+            double q = semicolon < 0 ? 1 : qValue(element.substring(semicolon + 1));
+            // x-gzip is an old alias of gzip (RFC 9110, section 8.4.1.3)
+            if (name.equalsIgnoreCase(coding) || name.equalsIgnoreCase("x-" + coding)) {
+                exact = exact == null ? q : Math.max(exact, q);
+            } else if (name.equals("*")) {
+                wildcard = q;
+            }
+        }
+        if (exact != null) {
+            return exact > 0;
+        }
+        return wildcard != null && wildcard > 0;
+    }
+
+    // Value of the q parameter among the ";"-separated parameters; 1 when absent
+    private static double qValue(String parameters) {
+        for (String parameter : parameters.split(";")) {
+            int equals = parameter.indexOf('=');
+            if (equals > 0 && parameter.substring(0, equals).trim().equalsIgnoreCase("q")) {
+                try {
+                    double q = Double.parseDouble(parameter.substring(equals + 1).trim());
+                    return q >= 0 && q <= 1 ? q : 0;
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
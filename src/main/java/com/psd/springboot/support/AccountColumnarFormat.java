@@ -0,0 +1,87 @@
+package com.psd.springboot.support;
+
+import com.psd.springboot.dto.AccountDetailsDto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Layout of the columnar account export (.acol), shared by AccountColumnarWriter and
+ * AccountColumnarReader. Every number is little-endian.
+ *
+ * <pre>
+ * file      = magic "ACOL" | int version | int columnCount | column* | rowGroup* | footer | trailer
+ * column    = byte type | short nameLength | name (UTF-8)
+ * rowGroup  = int rows | int[columnCount] chunkLength | chunk*
+ * chunk     = byte encoding | presence bitmap ((rows + 7) / 8 bytes, bit set = not null) | values
+ * footer    = int groupCount | (long offset | int length | int rows | long firstId | long lastId)*
+ * trailer   = long footerOffset | magic "ACOL"
+ * </pre>
+ *
+ * Values by type, PLAIN encoding: INT64 and TIMESTAMP (epoch microseconds of the local date-time,
+ * read as UTC) are 8 bytes per row, INT32 and DATE (epoch day) 4 bytes, BOOL one bit per row,
+ * STRING is int[rows + 1] offsets into the UTF-8 bytes that follow. Null rows still take their
+ * fixed-width slot. DICTIONARY (STRING only) is int size | int[size + 1] offsets | UTF-8 bytes of
+ * the distinct values | byte codeWidth (1 or 2) | one unsigned code per row.
+ *
+ * Row groups are listed in the footer in id order. Partitions write their groups as they fill, so
+ * groups can sit in the file in any order.
+ */
+public final class AccountColumnarFormat {
+
+    public static final int MAGIC = 0x4C4F4341;        // "ACOL" read as a little-endian int
+    public static final int VERSION = 1;
+    public static final int HEADER_FIXED_BYTES = 12;   // magic, version, column count
+    public static final int TRAILER_BYTES = 12;        // footer offset, magic
+    public static final int FOOTER_ENTRY_BYTES = 32;
+
+    public static final byte PLAIN = 0;
+    public static final byte DICTIONARY = 1;
+
+    // Distinct values a dictionary chunk may hold before the chunk falls back to PLAIN
+    public static final int MAX_DICTIONARY_SIZE = 65_536;
+
+    public enum Type { INT64, INT32, BOOL, DATE, TIMESTAMP, STRING, DICTIONARY_STRING }
+
+    public record Column(String name, Type type, Function<AccountDetailsDto, ?> value) {}
+
+    // Same fields and order as AccountDetailsDto; low-cardinality strings are dictionary-encoded
+    public static final List<Column> COLUMNS = List.of(
+            new Column("id", Type.INT64, AccountDetailsDto::id),
+            new Column("accountHolderName", Type.STRING, AccountDetailsDto::accountHolderName),
+            new Column("accountNumber", Type.STRING, AccountDetailsDto::accountNumber),
+            new Column("accountType", Type.DICTIONARY_STRING, AccountDetailsDto::accountType),
+            new Column("bankName", Type.DICTIONARY_STRING, AccountDetailsDto::bankName),
+            new Column("branchCode", Type.DICTIONARY_STRING, AccountDetailsDto::branchCode),
+            new Column("ifscCode", Type.DICTIONARY_STRING, AccountDetailsDto::ifscCode),
+            new Column("currency", Type.DICTIONARY_STRING, AccountDetailsDto::currency),
+            new Column("accountCreationDate", Type.DATE, AccountDetailsDto::accountCreationDate),
+            new Column("active", Type.BOOL, AccountDetailsDto::active),
+            new Column("contactEmail", Type.STRING, AccountDetailsDto::contactEmail),
+            new Column("contactPhone", Type.STRING, AccountDetailsDto::contactPhone),
+            new Column("address", Type.STRING, AccountDetailsDto::address),
+            new Column("balance", Type.INT64, AccountDetailsDto::balance),
+            new Column("panNumber", Type.STRING, AccountDetailsDto::panNumber),
+            new Column("nationality", Type.DICTIONARY_STRING, AccountDetailsDto::nationality),
+            new Column("dateOfBirth", Type.DATE, AccountDetailsDto::dateOfBirth),
+            new Column("accountStatus", Type.DICTIONARY_STRING, AccountDetailsDto::accountStatus),
+            new Column("overdraftAllowed", Type.BOOL, AccountDetailsDto::overdraftAllowed),
+            new Column("overdraftLimit", Type.INT64, AccountDetailsDto::overdraftLimit),
+            new Column("swiftCode", Type.DICTIONARY_STRING, AccountDetailsDto::swiftCode),
+            new Column("iban", Type.STRING, AccountDetailsDto::iban),
+            new Column("lastTransactionDate", Type.TIMESTAMP, AccountDetailsDto::lastTransactionDate),
+            new Column("lastLoginDate", Type.TIMESTAMP, AccountDetailsDto::lastLoginDate),
+            new Column("createdAt", Type.TIMESTAMP, AccountDetailsDto::createdAt),
+            new Column("updatedAt", Type.TIMESTAMP, AccountDetailsDto::updatedAt),
+            new Column("locked", Type.BOOL, AccountDetailsDto::locked),
+            new Column("failedLoginAttempts", Type.INT32, AccountDetailsDto::failedLoginAttempts),
+            new Column("userId", Type.INT64, AccountDetailsDto::userId)
+    );
+
+    private AccountColumnarFormat() {
+    }
+
+    static int bitmapBytes(int rows) {
+        return (rows + 7) >>> 3;
+    }
+}
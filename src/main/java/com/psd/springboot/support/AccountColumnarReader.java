@@ -0,0 +1,298 @@
+package com.psd.springboot.support;
+
+import com.psd.springboot.dto.AccountDetailsDto;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads a columnar account export (see AccountColumnarFormat) through memory-mapped row groups.
+ *
+ * Opening the file reads the header and the footer only. A row group is mapped when it is first
+ * asked for, and its values are decoded on access. Reading one column therefore touches only that
+ * column's pages. forEach rebuilds whole AccountDetailsDto rows in id order, for consumers that
+ * want the same records as GET /api/accounts/internal.
+ *
+ * Usage:
+ * <pre>
+ * try (AccountColumnarReader reader = AccountColumnarReader.open(path)) {
+ *     RowGroup group = reader.rowGroup(0);
+ *     int currency = reader.columnIndex("currency");
+ *     String first = group.getString(currency, 0);
+ * }
+ * </pre>
+ */
+public final class AccountColumnarReader implements Closeable {
+
+    private static final int MAX_HEADER_BYTES = 64 * 1024;
+
+    private final FileChannel channel;
+    private final List<String> columnNames = new ArrayList<>();
+    private final List<AccountColumnarFormat.Type> columnTypes = new ArrayList<>();
+    private final long[] groupOffsets;
+    private final int[] groupLengths;
+    private final int[] groupRows;
+    private final long rowCount;
+
+    private AccountColumnarReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+        long size = channel.size();
+        if (size < AccountColumnarFormat.HEADER_FIXED_BYTES + AccountColumnarFormat.TRAILER_BYTES) {
+            throw new IOException("Not a columnar account export: file too short");
+        }
+        ByteBuffer trailer = map(size - AccountColumnarFormat.TRAILER_BYTES, AccountColumnarFormat.TRAILER_BYTES);
+        long footerOffset = trailer.getLong(0);
+        ByteBuffer header = map(0, (int) Math.min(footerOffset, MAX_HEADER_BYTES));
+        if (trailer.getInt(8) != AccountColumnarFormat.MAGIC || header.getInt(0) != AccountColumnarFormat.MAGIC) {
+            throw new IOException("Not a columnar account export: bad magic");
+        }
+        if (header.getInt(4) != AccountColumnarFormat.VERSION) {
+            throw new IOException("Unsupported columnar export version " + header.getInt(4));
+        }
+        int columns = header.getInt(8);
+        int position = AccountColumnarFormat.HEADER_FIXED_BYTES;
+        AccountColumnarFormat.Type[] types = AccountColumnarFormat.Type.values();
+        for (int i = 0; i < columns; i++) {
+            columnTypes.add(types[header.get(position)]);
+            byte[] name = new byte[header.getShort(position + 1)];
+            header.get(position + 3, name);
+            columnNames.add(new String(name, StandardCharsets.UTF_8));
+            position += 3 + name.length;
+        }
+
+        ByteBuffer footer = map(footerOffset, (int) (size - AccountColumnarFormat.TRAILER_BYTES - footerOffset));
+        int groups = footer.getInt(0);
+        groupOffsets = new long[groups];
+        groupLengths = new int[groups];
+        groupRows = new int[groups];
+        long rows = 0;
+        for (int g = 0; g < groups; g++) {
+            int entry = 4 + g * AccountColumnarFormat.FOOTER_ENTRY_BYTES;
+            groupOffsets[g] = footer.getLong(entry);
+            groupLengths[g] = footer.getInt(entry + 8);
+            groupRows[g] = footer.getInt(entry + 12);
+            rows += groupRows[g];
+        }
+        rowCount = rows;
+    }
+
+    public static AccountColumnarReader open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new AccountColumnarReader(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long rowCount() {
+        return rowCount;
+    }
+
+    public int rowGroupCount() {
+        return groupOffsets.length;
+    }
+
+    public List<String> columnNames() {
+        return List.copyOf(columnNames);
+    }
+
+    public int columnIndex(String name) {
+        int index = columnNames.indexOf(name);
+        if (index < 0) {
+            throw new IllegalArgumentException("No column named " + name);
+        }
+        return index;
+    }
+
+    public RowGroup rowGroup(int index) throws IOException {
+        return new RowGroup(map(groupOffsets[index], groupLengths[index]));
+    }
+
+    // Every row in id order, rebuilt as the DTO the JSON listing returns
+    public void forEach(Consumer<AccountDetailsDto> consumer) throws IOException {
+        if (!columnNames.equals(AccountColumnarFormat.COLUMNS.stream().map(AccountColumnarFormat.Column::name).toList())) {
+            throw new IOException("File columns do not match AccountDetailsDto");
+        }
+        for (int g = 0; g < rowGroupCount(); g++) {
+            RowGroup group = rowGroup(g);
+            for (int row = 0; row < group.rows(); row++) {
+                int c = 0;
+                consumer.accept(new AccountDetailsDto(
+                        (Long) group.get(c++, row),
+                        (String) group.get(c++, row),
+                        (String) group.get(c++, row),
+                        (String) group.get(c++, row),
+                        (String) group.get(c++, row),
+                        (String) group.get(c++, row),
+                        (String) group.get(c++, row),
+                        (String) group.get(c++, row),
+                        (LocalDate) group.get(c++, row),
+                        group.getBoolean(c++, row),
+                        (String) group.get(c++, row),
+                        (String) group.get(c++, row),
+                        (String) group.get(c++, row),
+                        group.getLong(c++, row),
+                        (String) group.get(c++, row),
+                        (String) group.get(c++, row),
+                        (LocalDate) group.get(c++, row),
+                        (String) group.get(c++, row),
+                        group.getBoolean(c++, row),
+                        group.getLong(c++, row),
+                        (String) group.get(c++, row),
+                        (String) group.get(c++, row),
+                        (LocalDateTime) group.get(c++, row),
+                        (LocalDateTime) group.get(c++, row),
+                        (LocalDateTime) group.get(c++, row),
+                        (LocalDateTime) group.get(c++, row),
+                        group.getBoolean(c++, row),
+                        group.getInt(c++, row),
+                        (Long) group.get(c, row)
+                ));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private ByteBuffer map(long position, int length) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * One mapped row group. Values are read with absolute gets straight from the mapping;
+     * dictionaries are decoded once per column, on first use.
+     */
+    public final class RowGroup {
+
+        private final ByteBuffer buffer;
+        private final int rows;
+        private final int[] chunkStarts;
+        private final String[][] dictionaries;
+
+        private RowGroup(ByteBuffer buffer) {
+            this.buffer = buffer;
+            this.rows = buffer.getInt(0);
+            int columns = buffer.getInt(4);
+            this.chunkStarts = new int[columns];
+            this.dictionaries = new String[columns][];
+            int position = 8 + 4 * columns;
+            for (int c = 0; c < columns; c++) {
+                chunkStarts[c] = position;
+                position += buffer.getInt(8 + 4 * c);
+            }
+        }
+
+        public int rows() {
+            return rows;
+        }
+
+        public boolean isNull(int column, int row) {
+            return (buffer.get(chunkStarts[column] + 1 + (row >>> 3)) & (1 << (row & 7))) == 0;
+        }
+
+        public long getLong(int column, int row) {
+            return buffer.getLong(valuesStart(column) + 8 * row);
+        }
+
+        public int getInt(int column, int row) {
+            return buffer.getInt(valuesStart(column) + 4 * row);
+        }
+
+        public boolean getBoolean(int column, int row) {
+            return (buffer.get(valuesStart(column) + (row >>> 3)) & (1 << (row & 7))) != 0;
+        }
+
+        public LocalDate getDate(int column, int row) {
+            return isNull(column, row) ? null : LocalDate.ofEpochDay(getInt(column, row));
+        }
+
+        public LocalDateTime getTimestamp(int column, int row) {
+            if (isNull(column, row)) {
+                return null;
+            }
+            long micros = getLong(column, row);
+            return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                    (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+        }
+
+        public String getString(int column, int row) {
+            if (isNull(column, row)) {
+                return null;
+            }
+            int values = valuesStart(column);
+            if (buffer.get(chunkStarts[column]) == AccountColumnarFormat.DICTIONARY) {
+                return dictionary(column)[code(column, row)];
+            }
+            int start = buffer.getInt(values + 4 * row);
+            int end = buffer.getInt(values + 4 * (row + 1));
+            return decode(values + 4 * (rows + 1) + start, end - start);
+        }
+
+        // Boxed value of any column type; null for null cells
+        public Object get(int column, int row) {
+            if (isNull(column, row)) {
+                return null;
+            }
+            return switch (columnTypes.get(column)) {
+                case INT64 -> getLong(column, row);
+                case INT32 -> getInt(column, row);
+                case BOOL -> getBoolean(column, row);
+                case DATE -> getDate(column, row);
+                case TIMESTAMP -> getTimestamp(column, row);
+                case STRING, DICTIONARY_STRING -> getString(column, row);
+            };
+        }
+
+        private int valuesStart(int column) {
+            return chunkStarts[column] + 1 + AccountColumnarFormat.bitmapBytes(rows);
+        }
+
+        private String[] dictionary(int column) {
+            String[] dictionary = dictionaries[column];
+            if (dictionary == null) {
+                int start = valuesStart(column);
+                dictionary = new String[buffer.getInt(start)];
+                int bytes = start + 4 + 4 * (dictionary.length + 1);
+                for (int i = 0; i < dictionary.length; i++) {
+                    int from = buffer.getInt(start + 4 + 4 * i);
+                    int to = buffer.getInt(start + 4 + 4 * (i + 1));
+                    dictionary[i] = decode(bytes + from, to - from);
+                }
+                dictionaries[column] = dictionary;
+            }
+            return dictionary;
+        }
+
+        private int code(int column, int row) {
+            int start = valuesStart(column);
+            int size = buffer.getInt(start);
+            int codes = start + 4 + 4 * (size + 1) + buffer.getInt(start + 4 + 4 * size);
+            return buffer.get(codes) == 1
+                    ? Byte.toUnsignedInt(buffer.get(codes + 1 + row))
+                    : Short.toUnsignedInt(buffer.getShort(codes + 1 + 2 * row));
+        }
+
+        private String decode(int position, int length) {
+            byte[] bytes = new byte[length];
+            buffer.get(position, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
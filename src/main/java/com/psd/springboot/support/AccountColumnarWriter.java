@@ -0,0 +1,434 @@
+package com.psd.springboot.support;
+
+import com.psd.springboot.dto.AccountDetailsDto;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Writes accounts into the columnar export format (see AccountColumnarFormat).
+ *
+ * Rows are written through Partitions, one per thread. A partition fills a row group column by
+ * column in plain arrays, then encodes the group into a direct ByteBuffer. It reserves the
+ * group's space in the file with an atomic add and writes it there with a positional channel
+ * write. Partitions never wait for each other and nothing is copied after the write. close()
+ * appends the footer, which lists the groups in id order, and forces the file to disk.
+ */
+public final class AccountColumnarWriter implements Closeable {
+
+    private final FileChannel channel;
+    private final AtomicLong nextPosition;
+    private final List<long[]> groups = new ArrayList<>();    // offset, length, rows, firstId, lastId
+
+    public AccountColumnarWriter(FileChannel channel) throws IOException {
+        this.channel = channel;
+        List<byte[]> names = AccountColumnarFormat.COLUMNS.stream()
+                .map(column -> column.name().getBytes(StandardCharsets.UTF_8))
+                .toList();
+        int size = AccountColumnarFormat.HEADER_FIXED_BYTES + names.stream().mapToInt(name -> 3 + name.length).sum();
+        ByteBuffer header = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(AccountColumnarFormat.MAGIC)
+                .putInt(AccountColumnarFormat.VERSION)
+                .putInt(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            header.put((byte) AccountColumnarFormat.COLUMNS.get(i).type().ordinal())
+                    .putShort((short) names.get(i).length)
+                    .put(names.get(i));
+        }
+        writeFully(header.flip(), 0);
+        this.nextPosition = new AtomicLong(size);
+    }
+
+    public Partition partition(int rowGroupSize) {
+        return new Partition(rowGroupSize);
+    }
+
+    // Rows written by every partition closed so far
+    public long rowCount() {
+        synchronized (groups) {
+            return groups.stream().mapToLong(group -> group[2]).sum();
+        }
+    }
+
+    public int rowGroupCount() {
+        synchronized (groups) {
+            return groups.size();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        List<long[]> sorted;
+        synchronized (groups) {
+            sorted = new ArrayList<>(groups);
+        }
+        sorted.sort(Comparator.comparingLong(group -> group[3]));
+        ByteBuffer footer = ByteBuffer.allocate(4 + sorted.size() * AccountColumnarFormat.FOOTER_ENTRY_BYTES
+                        + AccountColumnarFormat.TRAILER_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(sorted.size());
+        for (long[] group : sorted) {
+            footer.putLong(group[0]).putInt((int) group[1]).putInt((int) group[2]).putLong(group[3]).putLong(group[4]);
+        }
+        long footerOffset = nextPosition.get();
+        footer.putLong(footerOffset).putInt(AccountColumnarFormat.MAGIC);
+        writeFully(footer.flip(), footerOffset);
+        channel.force(true);
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * Row-group builder for one thread. Rows must arrive in ascending id order
+     * (the footer uses each group's first and last id). Not thread-safe.
+     */
+    public final class Partition implements Closeable {
+
+        private final int rowGroupSize;
+        private final ColumnBuilder[] columns;
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        private int rows;
+        private long firstId;
+        private long lastId;
+
+        private Partition(int rowGroupSize) {
+            this.rowGroupSize = Math.max(1, rowGroupSize);
+            this.columns = AccountColumnarFormat.COLUMNS.stream()
+                    .map(column -> ColumnBuilder.of(column.type(), this.rowGroupSize))
+                    .toArray(ColumnBuilder[]::new);
+        }
+
+        public void write(AccountDetailsDto account) throws IOException {
+            if (rows == 0) {
+                firstId = account.id();
+            }
+            lastId = account.id();
+            for (int i = 0; i < columns.length; i++) {
+                columns[i].add(rows, AccountColumnarFormat.COLUMNS.get(i).value().apply(account));
+            }
+            if (++rows == rowGroupSize) {
+                flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (rows > 0) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            int size = 8 + 4 * columns.length;
+            int[] lengths = new int[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                lengths[i] = columns[i].encodedSize(rows);
+                size += lengths[i];
+            }
+            if (buffer.capacity() < size) {
+                buffer = ByteBuffer.allocateDirect(Integer.highestOneBit(size - 1) << 1).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            buffer.clear();
+            buffer.putInt(rows).putInt(columns.length);
+            for (int length : lengths) {
+                buffer.putInt(length);
+            }
+            for (ColumnBuilder column : columns) {
+                column.encode(rows, buffer);
+                column.reset();
+            }
+            buffer.flip();
+
+            long position = nextPosition.getAndAdd(size);
+            writeFully(buffer, position);
+            synchronized (groups) {
+                groups.add(new long[]{position, size, rows, firstId, lastId});
+            }
+            rows = 0;
+        }
+    }
+
+    // One column of the row group being filled
+    private abstract static class ColumnBuilder {
+
+        protected final long[] present;
+
+        ColumnBuilder(int capacity) {
+            this.present = new long[(capacity + 63) >>> 6];
+        }
+
+        static ColumnBuilder of(AccountColumnarFormat.Type type, int capacity) {
+            return switch (type) {
+                case INT64 -> new Int64(capacity, value -> ((Number) value).longValue());
+                case TIMESTAMP -> new Int64(capacity, value -> {
+                    LocalDateTime time = (LocalDateTime) value;
+                    return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+                });
+                case INT32 -> new Int32(capacity, value -> ((Number) value).intValue());
+                case DATE -> new Int32(capacity, value -> Math.toIntExact(((LocalDate) value).toEpochDay()));
+                case BOOL -> new Bool(capacity);
+                case STRING -> new Strings(capacity, false);
+                case DICTIONARY_STRING -> new Strings(capacity, true);
+            };
+        }
+
+        final void add(int row, Object value) {
+            if (value != null) {
+                present[row >>> 6] |= 1L << row;
+                set(row, value);
+            }
+        }
+
+        abstract void set(int row, Object value);
+
+        abstract int encodedSize(int rows);
+
+        abstract void encode(int rows, ByteBuffer out);
+
+        void reset() {
+            Arrays.fill(present, 0);
+        }
+
+        static void putBits(long[] bits, int rows, ByteBuffer out) {
+            for (int i = 0; i < AccountColumnarFormat.bitmapBytes(rows); i++) {
+                out.put((byte) (bits[i >>> 3] >>> ((i & 7) << 3)));
+            }
+        }
+    }
+
+    private static final class Int64 extends ColumnBuilder {
+
+        private final long[] values;
+        private final ToLongFunction<Object> converter;
+
+        Int64(int capacity, ToLongFunction<Object> converter) {
+            super(capacity);
+            this.values = new long[capacity];
+            this.converter = converter;
+        }
+
+        @Override
+        void set(int row, Object value) {
+            values[row] = converter.applyAsLong(value);
+        }
+
+        @Override
+        int encodedSize(int rows) {
+            return 1 + AccountColumnarFormat.bitmapBytes(rows) + 8 * rows;
+        }
+
+        @Override
+        void encode(int rows, ByteBuffer out) {
+            out.put(AccountColumnarFormat.PLAIN);
+            putBits(present, rows, out);
+            for (int i = 0; i < rows; i++) {
+                out.putLong(values[i]);
+            }
+        }
+
+        @Override
+        void reset() {
+            super.reset();
+            Arrays.fill(values, 0);
+        }
+    }
+
+    private static final class Int32 extends ColumnBuilder {
+
+        private final int[] values;
+        private final ToIntFunction<Object> converter;
+
+        Int32(int capacity, ToIntFunction<Object> converter) {
+            super(capacity);
+            this.values = new int[capacity];
+            this.converter = converter;
+        }
+
+        @Override
+        void set(int row, Object value) {
+            values[row] = converter.applyAsInt(value);
+        }
+
+        @Override
+        int encodedSize(int rows) {
+            return 1 + AccountColumnarFormat.bitmapBytes(rows) + 4 * rows;
+        }
+
+        @Override
+        void encode(int rows, ByteBuffer out) {
+            out.put(AccountColumnarFormat.PLAIN);
+            putBits(present, rows, out);
+            for (int i = 0; i < rows; i++) {
+                out.putInt(values[i]);
+            }
+        }
+
+        @Override
+        void reset() {
+            super.reset();
+            Arrays.fill(values, 0);
+        }
+    }
+
+    private static final class Bool extends ColumnBuilder {
+
+        private final long[] values;
+
+        Bool(int capacity) {
+            super(capacity);
+            this.values = new long[present.length];
+        }
+
+        @Override
+        void set(int row, Object value) {
+            if ((Boolean) value) {
+                values[row >>> 6] |= 1L << row;
+            }
+        }
+
+        @Override
+        int encodedSize(int rows) {
+            return 1 + 2 * AccountColumnarFormat.bitmapBytes(rows);
+        }
+
+        @Override
+        void encode(int rows, ByteBuffer out) {
+            out.put(AccountColumnarFormat.PLAIN);
+            putBits(present, rows, out);
+            putBits(values, rows, out);
+        }
+
+        @Override
+        void reset() {
+            super.reset();
+            Arrays.fill(values, 0);
+        }
+    }
+
+    // PLAIN or, for low-cardinality columns, DICTIONARY while the group stays under the dictionary limit
+    private static final class Strings extends ColumnBuilder {
+
+        private final byte[][] values;
+        private final boolean dictionary;
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<byte[]> distinct = new ArrayList<>();
+        private final int[] rowCodes;
+        private int totalBytes;
+
+        Strings(int capacity, boolean dictionary) {
+            super(capacity);
+            this.values = new byte[capacity][];
+            this.dictionary = dictionary;
+            this.rowCodes = dictionary ? new int[capacity] : null;
+        }
+
+        @Override
+        void set(int row, Object value) {
+            String text = (String) value;
+            if (dictionary && distinct.size() <= AccountColumnarFormat.MAX_DICTIONARY_SIZE) {
+                Integer code = codes.get(text);
+                if (code == null) {
+                    code = distinct.size();
+                    codes.put(text, code);
+                    distinct.add(text.getBytes(StandardCharsets.UTF_8));
+                }
+                rowCodes[row] = code;
+                values[row] = distinct.get(code);
+            } else {
+                values[row] = text.getBytes(StandardCharsets.UTF_8);
+            }
+            totalBytes += values[row].length;
+        }
+
+        private boolean dictionaryEncoded() {
+            return dictionary && distinct.size() <= AccountColumnarFormat.MAX_DICTIONARY_SIZE;
+        }
+
+        private int codeWidth() {
+            return distinct.size() <= 256 ? 1 : 2;
+        }
+
+        @Override
+        int encodedSize(int rows) {
+            int size = 1 + AccountColumnarFormat.bitmapBytes(rows);
+            if (!dictionaryEncoded()) {
+                return size + 4 * (rows + 1) + totalBytes;
+            }
+            int dictionaryBytes = distinct.stream().mapToInt(bytes -> bytes.length).sum();
+            return size + 4 + 4 * (distinct.size() + 1) + dictionaryBytes + 1 + codeWidth() * rows;
+        }
+
+        @Override
+        void encode(int rows, ByteBuffer out) {
+            if (!dictionaryEncoded()) {
+                out.put(AccountColumnarFormat.PLAIN);
+                putBits(present, rows, out);
+                int offset = 0;
+                out.putInt(offset);
+                for (int i = 0; i < rows; i++) {
+                    offset += values[i] != null ? values[i].length : 0;
+                    out.putInt(offset);
+                }
+                for (int i = 0; i < rows; i++) {
+                    if (values[i] != null) {
+                        out.put(values[i]);
+                    }
+                }
+                return;
+            }
+            out.put(AccountColumnarFormat.DICTIONARY);
+            putBits(present, rows, out);
+            out.putInt(distinct.size());
+            int offset = 0;
+            out.putInt(offset);
+            for (byte[] value : distinct) {
+                offset += value.length;
+                out.putInt(offset);
+            }
+            for (byte[] value : distinct) {
+                out.put(value);
+            }
+            int width = codeWidth();
+            out.put((byte) width);
+            for (int i = 0; i < rows; i++) {
+                if (width == 1) {
+                    out.put((byte) rowCodes[i]);
+                } else {
+                    out.putShort((short) rowCodes[i]);
+                }
+            }
+        }
+
+        @Override
+        void reset() {
+            super.reset();
+            Arrays.fill(values, null);
+            if (dictionary) {
+                Arrays.fill(rowCodes, 0);
+                codes.clear();
+                distinct.clear();
+            }
+            totalBytes = 0;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.psd.springboot.support;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.psd.springboot.dto.AccountCreateDto;
+import com.psd.springboot.exception.InvalidImportFileException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reads AccountCreateDto rows from an uploaded file, one row at a time, in the same CSV and
+ * NDJSON formats StatementWriter produces.
+ *
+ * CSV: a header line naming AccountCreateDto fields (any order, case-insensitive), then one
+ * record per row, RFC 4180 quoting (quoted fields may contain commas, quotes and line breaks).
+ * Empty cells are treated as absent. NDJSON: one AccountCreateDto JSON object per line.
+ * balance is a decimal string in the row's currency in both formats, as in the JSON API
+ * (NDJSON: "balance":"1250.00"). Blank lines are ignored.
+ *
+ * A row that cannot be parsed comes back with an error instead of failing the file, so the
+ * caller can report it and carry on. Only an unusable CSV header fails the whole file.
+ * Not thread-safe: one reader per upload.
+ */
+public abstract class AccountImportReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Exactly one of account / error is set
+    public record Row(long number, AccountCreateDto account, String accountNumber, String error) {}
+
+    protected final BufferedReader reader;
+    protected final ObjectReader rowReader;
+    private long rowNumber;
+
+    private AccountImportReader(InputStream in, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.rowReader = objectMapper.readerFor(AccountCreateDto.class);
+    }
+
+    public static AccountImportReader open(StatementWriter.Format format, InputStream in, ObjectMapper objectMapper)
+            throws IOException {
+        return format == StatementWriter.Format.NDJSON ? new Ndjson(in, objectMapper) : new Csv(in, objectMapper);
+    }
+
+    // Next row, or null at the end of the file
+    public Row next() throws IOException {
+        if (!advance()) {
+            return null;
+        }
+        rowNumber++;
+        return parse(rowNumber);
+    }
+
+    // Skips up to rows rows without parsing them; returns how many were skipped
+    public long skip(long rows) throws IOException {
+        long skipped = 0;
+        while (skipped < rows && advance()) {
+            skipped++;
+        }
+        rowNumber += skipped;
+        return skipped;
+    }
+
+    // Reads the raw text of the next row; false at the end of the file
+    protected abstract boolean advance() throws IOException;
+
+    // Turns the row last read by advance() into a DTO or an error
+    protected abstract Row parse(long number);
+
+    private static final class Csv extends AccountImportReader {
+
+        private static final Set<String> FIELDS = Arrays.stream(AccountCreateDto.class.getRecordComponents())
+                .map(RecordComponent::getName)
+                .collect(Collectors.toSet());
+
+        private final String[] columns;
+        private final int accountNumberColumn;
+        private final List<String> fields = new ArrayList<>();
+        private final StringBuilder field = new StringBuilder();
+
+        Csv(InputStream in, ObjectMapper objectMapper) throws IOException {
+            super(in, objectMapper);
+            if (!advance()) {
+                throw new InvalidImportFileException("CSV file is empty; expected a header line");
+            }
+            columns = new String[fields.size()];
+            int accountNumber = -1;
+            for (int i = 0; i < columns.length; i++) {
+                String name = fields.get(i).replace("\uFEFF", "").trim();
+                columns[i] = FIELDS.stream().filter(name::equalsIgnoreCase).findFirst()
+                        .orElseThrow(() -> new InvalidImportFileException("Unknown CSV column: " + name));
+                if (columns[i].equals("accountNumber")) {
+                    accountNumber = i;
+                }
+            }
+            accountNumberColumn = accountNumber;
+        }
+
+        @Override
+        protected boolean advance() throws IOException {
+            do {
+                if (!readRecord()) {
+                    return false;
+                }
+            } while (fields.size() == 1 && fields.get(0).isBlank());
+            return true;
+        }
+
+        // One RFC 4180 record into fields; false at the end of the file
+        private boolean readRecord() throws IOException {
+            fields.clear();
+            field.setLength(0);
+            int c = reader.read();
+            if (c < 0) {
+                return false;
+            }
+            boolean quoted = false;
+            for (; c >= 0; c = reader.read()) {
+                if (quoted) {
+                    if (c != '"') {
+                        field.append((char) c);
+                        continue;
+                    }
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+            fields.add(field.toString());
+            return true;
+        }
+
+        @Override
+        protected Row parse(long number) {
+            String accountNumber = accountNumberColumn >= 0 && accountNumberColumn < fields.size()
+                    ? fields.get(accountNumberColumn).trim() : null;
+            if (fields.size() != columns.length) {
+                return new Row(number, null, accountNumber,
+                        "Expected " + columns.length + " fields but found " + fields.size());
+            }
+            ObjectNode node = JsonNodeFactory.instance.objectNode();
+            for (int i = 0; i < columns.length; i++) {
+                String value = fields.get(i).trim();
+                if (!value.isEmpty()) {
+                    node.put(columns[i], value);
+                }
+            }
+            try {
+                return new Row(number, rowReader.readValue(node), accountNumber, null);
+            } catch (IOException e) {
+                return new Row(number, null, accountNumber, describe(e));
+            }
+        }
+    }
+
+    private static final class Ndjson extends AccountImportReader {
+
+        private String line;
+
+        Ndjson(InputStream in, ObjectMapper objectMapper) {
+            super(in, objectMapper);
+        }
+
+        @Override
+        protected boolean advance() throws IOException {
+            do {
+                line = reader.readLine();
+            } while (line != null && line.isBlank());
+            return line != null;
+        }
+
+        @Override
+        protected Row parse(long number) {
+            try {
+                AccountCreateDto account = rowReader.readValue(line);
+                return account != null
+                        ? new Row(number, account, account.accountNumber(), null)
+                        : new Row(number, null, null, "Row is not a JSON object");
+            } catch (IOException e) {
+                return new Row(number, null, null, describe(e));
+            }
+        }
+    }
+
+    private static String describe(IOException e) {
+        return e instanceof JsonProcessingException json ? json.getOriginalMessage() : e.getMessage();
+    }
+}
@@ -0,0 +1,10 @@
+package com.psd.springboot.support;
+
+/**
+ * Implemented by DTOs that carry minor-unit amounts, so MinorUnitsSerializer
+ * can look up the scale of the object's currency while writing its amount fields.
+ */
+public interface CurrencyAware {
+
+    String currency();
+}
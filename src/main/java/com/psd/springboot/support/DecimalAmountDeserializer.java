@@ -0,0 +1,38 @@
+package com.psd.springboot.support;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.psd.springboot.exception.InvalidAmountException;
+
+import java.io.IOException;
+
+/**
+ * Reads an inbound amount as a decimal string in major units of the account currency,
+ * mirroring MinorUnitsSerializer on the way out. Both "10.50" and the JSON number 10.50 are
+ * accepted; a number is taken from its literal text, never through a double, so 0.1 stays
+ * exactly 0.1 and 100 means 100.00 as it did when amounts were doubles. The text is
+ * converted to minor units later, once the account and so the currency scale are known
+ * (see AccountAmounts), which is also where more fraction digits than the currency has
+ * (1.005 in INR) are rejected.
+ */
+public class DecimalAmountDeserializer extends StdDeserializer<String> {
+
+    public DecimalAmountDeserializer() {
+        super(String.class);
+    }
+
+    @Override
+    public String deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_STRING || token == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getText().trim();
+        }
+        if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+            // Parsed from the token text, so exact; plain form turns 1e2 into 100
+            return parser.getDecimalValue().toPlainString();
+        }
+        throw new InvalidAmountException("Amounts are decimal numbers or strings in the account currency, e.g. 10.50");
+    }
+}
@@ -0,0 +1,144 @@
+package com.psd.springboot.support;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded, time-windowed table of recently seen keys, used to answer retried requests.
+ *
+ * Keys are stored as 64-bit hashes in open-addressed parallel arrays (hash, expiry,
+ * fingerprint, value), so an entry costs a few primitive slots plus the value reference;
+ * there are no per-entry node objects and the original key strings are not retained.
+ * A lookup only returns a value when both the key hash and the request fingerprint match
+ * and the entry has not expired.
+ *
+ * Each key probes a fixed window of slots. Inserting into a full window overwrites the
+ * entry closest to expiry, so the table never grows beyond its capacity; callers must treat
+ * a miss as "unknown" and fall back to their durable store. The table is split into
+ * segments with their own lock to keep contention low.
+ */
+public final class ExpiringDedupTable<V> {
+
+    private static final int SEGMENTS = 16;
+    private static final int PROBE_WINDOW = 8;
+
+    private final Segment<V>[] segments;
+    private final long ttlNanos;
+
+    @SuppressWarnings("unchecked")
+    public ExpiringDedupTable(int maxEntries, Duration ttl) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be greater than zero.");
+        }
+        // Half-full at capacity keeps probe windows short
+        int perSegment = Math.max(PROBE_WINDOW, Integer.highestOneBit(Math.max(1, maxEntries / SEGMENTS) * 2 - 1) << 1);
+        this.segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment<>(perSegment);
+        }
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    // Value stored for the key, or null if unknown, expired or stored for a different fingerprint
+    public V get(long keyHash, long fingerprint) {
+        long hash = nonZero(keyHash);
+        return segmentFor(hash).get(hash, fingerprint, System.nanoTime());
+    }
+
+    public void put(long keyHash, long fingerprint, V value) {
+        long hash = nonZero(keyHash);
+        segmentFor(hash).put(hash, fingerprint, value, System.nanoTime(), ttlNanos);
+    }
+
+    // 64-bit hash of a key (FNV-1a with a final avalanche step)
+    public static long hash64(CharSequence key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix64(hash);
+    }
+
+    // Finalizer from SplitMix64; also handy to combine request attributes into a fingerprint
+    public static long mix64(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    private Segment<V> segmentFor(long hash) {
+        return segments[(int) (hash >>> 60) & (SEGMENTS - 1)];
+    }
+
+    // 0 marks an empty slot
+    private static long nonZero(long hash) {
+        return hash == 0 ? 1 : hash;
+    }
+
+    private static final class Segment<V> {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final long[] hashes;
+        private final long[] expiresAt;
+        private final long[] fingerprints;
+        private final Object[] values;
+        private final int mask;
+
+        Segment(int capacity) {
+            this.hashes = new long[capacity];
+            this.expiresAt = new long[capacity];
+            this.fingerprints = new long[capacity];
+            this.values = new Object[capacity];
+            this.mask = capacity - 1;
+        }
+
+        @SuppressWarnings("unchecked")
+        V get(long hash, long fingerprint, long now) {
+            lock.lock();
+            try {
+                int start = (int) hash & mask;
+                for (int i = 0; i < PROBE_WINDOW; i++) {
+                    int slot = (start + i) & mask;
+                    if (hashes[slot] == hash && expiresAt[slot] - now > 0) {
+                        return fingerprints[slot] == fingerprint ? (V) values[slot] : null;
+                    }
+                }
+                return null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(long hash, long fingerprint, Object value, long now, long ttlNanos) {
+            lock.lock();
+            try {
+                int start = (int) hash & mask;
+                int target = -1;
+                int oldest = start;
+                for (int i = 0; i < PROBE_WINDOW; i++) {
+                    int slot = (start + i) & mask;
+                    if (hashes[slot] == hash) {
+                        target = slot;
+                        break;
+                    }
+                    if (target < 0 && (hashes[slot] == 0 || expiresAt[slot] - now <= 0)) {
+                        target = slot;
+                    }
+                    if (expiresAt[slot] - expiresAt[oldest] < 0) {
+                        oldest = slot;
+                    }
+                }
+                if (target < 0) {
+                    target = oldest;
+                }
+                hashes[target] = hash;
+                expiresAt[target] = now + ttlNanos;
+                fingerprints[target] = fingerprint;
+                values[target] = value;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
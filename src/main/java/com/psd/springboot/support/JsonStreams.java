@@ -0,0 +1,46 @@
+package com.psd.springboot.support;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes a JSON array element by element as rows arrive, instead of building a List first.
+ * Only the generator's buffer is held in memory, whatever the number of elements.
+ */
+public final class JsonStreams {
+
+    private JsonStreams() {
+    }
+
+    /**
+     * Opens a JSON array on out, lets source push elements into the given sink, then closes the array.
+     * The generator flushes on its own as its buffer fills; elements are not flushed one by one.
+     */
+    public static <T> void writeArray(ObjectMapper objectMapper, OutputStream out, Class<T> elementType,
+                                      Consumer<Consumer<T>> source) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(elementType)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            try {
+                source.accept(element -> {
+                    try {
+                        writer.writeValue(generator, element);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            generator.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.psd.springboot.support;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes a long minor-unit amount as an exact decimal string, e.g. 12345 in INR -> "123.45".
+ * The scale comes from the currency of the object being serialized (see CurrencyAware);
+ * objects without a currency fall back to Money.DEFAULT_SCALE.
+ * Formatting goes through a small char buffer, so no intermediate String is built.
+ * Inbound amounts use the same decimal form (see DecimalAmountDeserializer).
+ */
+public class MinorUnitsSerializer extends StdSerializer<Long> {
+
+    public MinorUnitsSerializer() {
+        super(Long.class);
+    }
+
+    @Override
+    public void serialize(Long value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        Object owner = gen.currentValue();
+        int scale = owner instanceof CurrencyAware aware ? Money.scaleOf(aware.currency()) : Money.DEFAULT_SCALE;
+        char[] buffer = new char[Money.MAX_FORMATTED_LENGTH];
+        gen.writeString(buffer, 0, Money.format(value, scale, buffer));
+    }
+}
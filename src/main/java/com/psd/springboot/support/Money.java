@@ -0,0 +1,180 @@
+package com.psd.springboot.support;
+
+import com.psd.springboot.exception.AmountOutOfRangeException;
+
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Helpers for money held as a primitive long count of minor units (cents, paise, ...).
+ *
+ * The scale (number of fraction digits) of a currency comes from ISO 4217, e.g. INR/USD = 2,
+ * JPY = 0, BHD = 3. Arithmetic is overflow-checked and allocation-free; formatting can write
+ * into a caller-supplied char[] so serialization doesn't allocate either.
+ */
+public final class Money {
+
+    public static final int DEFAULT_SCALE = 2;
+
+    // Largest amount one movement may carry, and largest balance a credit may produce. Together with
+    // overdraft limits of at most MAX_BALANCE they keep balance + amount and balance + limit inside a BIGINT.
+    public static final long MAX_AMOUNT = 1_000_000_000_000_000L;
+    public static final long MAX_BALANCE = 1_000_000_000_000_000_000L;
+
+    // Longest output: "-" + 19 digits + "." + leading zeros for scale up to 18
+    public static final int MAX_FORMATTED_LENGTH = 40;
+
+    private static final Map<String, Integer> SCALES = new HashMap<>();
+
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        for (Currency currency : Currency.getAvailableCurrencies()) {
+            int digits = currency.getDefaultFractionDigits();
+            SCALES.put(currency.getCurrencyCode(), digits < 0 ? 0 : digits);
+        }
+        long power = 1;
+        for (int i = 0; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = power;
+            power *= 10;
+        }
+    }
+
+    private Money() {
+    }
+
+    // Fraction digits for an ISO currency code; DEFAULT_SCALE when the code is unknown or missing
+    public static int scaleOf(String currencyCode) {
+        if (currencyCode == null) {
+            return DEFAULT_SCALE;
+        }
+        Integer scale = SCALES.get(currencyCode);
+        if (scale == null) {
+            scale = SCALES.get(currencyCode.trim().toUpperCase());
+        }
+        return scale != null ? scale : DEFAULT_SCALE;
+    }
+
+    // ===========================
+    // Overflow-checked arithmetic
+    // ===========================
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    public static long negate(long amount) {
+        return Math.negateExact(amount);
+    }
+
+    // Rejects a movement larger than MAX_AMOUNT before it reaches the database
+    public static long checkAmount(long amount) {
+        if (amount > MAX_AMOUNT) {
+            throw new AmountOutOfRangeException("Amount exceeds the maximum of " + MAX_AMOUNT + " minor units");
+        }
+        return amount;
+    }
+
+    // Highest balance an account may hold before a credit of amount still fits under MAX_BALANCE
+    public static long creditCeiling(long amount) {
+        return subtract(MAX_BALANCE, amount);
+    }
+
+    // Amount that can be withdrawn: balance plus the overdraft limit when overdraft is enabled
+    public static long available(long balance, boolean overdraftAllowed, long overdraftLimit) {
+        return overdraftAllowed ? Math.addExact(balance, overdraftLimit) : balance;
+    }
+
+    // ===========================
+    // Decimal conversion
+    // ===========================
+
+    /**
+     * Writes the exact decimal form of minor units (e.g. 12345 at scale 2 -> "123.45")
+     * into buffer and returns the number of chars written. Buffer needs MAX_FORMATTED_LENGTH chars.
+     */
+    public static int format(long minorUnits, int scale, char[] buffer) {
+        int pos = buffer.length;
+        boolean negative = minorUnits < 0;
+        // Work on the negative value so Long.MIN_VALUE needs no special case
+        long remaining = negative ? minorUnits : -minorUnits;
+
+        for (int i = 0; i < scale; i++) {
+            buffer[--pos] = (char) ('0' - (remaining % 10));
+            remaining /= 10;
+        }
+        if (scale > 0) {
+            buffer[--pos] = '.';
+        }
+        do {
+            buffer[--pos] = (char) ('0' - (remaining % 10));
+            remaining /= 10;
+        } while (remaining != 0);
+        if (negative) {
+            buffer[--pos] = '-';
+        }
+
+        int length = buffer.length - pos;
+        System.arraycopy(buffer, pos, buffer, 0, length);
+        return length;
+    }
+
+    public static String toDecimalString(long minorUnits, int scale) {
+        char[] buffer = new char[MAX_FORMATTED_LENGTH];
+        return new String(buffer, 0, format(minorUnits, scale, buffer));
+    }
+
+    /**
+     * Parses a plain decimal string ("123.4", "-0.05", "100") into minor units at the given scale.
+     * Throws IllegalArgumentException if the text has more fraction digits than the scale allows
+     * or is not a plain decimal, and AmountOutOfRangeException if the value does not fit in a long.
+     */
+    public static long parse(CharSequence text, int scale) {
+        int length = text.length();
+        int pos = 0;
+        boolean negative = false;
+        if (length > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+')) {
+            negative = text.charAt(0) == '-';
+            pos++;
+        }
+        long value = 0;
+        int fractionDigits = -1;
+        boolean sawDigit = false;
+        for (; pos < length; pos++) {
+            char c = text.charAt(pos);
+            if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Invalid amount: " + text);
+            }
+            if (fractionDigits >= 0 && ++fractionDigits > scale) {
+                throw new IllegalArgumentException("Amount " + text + " has more than " + scale + " decimal places");
+            }
+            value = appendDigit(value, c - '0', text);
+            sawDigit = true;
+        }
+        if (!sawDigit) {
+            throw new IllegalArgumentException("Invalid amount: " + text);
+        }
+        int missing = scale - Math.max(fractionDigits, 0);
+        if (value > Long.MAX_VALUE / POWERS_OF_TEN[missing]) {
+            throw new AmountOutOfRangeException("Amount " + text + " is out of range");
+        }
+        value *= POWERS_OF_TEN[missing];
+        return negative ? -value : value;
+    }
+
+    private static long appendDigit(long value, int digit, CharSequence text) {
+        if (value > (Long.MAX_VALUE - digit) / 10) {
+            throw new AmountOutOfRangeException("Amount " + text + " is out of range");
+        }
+        return value * 10 + digit;
+    }
+}
@@ -0,0 +1,150 @@
+package com.psd.springboot.support;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.psd.springboot.repository.projection.TransactionView;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes statement lines (one ledger entry plus the balance after it) as CSV or NDJSON.
+ *
+ * Output goes through a 64 KB buffer and every amount is formatted into one reused char[],
+ * so a line costs no intermediate Strings beyond the timestamp. Not thread-safe: one writer
+ * per export. finish() flushes but leaves the target stream open for the caller.
+ */
+public abstract class StatementWriter {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    protected final int scale;
+    protected final String currency;
+    protected final char[] amountBuffer = new char[Money.MAX_FORMATTED_LENGTH];
+
+    private StatementWriter(String currency) {
+        this.currency = currency;
+        this.scale = Money.scaleOf(currency);
+    }
+
+    public static StatementWriter create(Format format, OutputStream out, String currency, JsonFactory jsonFactory)
+            throws IOException {
+        return format == Format.NDJSON ? new Ndjson(out, currency, jsonFactory) : new Csv(out, currency);
+    }
+
+    // gzip at the fastest level: statements compress well anyway, and level 6 roughly halves export throughput
+    public static GZIPOutputStream gzip(OutputStream out) throws IOException {
+        return new GZIPOutputStream(out, BUFFER_SIZE) {
+            {
+                def.setLevel(Deflater.BEST_SPEED);
+            }
+        };
+    }
+
+    // signedAmount is negative for debits; balanceAfter is the running balance including this entry
+    public abstract void write(TransactionView entry, long signedAmount, long balanceAfter) throws IOException;
+
+    public abstract void finish() throws IOException;
+
+    // RFC 4180: header line, comma separated, fields quoted only when they contain a comma, quote or line break
+    private static final class Csv extends StatementWriter {
+
+        private final Writer writer;
+
+        Csv(OutputStream out, String currency) throws IOException {
+            super(currency);
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            writer.write("id,timestamp,type,amount,balance,currency,remarks\r\n");
+        }
+
+        @Override
+        public void write(TransactionView entry, long signedAmount, long balanceAfter) throws IOException {
+            writer.write(Long.toString(entry.id()));
+            writer.write(',');
+            writer.write(entry.timestamp().toString());
+            writer.write(',');
+            writeField(entry.type());
+            writer.write(',');
+            writer.write(amountBuffer, 0, Money.format(signedAmount, scale, amountBuffer));
+            writer.write(',');
+            writer.write(amountBuffer, 0, Money.format(balanceAfter, scale, amountBuffer));
+            writer.write(',');
+            writeField(currency);
+            writer.write(',');
+            writeField(entry.remarks());
+            writer.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    writer.write('"');
+                }
+                writer.write(c);
+            }
+            writer.write('"');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+
+    // One JSON object per line; amounts are decimal strings like everywhere else in the API
+    private static final class Ndjson extends StatementWriter {
+
+        private final JsonGenerator generator;
+
+        Ndjson(OutputStream out, String currency, JsonFactory jsonFactory) throws IOException {
+            super(currency);
+            this.generator = jsonFactory.createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(TransactionView entry, long signedAmount, long balanceAfter) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", entry.id());
+            generator.writeStringField("timestamp", entry.timestamp().toString());
+            generator.writeStringField("type", entry.type());
+            generator.writeFieldName("amount");
+            generator.writeString(amountBuffer, 0, Money.format(signedAmount, scale, amountBuffer));
+            generator.writeFieldName("balance");
+            generator.writeString(amountBuffer, 0, Money.format(balanceAfter, scale, amountBuffer));
+            generator.writeStringField("currency", currency);
+            generator.writeStringField("remarks", entry.remarks());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.close();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.psd.springboot.support;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed-size array of locks indexed by a long key (e.g. an account id).
+ * Two keys may share a stripe, which is harmless: it only means they serialize
+ * against each other. The number of stripes is rounded up to a power of two so
+ * that the stripe lookup is a mask instead of a modulo.
+ */
+public final class StripedLock {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public StripedLock(int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Stripe count must be greater than zero.");
+        }
+        int size = Integer.highestOneBit(stripeCount - 1) << 1;
+        if (size <= 0) {
+            size = 1;
+        }
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    // Returns the lock guarding the given key
+    public ReentrantLock forKey(long key) {
+        return stripes[indexFor(key)];
+    }
+
+    // Returns the lock at a stripe index obtained from indexFor(...)
+    public ReentrantLock stripe(int index) {
+        return stripes[index];
+    }
+
+    // Stripe index for the key; exposed so callers can order multi-key acquisitions
+    public int indexFor(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;   // Fibonacci hashing spreads sequential ids
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    public int size() {
+        return stripes.length;
+    }
+}
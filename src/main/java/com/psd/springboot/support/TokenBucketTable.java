@@ -0,0 +1,103 @@
+package com.psd.springboot.support;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded table of token buckets keyed by 64-bit keys, updated without locks.
+ *
+ * Each bucket is one long, the "theoretical arrival time" of the generic cell rate algorithm,
+ * which is a token bucket in a single number. A request costing n tokens pushes it n emission
+ * intervals (1 / rate) into the future. The request is allowed while the result stays within
+ * burst intervals of now. Acquiring is a read and a compare-and-set on that long, with no
+ * allocation and no lock.
+ *
+ * Keys and bucket times live in two parallel AtomicLongArrays, open-addressed with a fixed
+ * probe window. A bucket whose time is in the past is full, so its slot can be handed to another
+ * key without changing anyone's limit. That is the idle eviction, and it needs no sweeper. When
+ * a window has no idle slot, the key takes over the slot closest to full. The table never grows
+ * beyond its capacity. Under races two slots can briefly serve one key, or one key can inherit a
+ * few tokens of debt from a key that lost its slot. Limits are approximate by design.
+ */
+public final class TokenBucketTable {
+
+    private static final int PROBE_WINDOW = 8;
+    private static final int MAX_CLAIM_ATTEMPTS = 4;
+
+    private final AtomicLongArray keys;
+    private final AtomicLongArray arrivals;
+    private final int mask;
+    private final long intervalNanos;
+    private final long burstNanos;
+
+    /**
+     * @param capacity       maximum number of keys tracked at once (rounded up to a power of two)
+     * @param ratePerSecond  sustained tokens per second per key
+     * @param burst          tokens a key may spend at once after being idle
+     */
+    public TokenBucketTable(int capacity, double ratePerSecond, int burst) {
+        if (capacity <= 0 || ratePerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Capacity, rate and burst must be greater than zero.");
+        }
+        int slots = Math.max(PROBE_WINDOW, Integer.highestOneBit(capacity - 1) << 1);
+        this.keys = new AtomicLongArray(slots);
+        this.arrivals = new AtomicLongArray(slots);
+        this.mask = slots - 1;
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.burstNanos = intervalNanos * burst;
+        // Every bucket starts full
+        long start = System.nanoTime();
+        for (int i = 0; i < slots; i++) {
+            arrivals.set(i, start);
+        }
+    }
+
+    /**
+     * Takes cost tokens from the key's bucket. Returns 0 if the request is allowed, otherwise
+     * the nanoseconds until it would be (nothing is taken from the bucket then).
+     */
+    public long tryAcquire(long key, int cost) {
+        long k = key == 0 ? 1 : key;  // 0 marks an empty slot
+        long now = System.nanoTime();
+        int slot = slotFor(k, now);
+        long increment = intervalNanos * cost;
+        while (true) {
+            long stored = arrivals.get(slot);
+            long arrival = (stored - now < 0 ? now : stored) + increment;
+            long excess = arrival - now - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (arrivals.compareAndSet(slot, stored, arrival)) {
+                return 0;
+            }
+            now = System.nanoTime();
+        }
+    }
+
+    // Slot already holding the key, or one claimed for it
+    private int slotFor(long key, long now) {
+        int start = (int) ExpiringDedupTable.mix64(key) & mask;
+        for (int attempt = 0; ; attempt++) {
+            int candidate = -1;
+            int fullest = start;
+            for (int i = 0; i < PROBE_WINDOW; i++) {
+                int slot = (start + i) & mask;
+                long current = keys.get(slot);
+                if (current == key) {
+                    return slot;
+                }
+                if (candidate < 0 && (current == 0 || arrivals.get(slot) - now <= 0)) {
+                    candidate = slot;
+                }
+                if (arrivals.get(slot) - arrivals.get(fullest) < 0) {
+                    fullest = slot;
+                }
+            }
+            int target = candidate >= 0 ? candidate : fullest;
+            long previous = keys.get(target);
+            if (keys.compareAndSet(target, previous, key) || attempt >= MAX_CLAIM_ATTEMPTS) {
+                return target;
+            }
+        }
+    }
+}
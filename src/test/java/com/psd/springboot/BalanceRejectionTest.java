@@ -0,0 +1,186 @@
+package com.psd.springboot;
+
+import com.psd.springboot.dto.DashboardOverviewDto;
+import com.psd.springboot.entity.Account;
+import com.psd.springboot.repository.AccountRepository;
+import com.psd.springboot.service.AccountService;
+import com.psd.springboot.service.impl.AccountSummaryCache;
+import com.psd.springboot.service.impl.DashboardAggregates;
+import com.psd.springboot.support.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A conditional balance UPDATE that matches no row must surface as the right business error and leave no trace
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class BalanceRejectionTest {
+
+	private static final AtomicLong NUMBERS = new AtomicLong(7_000_000);
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AccountRepository accountRepository;
+
+	@Autowired
+	private AccountService accountService;
+
+	@Autowired
+	private AccountSummaryCache accountSummaryCache;
+
+	@Autowired
+	private DashboardAggregates dashboardAggregates;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void withdrawalBeyondBalanceIsInsufficientBalance() throws Exception {
+		Account account = accountRepository.save(account(500, false, 0, true, false));
+
+		assertRejectedWithoutSideEffects(account, withdraw(account.getId(), 501), 400, "INSUFFICIENT_BALANCE");
+	}
+
+	@Test
+	void withdrawalBeyondOverdraftIsOverdraftLimitExceeded() throws Exception {
+		Account account = accountRepository.save(account(500, true, 200, true, false));
+
+		assertRejectedWithoutSideEffects(account, withdraw(account.getId(), 701), 400, "OVERDRAFT_LIMIT_EXCEEDED");
+	}
+
+	@Test
+	void lockedOrInactiveAccountRejectsBothMovements() throws Exception {
+		Account locked = accountRepository.save(account(500, false, 0, true, true));
+		Account inactive = accountRepository.save(account(500, false, 0, false, false));
+
+		assertRejectedWithoutSideEffects(locked, deposit(locked.getId(), 100), 403, "ACCOUNT_LOCKED");
+		assertRejectedWithoutSideEffects(locked, withdraw(locked.getId(), 100), 403, "ACCOUNT_LOCKED");
+		assertRejectedWithoutSideEffects(inactive, deposit(inactive.getId(), 100), 403, "ACCOUNT_LOCKED");
+		assertRejectedWithoutSideEffects(inactive, withdraw(inactive.getId(), 100), 403, "ACCOUNT_LOCKED");
+	}
+
+	@Test
+	void depositBeyondMaximumBalanceIsAmountOutOfRange() throws Exception {
+		Account account = accountRepository.save(account(Money.MAX_BALANCE - 100, false, 0, true, false));
+
+		assertRejectedWithoutSideEffects(account, deposit(account.getId(), 101), 400, "AMOUNT_OUT_OF_RANGE");
+	}
+
+	@Test
+	void amountsOutsideTheDecimalFormAreInvalid() throws Exception {
+		Account account = accountRepository.save(account(500, false, 0, true, false));
+
+		assertRejectedWithoutSideEffects(account, deposit(account.getId(), "1.005"), 400, "INVALID_AMOUNT");
+		assertRejectedWithoutSideEffects(account, deposit(account.getId(), "\"1.005\""), 400, "INVALID_AMOUNT");
+		assertRejectedWithoutSideEffects(account, deposit(account.getId(), "true"), 400, "INVALID_AMOUNT");
+		assertRejectedWithoutSideEffects(account, deposit(account.getId(), "\"0.00\""), 400, "INVALID_AMOUNT");
+		assertRejectedWithoutSideEffects(account, deposit(account.getId(), "\"100000000000000000.00\""), 400,
+				"AMOUNT_OUT_OF_RANGE");
+	}
+
+	@Test
+	void jsonNumbersAreExactMajorUnits() throws Exception {
+		Long id = accountRepository.save(account(500, false, 0, true, false)).getId();
+
+		// 100.0 is the body older clients send; 0.1 has no exact double
+		for (String amount : new String[]{"100.0", "100", "0.1", "1e1"}) {
+			mockMvc.perform(deposit(id, amount)).andExpect(status().isOk());
+		}
+
+		assertEquals(500 + 10_000 + 10_000 + 10 + 1_000, accountRepository.findById(id).orElseThrow().getBalance());
+	}
+
+	@Test
+	void unknownAccountIsNotFound() throws Exception {
+		long unknown = accountRepository.findMaxId() + 1_000;
+		long invalidations = accountSummaryCache.stats().invalidations();
+
+		mockMvc.perform(deposit(unknown, 100))
+				.andExpect(status().isNotFound())
+				.andExpect(jsonPath("$.errorCode").value("ACCOUNT_NOT_FOUND"));
+		mockMvc.perform(withdraw(unknown, 100))
+				.andExpect(status().isNotFound())
+				.andExpect(jsonPath("$.errorCode").value("ACCOUNT_NOT_FOUND"));
+
+		assertEquals(0, ledgerEntries(unknown));
+		assertEquals(invalidations, accountSummaryCache.stats().invalidations());
+	}
+
+	private void assertRejectedWithoutSideEffects(Account account, RequestBuilder request, int status, String errorCode)
+			throws Exception {
+		Long id = account.getId();
+		long cachedVersion = accountService.getAccountSummaryById(id).version();
+		long invalidations = accountSummaryCache.stats().invalidations();
+		DashboardOverviewDto before = dashboardAggregates.overview();
+
+		mockMvc.perform(request)
+				.andExpect(status().is(status))
+				.andExpect(jsonPath("$.errorCode").value(errorCode));
+
+		assertEquals(account.getBalance(), accountRepository.findById(id).orElseThrow().getBalance());
+		assertEquals(cachedVersion, accountService.getAccountVersion(id));
+		assertEquals(0, ledgerEntries(id));
+		assertEquals(invalidations, accountSummaryCache.stats().invalidations());
+		DashboardOverviewDto after = dashboardAggregates.overview();
+		assertEquals(before.balanceByCurrency(), after.balanceByCurrency());
+		assertEquals(before.lastHour(), after.lastHour());
+	}
+
+	// Amounts in minor units of the INR test accounts, sent as the API's decimal strings
+	private static RequestBuilder deposit(long id, long amount) {
+		return deposit(id, "\"" + Money.toDecimalString(amount, 2) + "\"");
+	}
+
+	private static RequestBuilder deposit(long id, String amountJson) {
+		return post("/api/accounts/public/{id}/deposit", id)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"amount\":" + amountJson + "}");
+	}
+
+	private static RequestBuilder withdraw(long id, long amount) {
+		return put("/api/accounts/public/{id}/withdraw", id)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"amount\":\"" + Money.toDecimalString(amount, 2) + "\"}");
+	}
+
+	private long ledgerEntries(long accountId) {
+		return jdbcTemplate.queryForObject("select count(*) from transactions where account_id = ?", Long.class, accountId);
+	}
+
+	private static Account account(long balance, boolean overdraftAllowed, long overdraftLimit, boolean active, boolean locked) {
+		long number = NUMBERS.incrementAndGet();
+		Account account = new Account();
+		account.setAccountHolderName("Rejection " + number);
+		account.setAccountNumber("RJ" + number);
+		account.setAccountType("SAVINGS");
+		account.setCurrency("INR");
+		account.setAccountCreationDate(LocalDate.now());
+		account.setActive(active);
+		account.setLocked(locked);
+		account.setContactEmail("rejection@example.com");
+		account.setContactPhone("9876543210");
+		account.setAddress("1 Main Road, Pune");
+		account.setBalance(balance);
+		account.setOverdraftAllowed(overdraftAllowed);
+		account.setOverdraftLimit(overdraftLimit);
+		return account;
+	}
+}
@@ -0,0 +1,233 @@
+package com.psd.springboot;
+
+import com.psd.springboot.dto.TransactionDto;
+import com.psd.springboot.dto.UserSummaryDto;
+import com.psd.springboot.entity.Account;
+import com.psd.springboot.entity.Address;
+import com.psd.springboot.entity.Transaction;
+import com.psd.springboot.entity.User;
+import com.psd.springboot.mapper.TransactionMapper;
+import com.psd.springboot.mapper.UserMapper;
+import com.psd.springboot.repository.AccountRepository;
+import com.psd.springboot.repository.TransactionRepository;
+import com.psd.springboot.repository.UserRepository;
+import com.psd.springboot.support.SqlStatementBudgetConfiguration;
+import com.psd.springboot.support.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@Import(SqlStatementBudgetConfiguration.class)
+class SqlStatementBudgetTest {
+
+	private static final String ADMIN = "Basic " + Base64.getEncoder().encodeToString("admin:admin123".getBytes(StandardCharsets.UTF_8));
+	private static final String USER = "Basic " + Base64.getEncoder().encodeToString("user:user123".getBytes(StandardCharsets.UTF_8));
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private AccountRepository accountRepository;
+
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private static final AtomicLong NUMBERS = new AtomicLong(1_000_000);
+
+	private final List<Long> userIds = new ArrayList<>();
+	private final List<Long> accountIds = new ArrayList<>();
+	private final List<Long> transactionIds = new ArrayList<>();
+
+	@BeforeEach
+	void seed() {
+		for (int u = 0; u < 3; u++) {
+			User user = userRepository.save(User.builder()
+					.fullName("User " + u)
+					.address(Address.builder().city("Pune").country("IN").build())
+					.build());
+			userIds.add(user.getId());
+			for (int a = 0; a < 2; a++) {
+				Account account = accountRepository.save(account(user));
+				accountIds.add(account.getId());
+				transactionIds.add(transactionRepository.save(Transaction.builder()
+						.type("DEPOSIT").amount(100).timestamp(LocalDateTime.now()).account(account).build()).getId());
+			}
+		}
+	}
+
+	@Test
+	void accountReadsAreSingleStatements() throws Exception {
+		mockMvc.perform(get("/api/accounts/public/" + accountIds.get(0))).andExpect(status().isOk());
+		assertEquals(1, SqlStatementCounter.count());
+
+		mockMvc.perform(get("/api/accounts/internal/account-details/" + accountIds.get(1)).header(HttpHeaders.AUTHORIZATION, ADMIN))
+				.andExpect(status().isOk());
+		assertEquals(1, SqlStatementCounter.count());
+
+		mockMvc.perform(get("/api/accounts/internal?limit=50").header(HttpHeaders.AUTHORIZATION, ADMIN))
+				.andExpect(status().isOk());
+		assertEquals(1, SqlStatementCounter.count());
+	}
+
+	@Test
+	void conditionalReadIsOneVersionLookupAndSeesOtherNodesWrites() throws Exception {
+		Long id = accountIds.get(3);
+		String eTag = mockMvc.perform(get("/api/accounts/public/" + id))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/api/accounts/public/" + id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, eTag))
+				.andExpect(content().string(""));
+		assertEquals(1, SqlStatementCounter.count());
+
+		// A write that bypasses this node's summary cache, as one made on another node would
+		transactionTemplate.executeWithoutResult(tx -> accountRepository.applyDeposit(id, 5000L, LocalDateTime.now()));
+		String changed = mockMvc.perform(get("/api/accounts/public/" + id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.balance").value("150.00"))
+				.andExpect(jsonPath("$.version").doesNotExist())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotEquals(eTag, changed);
+	}
+
+	@Test
+	void identifierLookupsAreServedFromMemoryOnceResolved() throws Exception {
+		Account account = accountRepository.findById(accountIds.get(2)).orElseThrow();
+		SqlStatementCounter.reset();
+
+		mockMvc.perform(get("/api/accounts/public/by-number/" + account.getAccountNumber())).andExpect(status().isOk());
+		assertEquals(2, SqlStatementCounter.count());
+		mockMvc.perform(get("/api/accounts/public/by-number/" + account.getAccountNumber())).andExpect(status().isOk());
+		assertEquals(0, SqlStatementCounter.count());
+
+		mockMvc.perform(get("/api/accounts/public/by-iban/" + account.getIban())).andExpect(status().isOk());
+		assertEquals(1, SqlStatementCounter.count());
+		mockMvc.perform(get("/api/accounts/public/by-iban/UNKNOWN")).andExpect(status().isNotFound());
+	}
+
+	@Test
+	void sharedIbanResolvesToTheOldestAccount() throws Exception {
+		User user = userRepository.findById(userIds.get(0)).orElseThrow();
+		Account older = account(user);
+		Account newer = account(user);
+		newer.setIban(older.getIban());
+		Long olderId = accountRepository.save(older).getId();
+		accountRepository.save(newer);
+
+		mockMvc.perform(get("/api/accounts/public/by-iban/" + older.getIban()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.id").value(olderId));
+	}
+
+	@Test
+	void userOverviewIsTwoStatementsAndMergesNewestFirst() throws Exception {
+		// Interleave older entries across the user's two accounts; the seeded entries stay the newest
+		Account first = accountRepository.getReferenceById(accountIds.get(0));
+		Account second = accountRepository.getReferenceById(accountIds.get(1));
+		LocalDateTime base = LocalDateTime.now().minusHours(1);
+		List<Transaction> older = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			older.add(Transaction.builder().type("WITHDRAWAL").amount(i + 1)
+					.timestamp(base.plusMinutes(i)).account(i % 2 == 0 ? first : second).build());
+		}
+		transactionRepository.saveAll(older);
+		SqlStatementCounter.reset();
+
+		mockMvc.perform(get("/api/user/dashboard/" + userIds.get(0) + "/overview?recent=4").header(HttpHeaders.AUTHORIZATION, USER))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.accounts.length()").value(2))
+				.andExpect(jsonPath("$.balanceByCurrency[0].accounts").value(2))
+				.andExpect(jsonPath("$.balanceByCurrency[0].balance").value("200.00"))
+				.andExpect(jsonPath("$.recentTransactions.length()").value(4))
+				.andExpect(jsonPath("$.recentTransactions[0].type").value("DEPOSIT"))
+				.andExpect(jsonPath("$.recentTransactions[1].type").value("DEPOSIT"))
+				.andExpect(jsonPath("$.recentTransactions[2].amount").value("0.06"))
+				.andExpect(jsonPath("$.recentTransactions[2].accountId").value(accountIds.get(1)))
+				.andExpect(jsonPath("$.recentTransactions[3].amount").value("0.05"))
+				.andExpect(jsonPath("$.recentTransactions[3].accountId").value(accountIds.get(0)));
+		assertEquals(2, SqlStatementCounter.count());
+
+		mockMvc.perform(get("/api/user/dashboard/999999/overview").header(HttpHeaders.AUTHORIZATION, USER))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void usersWithAccountsLoadInOneStatement() {
+		List<UserSummaryDto> users = SqlStatementCounter.assertAtMost(1, "Loading users with accounts",
+				() -> userRepository.findAllWithAccountsByIdIn(userIds).stream().map(UserMapper::mapToUserDto).toList());
+
+		assertEquals(3, users.size());
+		users.forEach(user -> assertEquals(2, user.accountIds().size()));
+	}
+
+	@Test
+	void transactionsWithAccountLoadInOneStatement() {
+		List<TransactionDto> transactions = SqlStatementCounter.assertAtMost(1, "Loading transactions with accounts",
+				() -> transactionRepository.findWithAccountByIdIn(transactionIds).stream().map(TransactionMapper::mapToTransactionDto).toList());
+
+		assertEquals(6, transactions.size());
+		transactions.forEach(transaction -> assertEquals("INR", transaction.currency()));
+	}
+
+	@Test
+	void guardCatchesLazyNPlusOne() {
+		assertThrows(AssertionError.class, () -> SqlStatementCounter.assertAtMost(1, "Lazy traversal",
+				() -> transactionTemplate.execute(status ->
+						userRepository.findAllById(userIds).stream().map(UserMapper::mapToUserDto).toList())));
+	}
+
+	private static Account account(User user) {
+		Account account = new Account();
+		account.setAccountHolderName(user.getFullName());
+		long number = NUMBERS.incrementAndGet();
+		account.setAccountNumber("SB" + number);
+		account.setIban("GB00PSDB" + number);
+		account.setAccountType("SAVINGS");
+		account.setCurrency("INR");
+		account.setAccountCreationDate(LocalDate.now());
+		account.setActive(true);
+		account.setContactEmail("holder@example.com");
+		account.setContactPhone("9876543210");
+		account.setAddress("1 Main Road, Pune");
+		account.setDateOfBirth(LocalDate.of(1990, 1, 1));
+		account.setAccountStatus("ACTIVE");
+		account.setBalance(10_000);
+		account.setUser(user);
+		return account;
+	}
+}
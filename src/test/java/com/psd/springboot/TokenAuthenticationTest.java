@@ -0,0 +1,83 @@
+package com.psd.springboot;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.psd.springboot.config.TokenService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class TokenAuthenticationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void loginIssuesTokenThatAuthorizesByRole() throws Exception {
+		String token = login("user", "user123");
+
+		mockMvc.perform(get("/api/user/secure/data").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/api/admin/secure/data").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void rejectsBadPasswordAndTamperedToken() throws Exception {
+		mockMvc.perform(post("/api/auth/token").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"username\":\"user\",\"password\":\"wrong\"}"))
+				.andExpect(status().isUnauthorized())
+				.andExpect(jsonPath("$.errorCode").value("UNAUTHORIZED_ACCESS"));
+
+		// Same signature over claims promoting the user to ADMIN
+		String[] parts = login("user", "user123").split("\\.");
+		String claims = new String(Base64.getUrlDecoder().decode(parts[1])).replace("\"USER\"", "\"ADMIN\"");
+		String forged = parts[0] + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(claims.getBytes()) + "." + parts[2];
+		mockMvc.perform(get("/api/admin/secure/data").header(HttpHeaders.AUTHORIZATION, "Bearer " + forged))
+				.andExpect(status().isUnauthorized())
+				.andExpect(header().string(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\""))
+				.andExpect(jsonPath("$.errorCode").value("INVALID_TOKEN"));
+	}
+
+	@Test
+	void expiredTokensAreRejected() {
+		TokenService shortLived = new TokenService("", Duration.ofSeconds(-1), 0, objectMapper);
+		String token = shortLived.issue("user", List.of(new SimpleGrantedAuthority("ROLE_USER"))).token();
+
+		assertThrows(BadCredentialsException.class, () -> shortLived.verify(token));
+	}
+
+	private String login(String username, String password) throws Exception {
+		String body = mockMvc.perform(post("/api/auth/token").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.tokenType").value("Bearer"))
+				.andReturn().getResponse().getContentAsString();
+		JsonNode response = objectMapper.readTree(body);
+		return response.get("accessToken").asText();
+	}
+}
@@ -0,0 +1,86 @@
+package com.psd.springboot.config;
+
+import com.psd.springboot.entity.Account;
+import com.psd.springboot.repository.AccountRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Rows whose ids were assigned outside the sequence, as AUTO_INCREMENT did before account_seq existed
+@SpringBootTest
+@ActiveProfiles("h2")
+class AccountIdSequenceMigrationTest {
+
+	private static final AtomicLong NUMBERS = new AtomicLong(2_500_000);
+
+	@Autowired
+	private AccountIdSequenceMigration migration;
+
+	@Autowired
+	private AccountRepository accountRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void newAccountsGetIdsAbovePreExistingRows() {
+		List<Long> saved = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			saved.add(accountRepository.save(account()).getId());
+		}
+		// Move them onto ids the sequence will hand out next
+		long next = sequenceValue();
+		long legacyMax = next + 20;
+		for (int i = 0; i < saved.size(); i++) {
+			jdbcTemplate.update("UPDATE accounts SET id = ? WHERE id = ?", next + i * 10, saved.get(i));
+		}
+
+		migration.migrate();
+		assertEquals(legacyMax + AccountIdSequenceMigration.ALLOCATION_SIZE, sequenceValue());
+
+		// More than one block, so ids come from the moved sequence and not only from the block already in memory
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < AccountIdSequenceMigration.ALLOCATION_SIZE + 10; i++) {
+			ids.add(accountRepository.save(account()).getId());
+		}
+		assertEquals(ids.size(), new HashSet<>(ids).size());
+		assertTrue(ids.get(ids.size() - 1) > legacyMax);
+		assertTrue(ids.stream().allMatch(id -> id < next || id > legacyMax));
+
+		// Already ahead: nothing moves
+		long moved = sequenceValue();
+		migration.migrate();
+		assertEquals(moved, sequenceValue());
+	}
+
+	private long sequenceValue() {
+		return jdbcTemplate.queryForObject(
+				"SELECT base_value FROM information_schema.sequences WHERE sequence_name = 'account_seq'", Long.class);
+	}
+
+	private static Account account() {
+		long number = NUMBERS.incrementAndGet();
+		Account account = new Account();
+		account.setAccountHolderName("Sequence " + number);
+		account.setAccountNumber("SQ" + number);
+		account.setAccountType("SAVINGS");
+		account.setCurrency("INR");
+		account.setAccountCreationDate(LocalDate.now());
+		account.setActive(true);
+		account.setContactEmail("sequence@example.com");
+		account.setContactPhone("9876543210");
+		account.setAddress("1 Main Road, Pune");
+		account.setBalance(0);
+		return account;
+	}
+}
@@ -0,0 +1,107 @@
+package com.psd.springboot.config;
+
+import com.psd.springboot.entity.Account;
+import com.psd.springboot.entity.Transaction;
+import com.psd.springboot.repository.AccountRepository;
+import com.psd.springboot.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Recreates the pre-minor-units columns next to the new ones, as ddl-auto=update leaves them
+@SpringBootTest
+@ActiveProfiles("h2")
+class LegacyMoneyColumnsMigrationTest {
+
+	private static final AtomicLong NUMBERS = new AtomicLong(2_000_000);
+
+	@Autowired
+	private LegacyMoneyColumnsMigration migration;
+
+	@Autowired
+	private AccountRepository accountRepository;
+
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void dropLegacyColumns() {
+		jdbcTemplate.execute("ALTER TABLE accounts DROP COLUMN IF EXISTS balance");
+		jdbcTemplate.execute("ALTER TABLE accounts DROP COLUMN IF EXISTS overdraft_limit");
+		jdbcTemplate.execute("ALTER TABLE transactions DROP COLUMN IF EXISTS amount");
+	}
+
+	@Test
+	void convertsLegacyValuesAtTheCurrencyScaleAndDropsTheColumns() {
+		Account rupees = accountRepository.save(account("INR"));
+		Account yen = accountRepository.save(account("JPY"));
+		Long rupeeEntry = entry(rupees);
+		Long yenEntry = entry(yen);
+
+		jdbcTemplate.execute("ALTER TABLE accounts ADD COLUMN balance DOUBLE DEFAULT 0 NOT NULL");
+		jdbcTemplate.execute("ALTER TABLE accounts ADD COLUMN overdraft_limit DOUBLE DEFAULT 0 NOT NULL");
+		jdbcTemplate.execute("ALTER TABLE transactions ADD COLUMN amount DOUBLE DEFAULT 0 NOT NULL");
+		jdbcTemplate.update("UPDATE accounts SET balance = 1250.75, overdraft_limit = 500.5 WHERE id = ?", rupees.getId());
+		jdbcTemplate.update("UPDATE accounts SET balance = 1500 WHERE id = ?", yen.getId());
+		jdbcTemplate.update("UPDATE transactions SET amount = 10.29 WHERE id = ?", rupeeEntry);
+		jdbcTemplate.update("UPDATE transactions SET amount = 300 WHERE id = ?", yenEntry);
+		// Written to the new column after the rename, before the migration ran
+		jdbcTemplate.update("UPDATE accounts SET balance_minor = 25 WHERE id = ?", rupees.getId());
+
+		migration.migrate();
+
+		assertEquals(125_100L, minor("accounts", "balance_minor", rupees.getId()));
+		assertEquals(50_050L, minor("accounts", "overdraft_limit_minor", rupees.getId()));
+		assertEquals(1_500L, minor("accounts", "balance_minor", yen.getId()));
+		assertEquals(1_029L, minor("transactions", "amount_minor", rupeeEntry));
+		assertEquals(300L, minor("transactions", "amount_minor", yenEntry));
+		assertEquals(0, columns("accounts", "balance") + columns("accounts", "overdraft_limit")
+				+ columns("transactions", "amount"));
+
+		// Nothing left to convert on the next start
+		migration.migrate();
+		assertEquals(125_100L, minor("accounts", "balance_minor", rupees.getId()));
+	}
+
+	private Long entry(Account account) {
+		return transactionRepository.save(Transaction.builder().type("DEPOSIT").amount(0)
+				.timestamp(LocalDateTime.now()).account(account).build()).getId();
+	}
+
+	private long minor(String table, String column, Long id) {
+		return jdbcTemplate.queryForObject("select " + column + " from " + table + " where id = ?", Long.class, id);
+	}
+
+	private int columns(String table, String column) {
+		return jdbcTemplate.queryForObject("select count(*) from information_schema.columns where table_name = ? and column_name = ?",
+				Integer.class, table, column);
+	}
+
+	private static Account account(String currency) {
+		long number = NUMBERS.incrementAndGet();
+		Account account = new Account();
+		account.setAccountHolderName("Legacy " + number);
+		account.setAccountNumber("LM" + number);
+		account.setAccountType("SAVINGS");
+		account.setCurrency(currency);
+		account.setAccountCreationDate(LocalDate.now());
+		account.setActive(true);
+		account.setContactEmail("legacy@example.com");
+		account.setContactPhone("9876543210");
+		account.setAddress("1 Main Road, Pune");
+		account.setBalance(0);
+		return account;
+	}
+}
@@ -0,0 +1,68 @@
+package com.psd.springboot.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// One slot and no waiting, so a request holding the slot shows up as a 503 for the next one
+class RequestAdmissionFilterTest {
+
+	private final RequestAdmissionFilter filter =
+			new RequestAdmissionFilter(1, 0, new ObjectMapper().registerModule(new JavaTimeModule()));
+
+	@Test
+	void synchronousRequestReleasesItsSlotWhenTheChainReturns() throws Exception {
+		assertEquals(200, run(request(), (req, res) -> { }).getStatus());
+		assertEquals(200, run(request(), (req, res) -> { }).getStatus());
+	}
+
+	@Test
+	void asyncRequestHoldsItsSlotUntilItCompletes() throws Exception {
+		MockHttpServletRequest streaming = request();
+		run(streaming, (req, res) -> req.startAsync());
+
+		assertEquals(503, run(request(), (req, res) -> { }).getStatus());
+
+		((MockAsyncContext) streaming.getAsyncContext()).complete();
+		assertEquals(200, run(request(), (req, res) -> { }).getStatus());
+	}
+
+	@Test
+	void asyncTimeoutReleasesTheSlotOnce() throws Exception {
+		MockHttpServletRequest streaming = request();
+		run(streaming, (req, res) -> req.startAsync());
+
+		// A timeout is followed by complete; the slot must not be released twice
+		MockAsyncContext context = (MockAsyncContext) streaming.getAsyncContext();
+		context.getListeners().forEach(listener -> {
+			try {
+				listener.onTimeout(null);
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		context.complete();
+
+		MockHttpServletRequest holding = request();
+		run(holding, (req, res) -> req.startAsync());
+		assertEquals(503, run(request(), (req, res) -> { }).getStatus());
+	}
+
+	private MockHttpServletResponse run(MockHttpServletRequest request, FilterChain chain) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, chain);
+		return response;
+	}
+
+	private static MockHttpServletRequest request() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/accounts/public/1/statement");
+		request.setAsyncSupported(true);
+		return request;
+	}
+}
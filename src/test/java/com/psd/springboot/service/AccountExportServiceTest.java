@@ -0,0 +1,94 @@
+package com.psd.springboot.service;
+
+import com.psd.springboot.dto.AccountDetailsDto;
+import com.psd.springboot.dto.AccountExportResultDto;
+import com.psd.springboot.entity.Account;
+import com.psd.springboot.exception.ResourceNotFoundException;
+import com.psd.springboot.repository.AccountRepository;
+import com.psd.springboot.repository.AccountStreamingRepository;
+import com.psd.springboot.support.AccountColumnarReader;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+		"banking.export.directory=target/test-exports",
+		"banking.export.partitions=3",
+		"banking.export.row-group-size=2"
+})
+@ActiveProfiles("h2")
+class AccountExportServiceTest {
+
+	private static final AtomicLong NUMBERS = new AtomicLong(5_000_000);
+
+	@Autowired
+	private AccountExportService accountExportService;
+
+	@Autowired
+	private AccountRepository accountRepository;
+
+	@Autowired
+	private AccountStreamingRepository accountStreamingRepository;
+
+	@Test
+	void exportReadsBackAsTheSameRows() throws IOException {
+		List<Account> accounts = new ArrayList<>();
+		for (int i = 0; i < 9; i++) {
+			accounts.add(account(i));
+		}
+		accountRepository.saveAll(accounts);
+		List<AccountDetailsDto> expected = new ArrayList<>();
+		accountStreamingRepository.forEachDetails(expected::add);
+
+		AccountExportResultDto result = accountExportService.exportAccounts();
+
+		Path file = accountExportService.getExportFile(result.exportId());
+		assertEquals(expected.size(), result.rows());
+		assertEquals(3, result.partitions());
+		assertEquals(Files.size(file), result.bytes());
+		List<AccountDetailsDto> actual = new ArrayList<>();
+		try (AccountColumnarReader reader = AccountColumnarReader.open(file)) {
+			assertEquals(result.rowGroups(), reader.rowGroupCount());
+			reader.forEach(actual::add);
+
+			AccountColumnarReader.RowGroup group = reader.rowGroup(reader.rowGroupCount() - 1);
+			int currency = reader.columnIndex("currency");
+			assertEquals(expected.get(expected.size() - 1).currency(), group.getString(currency, group.rows() - 1));
+		}
+		assertEquals(expected, actual);
+		assertThrows(ResourceNotFoundException.class, () -> accountExportService.getExportFile("../" + result.exportId()));
+	}
+
+	// Alternating nulls and dictionary values so every encoding and the presence bitmaps are exercised
+	private static Account account(int i) {
+		Account account = new Account();
+		long number = NUMBERS.incrementAndGet();
+		account.setAccountHolderName("Export Holder " + i);
+		account.setAccountNumber("EX" + number);
+		account.setAccountType(i % 2 == 0 ? "SAVINGS" : "CURRENT");
+		account.setCurrency(i % 3 == 0 ? "INR" : "EUR");
+		account.setBankName(i % 2 == 0 ? null : "PSD Bank");
+		account.setAccountCreationDate(LocalDate.of(2024, 1, 1).plusDays(i));
+		account.setActive(i % 2 == 0);
+		account.setContactEmail("export" + i + "@example.com");
+		account.setContactPhone("9876543210");
+		account.setAddress("Straße " + i + ", Pune");
+		account.setPanNumber(i % 3 == 0 ? null : "ABCDE" + (1000 + i) + "F");
+		account.setBalance(-500L + 1_000L * i);
+		account.setLastLoginDate(i % 2 == 0 ? null : LocalDateTime.of(2025, 6, 1, 12, 30, 15, 123_456_000));
+		account.setFailedLoginAttempts(i);
+		return account;
+	}
+}
@@ -0,0 +1,149 @@
+package com.psd.springboot.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.psd.springboot.dto.AccountDetailsDto;
+import com.psd.springboot.dto.AccountSummaryDto;
+import com.psd.springboot.dto.CursorPage;
+import com.psd.springboot.entity.Account;
+import com.psd.springboot.repository.AccountRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The accounts table is shared with other tests in the context, so every listing starts just before the seeded ids
+@SpringBootTest
+@ActiveProfiles("h2")
+class AccountListingTest {
+
+	private static final AtomicLong NUMBERS = new AtomicLong(3_000_000);
+
+	@Autowired
+	private AccountService accountService;
+
+	@Autowired
+	private AccountRepository accountRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void pagesSplitAtTheLimitAndEndWithoutACursor() {
+		List<Long> ids = seed(7);
+		Long start = ids.get(0) - 1;
+
+		CursorPage<AccountSummaryDto> first = accountService.getAccountSummaryPage(start, 3);
+		CursorPage<AccountSummaryDto> second = accountService.getAccountSummaryPage(first.nextAfter(), 3);
+		CursorPage<AccountSummaryDto> last = accountService.getAccountSummaryPage(second.nextAfter(), 3);
+
+		assertEquals(ids.subList(0, 3), first.items().stream().map(AccountSummaryDto::id).toList());
+		assertEquals(ids.get(2), first.nextAfter());
+		assertEquals(ids.subList(3, 6), second.items().stream().map(AccountSummaryDto::id).toList());
+		assertEquals(ids.get(5), second.nextAfter());
+		assertEquals(ids.subList(6, 7), last.items().stream().map(AccountSummaryDto::id).toList());
+		assertNull(last.nextAfter());
+	}
+
+	@Test
+	void fullLastPageIsFollowedByAnEmptyOne() {
+		List<Long> ids = seed(6);
+
+		CursorPage<AccountDetailsDto> second = accountService.getAccountPage(
+				accountService.getAccountPage(ids.get(0) - 1, 3).nextAfter(), 3);
+		CursorPage<AccountDetailsDto> empty = accountService.getAccountPage(second.nextAfter(), 3);
+
+		assertEquals(ids.subList(3, 6), second.items().stream().map(AccountDetailsDto::id).toList());
+		// A full page cannot tell whether more rows follow, so it still hands out a cursor
+		assertEquals(ids.get(5), second.nextAfter());
+		assertTrue(empty.items().isEmpty());
+		assertNull(empty.nextAfter());
+	}
+
+	@Test
+	void cursorStaysValidAfterItsRowsAreDeleted() {
+		List<Long> ids = seed(6);
+		CursorPage<AccountSummaryDto> first = accountService.getAccountSummaryPage(ids.get(0) - 1, 3);
+
+		// The cursor row itself and the row right after it go away between the two requests
+		accountService.deleteAccount(ids.get(2));
+		accountService.deleteAccount(ids.get(3));
+		CursorPage<AccountSummaryDto> next = accountService.getAccountSummaryPage(first.nextAfter(), 3);
+
+		assertEquals(List.of(ids.get(4), ids.get(5)), next.items().stream().map(AccountSummaryDto::id).toList());
+		assertNull(next.nextAfter());
+	}
+
+	@Test
+	void pagesOfIdenticalAccountsAreOrderedByIdAlone() {
+		// Same holder, type and creation date: nothing but the id tells the rows apart
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			Account account = account();
+			account.setAccountHolderName("Listing twin");
+			ids.add(accountRepository.save(account).getId());
+		}
+
+		List<Long> seen = new ArrayList<>();
+		Long after = ids.get(0) - 1;
+		do {
+			CursorPage<AccountSummaryDto> page = accountService.getAccountSummaryPage(after, 2);
+			page.items().forEach(summary -> seen.add(summary.id()));
+			after = page.nextAfter();
+		} while (after != null);
+
+		assertEquals(ids, seen);
+	}
+
+	@Test
+	void streamsEveryAccountAsOneJsonArrayInIdOrder() throws Exception {
+		List<Long> ids = seed(4);
+
+		ByteArrayOutputStream summaries = new ByteArrayOutputStream();
+		accountService.streamAccountSummaries(summaries);
+		ByteArrayOutputStream details = new ByteArrayOutputStream();
+		accountService.streamAccounts(details);
+
+		for (ByteArrayOutputStream out : List.of(summaries, details)) {
+			JsonNode array = objectMapper.readTree(out.toByteArray());
+			assertTrue(array.isArray());
+			List<Long> streamed = new ArrayList<>();
+			array.forEach(node -> streamed.add(node.get("id").asLong()));
+			assertEquals(streamed.stream().sorted().toList(), streamed);
+			assertEquals(ids, streamed.subList(streamed.size() - ids.size(), streamed.size()));
+			assertEquals("12.50", array.get(array.size() - 1).get("balance").asText());
+		}
+	}
+
+	private List<Long> seed(int count) {
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			ids.add(accountRepository.save(account()).getId());
+		}
+		return ids;
+	}
+
+	private static Account account() {
+		long number = NUMBERS.incrementAndGet();
+		Account account = new Account();
+		account.setAccountHolderName("Listing " + number);
+		account.setAccountNumber("AL" + number);
+		account.setAccountType("SAVINGS");
+		account.setCurrency("INR");
+		account.setAccountCreationDate(LocalDate.now());
+		account.setActive(true);
+		account.setContactEmail("listing@example.com");
+		account.setContactPhone("9876543210");
+		account.setAddress("1 Main Road, Pune");
+		account.setBalance(1_250);
+		return account;
+	}
+}
@@ -0,0 +1,97 @@
+package com.psd.springboot.service;
+
+import com.psd.springboot.dto.AccountSummaryDto;
+import com.psd.springboot.entity.Account;
+import com.psd.springboot.repository.AccountRepository;
+import com.psd.springboot.service.impl.AccountSummaryCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Every read goes through the cache after first priming it, so a missed invalidation shows up as a stale balance
+@SpringBootTest
+@ActiveProfiles("h2")
+class AccountSummaryCacheTest {
+
+	private static final AtomicLong NUMBERS = new AtomicLong(4_000_000);
+
+	@Autowired
+	private AccountService accountService;
+
+	@Autowired
+	private AccountRepository accountRepository;
+
+	@Autowired
+	private AccountSummaryCache accountSummaryCache;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void readsAfterEachMovementSeeTheNewBalanceAndVersion() {
+		Long from = accountRepository.save(account(1_000)).getId();
+		Long to = accountRepository.save(account(0)).getId();
+		AccountSummaryDto before = accountService.getAccountSummaryById(from);
+		accountService.getAccountSummaryById(to);
+
+		AccountSummaryDto deposited = accountService.depositAndReturnSummary(from, 250, null, null);
+		assertSummary(1_250, before.version() + 1, accountService.getAccountSummaryById(from));
+		assertEquals(deposited, accountService.getAccountSummaryById(from));
+
+		accountService.withdrawAndReturnSummary(from, 50, null, null);
+		assertSummary(1_200, before.version() + 2, accountService.getAccountSummaryById(from));
+
+		long toVersion = accountService.getAccountSummaryById(to).version();
+		accountService.transferAndReturnSummaries(from, to, 200, null);
+		assertSummary(1_000, before.version() + 3, accountService.getAccountSummaryById(from));
+		assertSummary(200, toVersion + 1, accountService.getAccountSummaryById(to));
+	}
+
+	@Test
+	void rolledBackMovementLeavesTheCachedEntryAlone() {
+		Long id = accountRepository.save(account(1_000)).getId();
+		AccountSummaryDto cached = accountService.getAccountSummaryById(id);
+		long invalidations = accountSummaryCache.stats().invalidations();
+		long hits = accountSummaryCache.stats().hitCount();
+
+		transactionTemplate.executeWithoutResult(status -> {
+			accountService.depositAndReturnSummary(id, 500, null, null);
+			status.setRollbackOnly();
+		});
+
+		assertEquals(invalidations, accountSummaryCache.stats().invalidations());
+		assertEquals(cached, accountService.getAccountSummaryById(id));
+		assertEquals(hits + 1, accountSummaryCache.stats().hitCount());
+		Account stored = accountRepository.findById(id).orElseThrow();
+		assertEquals(cached.balance(), stored.getBalance());
+		assertEquals(cached.version(), stored.getVersion());
+	}
+
+	private static void assertSummary(long balance, long version, AccountSummaryDto summary) {
+		assertEquals(balance, summary.balance());
+		assertEquals(version, summary.version());
+	}
+
+	private static Account account(long balance) {
+		long number = NUMBERS.incrementAndGet();
+		Account account = new Account();
+		account.setAccountHolderName("Cache " + number);
+		account.setAccountNumber("SC" + number);
+		account.setAccountType("SAVINGS");
+		account.setCurrency("INR");
+		account.setAccountCreationDate(LocalDate.now());
+		account.setActive(true);
+		account.setContactEmail("cache@example.com");
+		account.setContactPhone("9876543210");
+		account.setAddress("1 Main Road, Pune");
+		account.setBalance(balance);
+		return account;
+	}
+}
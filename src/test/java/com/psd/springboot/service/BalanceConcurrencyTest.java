@@ -0,0 +1,208 @@
+package com.psd.springboot.service;
+
+import com.psd.springboot.entity.Account;
+import com.psd.springboot.exception.AccountLockedException;
+import com.psd.springboot.exception.AmountOutOfRangeException;
+import com.psd.springboot.exception.InsufficientBalanceException;
+import com.psd.springboot.exception.OverdraftLimitExceededException;
+import com.psd.springboot.repository.AccountRepository;
+import com.psd.springboot.support.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class BalanceConcurrencyTest {
+
+	private static final AtomicLong NUMBERS = new AtomicLong(6_000_000);
+	private static final int THREADS = 8;
+	private static final int OPERATIONS_PER_THREAD = 50;
+
+	@Autowired
+	private AccountService accountService;
+
+	@Autowired
+	private AccountRepository accountRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void concurrentDepositsAndWithdrawalsOnOneAccountLoseNoUpdate() throws Exception {
+		// Opening balance covers every withdrawal, so each of them must succeed in any interleaving
+		Long id = accountRepository.save(account(100_000, false, 0)).getId();
+		long startVersion = accountService.getAccountVersion(id);
+
+		List<Callable<Void>> workers = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			boolean deposits = t % 2 == 0;
+			workers.add(() -> {
+				for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+					if (deposits) {
+						accountService.depositAndReturnSummary(id, 300, null, null);
+					} else {
+						accountService.withdrawAndReturnSummary(id, 100, null, null);
+					}
+				}
+				return null;
+			});
+		}
+		runTogether(workers);
+
+		int perSide = THREADS / 2 * OPERATIONS_PER_THREAD;
+		Account account = accountRepository.findById(id).orElseThrow();
+		assertEquals(100_000 + perSide * 300L - perSide * 100L, account.getBalance());
+		assertEquals(startVersion + THREADS * OPERATIONS_PER_THREAD, account.getVersion());
+		assertEquals(THREADS * OPERATIONS_PER_THREAD, ledgerEntries(id));
+	}
+
+	@Test
+	void concurrentWithdrawalsNeverOverdrawTheAccount() throws Exception {
+		// Room for exactly 30 withdrawals of 100; 80 are attempted
+		Long id = accountRepository.save(account(2_000, true, 1_000)).getId();
+		long startVersion = accountService.getAccountVersion(id);
+		AtomicLong succeeded = new AtomicLong();
+
+		List<Callable<Void>> workers = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			workers.add(() -> {
+				for (int i = 0; i < 10; i++) {
+					try {
+						accountService.withdrawAndReturnSummary(id, 100, null, null);
+						succeeded.incrementAndGet();
+					} catch (OverdraftLimitExceededException expected) {
+						// Once the overdraft limit is reached
+					}
+				}
+				return null;
+			});
+		}
+		runTogether(workers);
+
+		Account account = accountRepository.findById(id).orElseThrow();
+		assertEquals(30, succeeded.get());
+		assertEquals(-1_000, account.getBalance());
+		assertEquals(startVersion + 30, account.getVersion());
+		assertEquals(30, ledgerEntries(id));
+	}
+
+	@Test
+	void concurrentOppositeTransfersConserveTheTotalAndRespectLimits() throws Exception {
+		// Low balances, so a good share of the 200 transfers of 100 are rejected in either direction
+		Long a = accountRepository.save(account(300, false, 0)).getId();
+		Long b = accountRepository.save(account(200, true, 100)).getId();
+		AtomicLong succeeded = new AtomicLong();
+		AtomicLong rejected = new AtomicLong();
+
+		List<Callable<Void>> workers = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			Long from = t % 2 == 0 ? a : b;
+			Long to = t % 2 == 0 ? b : a;
+			workers.add(() -> {
+				for (int i = 0; i < 25; i++) {
+					try {
+						accountService.transferAndReturnSummaries(from, to, 100, null);
+						succeeded.incrementAndGet();
+					} catch (InsufficientBalanceException | OverdraftLimitExceededException expected) {
+						rejected.incrementAndGet();
+					}
+				}
+				return null;
+			});
+		}
+		runTogether(workers);
+
+		long balanceA = accountRepository.findById(a).orElseThrow().getBalance();
+		long balanceB = accountRepository.findById(b).orElseThrow().getBalance();
+		assertEquals(THREADS * 25, succeeded.get() + rejected.get());
+		assertTrue(rejected.get() > 0);
+		assertEquals(500, balanceA + balanceB);
+		assertTrue(balanceA >= 0, "A below zero: " + balanceA);
+		assertTrue(balanceB >= -100, "B beyond its overdraft: " + balanceB);
+		// Both legs of every committed transfer, and nothing of a rejected one
+		assertEquals(2 * succeeded.get(), ledgerEntries(a) + ledgerEntries(b));
+		assertEquals(0L, jdbcTemplate.queryForObject(
+				"select coalesce(sum(case when type = 'TRANSFER_IN' then amount_minor else -amount_minor end), 0) " +
+						"from transactions where account_id in (?, ?)", Long.class, a, b));
+	}
+
+	@Test
+	void rejectedCreditLegRollsBackTheDebit() {
+		// The lower id is debited first, so the credit leg fails after the debit has been applied
+		Account from = accountRepository.save(account(1_000, false, 0));
+		Account locked = account(0, false, 0);
+		locked.setLocked(true);
+		Long lockedId = accountRepository.save(locked).getId();
+		Long full = accountRepository.save(account(Money.MAX_BALANCE - 50, false, 0)).getId();
+		long fromVersion = accountService.getAccountVersion(from.getId());
+
+		assertThrows(AccountLockedException.class,
+				() -> accountService.transferAndReturnSummaries(from.getId(), lockedId, 100, null));
+		assertThrows(AmountOutOfRangeException.class,
+				() -> accountService.transferAndReturnSummaries(from.getId(), full, 100, null));
+
+		Account after = accountRepository.findById(from.getId()).orElseThrow();
+		assertEquals(1_000, after.getBalance());
+		assertEquals(fromVersion, after.getVersion());
+		assertEquals(Money.MAX_BALANCE - 50, accountRepository.findById(full).orElseThrow().getBalance());
+		assertEquals(0, ledgerEntries(from.getId()) + ledgerEntries(lockedId) + ledgerEntries(full));
+	}
+
+	// Starts every worker at the same moment and rethrows the first failure
+	static void runTogether(List<Callable<Void>> workers) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(workers.size());
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<Void>> futures = new ArrayList<>();
+			for (Callable<Void> worker : workers) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					return worker.call();
+				}));
+			}
+			start.countDown();
+			for (Future<Void> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private long ledgerEntries(Long accountId) {
+		return jdbcTemplate.queryForObject("select count(*) from transactions where account_id = ?", Long.class, accountId);
+	}
+
+	static Account account(long balance, boolean overdraftAllowed, long overdraftLimit) {
+		long number = NUMBERS.incrementAndGet();
+		Account account = new Account();
+		account.setAccountHolderName("Concurrency " + number);
+		account.setAccountNumber("CC" + number);
+		account.setAccountType("SAVINGS");
+		account.setCurrency("INR");
+		account.setAccountCreationDate(LocalDate.now());
+		account.setActive(true);
+		account.setContactEmail("concurrency@example.com");
+		account.setContactPhone("9876543210");
+		account.setAddress("1 Main Road, Pune");
+		account.setBalance(balance);
+		account.setOverdraftAllowed(overdraftAllowed);
+		account.setOverdraftLimit(overdraftLimit);
+		return account;
+	}
+}
@@ -0,0 +1,91 @@
+package com.psd.springboot.service;
+
+import com.psd.springboot.dto.DashboardOverviewDto;
+import com.psd.springboot.dto.MovementTotalsDto;
+import com.psd.springboot.entity.Account;
+import com.psd.springboot.repository.AccountRepository;
+import com.psd.springboot.service.impl.DashboardAggregates;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class DashboardAggregatesTest {
+
+	private static final AtomicLong NUMBERS = new AtomicLong(3_000_000);
+
+	@Autowired
+	private DashboardAggregates dashboardAggregates;
+
+	@Autowired
+	private AccountService accountService;
+
+	@Autowired
+	private AccountRepository accountRepository;
+
+	@Test
+	void countersMatchReconciliationAfterServiceWrites() {
+		Long first = accountRepository.save(account("SAVINGS")).getId();
+		Long second = accountRepository.save(account("SAVINGS")).getId();
+		Long third = accountRepository.save(account("CURRENT")).getId();
+		Long closed = accountRepository.save(account("CURRENT")).getId();
+		dashboardAggregates.reconcile();
+		DashboardOverviewDto before = dashboardAggregates.overview();
+
+		accountService.depositAndReturnSummary(first, 2_500, "salary", null);
+		accountService.withdrawAndReturnSummary(second, 700, "rent", null);
+		accountService.transferAndReturnSummaries(first, third, 1_000, "move");
+		accountService.lockAccount(second);
+		accountService.setAccountActive(third, false);
+		accountService.deleteAccount(closed);
+
+		DashboardOverviewDto incremental = dashboardAggregates.overview();
+		dashboardAggregates.reconcile();
+		DashboardOverviewDto reconciled = dashboardAggregates.overview();
+
+		assertEquals(reconciled.totalAccounts(), incremental.totalAccounts());
+		assertEquals(reconciled.activeAccounts(), incremental.activeAccounts());
+		assertEquals(reconciled.inactiveAccounts(), incremental.inactiveAccounts());
+		assertEquals(reconciled.lockedAccounts(), incremental.lockedAccounts());
+		assertEquals(reconciled.balanceByCurrency(), incremental.balanceByCurrency());
+		assertEquals(reconciled.balanceByAccountType(), incremental.balanceByAccountType());
+		assertEquals(before.totalAccounts() - 1, incremental.totalAccounts());
+
+		MovementTotalsDto was = lastHourInr(before);
+		MovementTotalsDto now = lastHourInr(incremental);
+		assertEquals(was.deposits() + 1, now.deposits());
+		assertEquals(was.depositAmount() + 2_500, now.depositAmount());
+		assertEquals(was.withdrawals() + 1, now.withdrawals());
+		assertEquals(was.withdrawalAmount() + 700, now.withdrawalAmount());
+	}
+
+	private static MovementTotalsDto lastHourInr(DashboardOverviewDto overview) {
+		return overview.lastHour().stream()
+				.filter(totals -> totals.currency().equals("INR"))
+				.findFirst()
+				.orElse(new MovementTotalsDto("INR", 0, 0, 0, 0));
+	}
+
+	private static Account account(String accountType) {
+		long number = NUMBERS.incrementAndGet();
+		Account account = new Account();
+		account.setAccountHolderName("Dashboard " + number);
+		account.setAccountNumber("DA" + number);
+		account.setAccountType(accountType);
+		account.setCurrency("INR");
+		account.setAccountCreationDate(LocalDate.now());
+		account.setActive(true);
+		account.setContactEmail("dashboard@example.com");
+		account.setContactPhone("9876543210");
+		account.setAddress("1 Main Road, Pune");
+		account.setBalance(10_000);
+		return account;
+	}
+}
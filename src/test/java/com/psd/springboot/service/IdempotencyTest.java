@@ -0,0 +1,179 @@
+package com.psd.springboot.service;
+
+import com.psd.springboot.dto.AccountSummaryDto;
+import com.psd.springboot.entity.Account;
+import com.psd.springboot.exception.IdempotencyKeyReusedException;
+import com.psd.springboot.repository.AccountRepository;
+import com.psd.springboot.repository.IdempotencyRecordRepository;
+import com.psd.springboot.service.impl.IdempotencyGuard;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class IdempotencyTest {
+
+	private static final AtomicLong NUMBERS = new AtomicLong(5_000_000);
+
+	@Autowired
+	private AccountService accountService;
+
+	@Autowired
+	private AccountRepository accountRepository;
+
+	@Autowired
+	private IdempotencyRecordRepository idempotencyRecordRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void retryWithTheSameKeyReturnsTheOriginalResponseWithoutASecondDebit() {
+		Long id = accountRepository.save(account(1_000)).getId();
+		String key = "retry-" + id;
+
+		AccountSummaryDto original = accountService.withdrawAndReturnSummary(id, 300, null, key);
+		AccountSummaryDto retried = accountService.withdrawAndReturnSummary(id, 300, null, key);
+
+		assertEquals(original, retried);
+		assertEquals(700, accountRepository.findById(id).orElseThrow().getBalance());
+		assertEquals(1, ledgerEntries(id));
+	}
+
+	@Test
+	void replayFromTheKeyRowKeepsTheOriginalBalanceAndVersion() {
+		Long id = accountRepository.save(account(1_000)).getId();
+		String key = "restart-" + id;
+		AccountSummaryDto original = accountService.depositAndReturnSummary(id, 250, null, key);
+		accountService.depositAndReturnSummary(id, 100, null, null);
+
+		// A guard with nothing in memory, as after a restart or on another node
+		IdempotencyGuard restarted = new IdempotencyGuard(idempotencyRecordRepository, 100, Duration.ofHours(1));
+		AccountSummaryDto replayed = restarted.replay(key, id, "DEPOSIT", 250, accountService::getAccountSummaryById);
+
+		assertEquals(original, replayed);
+		assertEquals(1_250, replayed.balance());
+		assertEquals(original.version(), replayed.version());
+	}
+
+	@Test
+	void sameKeyWithADifferentPayloadIsRejected() {
+		Long id = accountRepository.save(account(1_000)).getId();
+		Long other = accountRepository.save(account(1_000)).getId();
+		String key = "reused-" + id;
+		accountService.withdrawAndReturnSummary(id, 300, null, key);
+
+		assertThrows(IdempotencyKeyReusedException.class, () -> accountService.withdrawAndReturnSummary(id, 301, null, key));
+		assertThrows(IdempotencyKeyReusedException.class, () -> accountService.depositAndReturnSummary(id, 300, null, key));
+		assertThrows(IdempotencyKeyReusedException.class, () -> accountService.withdrawAndReturnSummary(other, 300, null, key));
+		assertEquals(700, accountRepository.findById(id).orElseThrow().getBalance());
+		assertEquals(1_000, accountRepository.findById(other).orElseThrow().getBalance());
+	}
+
+	@Test
+	void keysAreScopedToTheCaller() {
+		Long id = accountRepository.save(account(1_000)).getId();
+		String key = "shared-" + id;
+
+		AccountSummaryDto alice = as("alice", () -> accountService.withdrawAndReturnSummary(id, 300, null, key));
+		// Same key, different payload: another caller's key is not a reuse
+		AccountSummaryDto bob = as("bob", () -> accountService.withdrawAndReturnSummary(id, 200, null, key));
+		AccountSummaryDto aliceAgain = as("alice", () -> accountService.withdrawAndReturnSummary(id, 300, null, key));
+
+		assertEquals(700, alice.balance());
+		assertEquals(500, bob.balance());
+		assertEquals(alice, aliceAgain);
+		assertThrows(IdempotencyKeyReusedException.class,
+				() -> as("bob", () -> accountService.withdrawAndReturnSummary(id, 300, null, key)));
+		assertEquals(500, accountRepository.findById(id).orElseThrow().getBalance());
+		assertEquals(2, ledgerEntries(id));
+	}
+
+	@Test
+	void concurrentDuplicateLosesOnTheKeyAndReturnsTheWinnersResponse() throws Exception {
+		Long id = accountRepository.save(account(1_000)).getId();
+		String key = "race-" + id;
+		CountDownLatch applied = new CountDownLatch(1);
+		CountDownLatch commit = new CountDownLatch(1);
+		AtomicReference<AccountSummaryDto> first = new AtomicReference<>();
+
+		// The first request has debited and claimed the key but not committed yet
+		CompletableFuture<Void> winner = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+			first.set(accountService.withdrawAndReturnSummary(id, 300, null, key));
+			applied.countDown();
+			await(commit);
+		}));
+		assertTrue(applied.await(10, TimeUnit.SECONDS));
+
+		// The duplicate finds no committed key, so it runs the movement and blocks behind the winner
+		CompletableFuture<AccountSummaryDto> duplicate = CompletableFuture.supplyAsync(
+				() -> accountService.withdrawAndReturnSummary(id, 300, null, key));
+		Thread.sleep(200);
+		commit.countDown();
+		winner.get(10, TimeUnit.SECONDS);
+
+		assertEquals(first.get(), duplicate.get(10, TimeUnit.SECONDS));
+		assertEquals(700, accountRepository.findById(id).orElseThrow().getBalance());
+		assertEquals(1, ledgerEntries(id));
+	}
+
+	private static <T> T as(String user, Supplier<T> call) {
+		SecurityContextHolder.getContext().setAuthentication(
+				UsernamePasswordAuthenticationToken.authenticated(user, null, List.of()));
+		try {
+			return call.get();
+		} finally {
+			SecurityContextHolder.clearContext();
+		}
+	}
+
+	private long ledgerEntries(Long accountId) {
+		return jdbcTemplate.queryForObject("select count(*) from transactions where account_id = ?", Long.class, accountId);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertTrue(latch.await(10, TimeUnit.SECONDS));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static Account account(long balance) {
+		long number = NUMBERS.incrementAndGet();
+		Account account = new Account();
+		account.setAccountHolderName("Idempotency " + number);
+		account.setAccountNumber("ID" + number);
+		account.setAccountType("SAVINGS");
+		account.setCurrency("INR");
+		account.setAccountCreationDate(LocalDate.now());
+		account.setActive(true);
+		account.setContactEmail("idempotency@example.com");
+		account.setContactPhone("9876543210");
+		account.setAddress("1 Main Road, Pune");
+		account.setBalance(balance);
+		return account;
+	}
+}
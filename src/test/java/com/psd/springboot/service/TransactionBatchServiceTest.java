@@ -0,0 +1,133 @@
+package com.psd.springboot.service;
+
+import com.psd.springboot.dto.BatchTransactionItem;
+import com.psd.springboot.dto.BatchTransactionResult;
+import com.psd.springboot.entity.Account;
+import com.psd.springboot.repository.AccountRepository;
+import com.psd.springboot.service.impl.AccountAmounts;
+import com.psd.springboot.service.impl.AccountSummaryCache;
+import com.psd.springboot.service.impl.BalanceMutationEngine;
+import com.psd.springboot.service.impl.DashboardAggregates;
+import com.psd.springboot.service.impl.TransactionBatchServiceImpl;
+import com.psd.springboot.service.impl.TransactionLedger;
+import com.psd.springboot.support.Money;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class TransactionBatchServiceTest {
+
+	private static final AtomicLong NUMBERS = new AtomicLong(8_000_000);
+
+	@Autowired
+	private TransactionBatchService transactionBatchService;
+
+	@Autowired
+	private AccountRepository accountRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private BalanceMutationEngine balanceMutationEngine;
+
+	@Autowired
+	private TransactionLedger transactionLedger;
+
+	@Autowired
+	private AccountSummaryCache accountSummaryCache;
+
+	@Autowired
+	private DashboardAggregates dashboardAggregates;
+
+	@Autowired
+	private AccountAmounts accountAmounts;
+
+	@Autowired
+	private Validator validator;
+
+	@Test
+	void rejectionReasonsMatchTheSingleItemPath() {
+		Long plain = accountRepository.save(account(500, false, 0)).getId();
+		Long overdraft = accountRepository.save(account(500, true, 200)).getId();
+
+		List<BatchTransactionResult> results = transactionBatchService.applyBatch(List.of(
+				item(plain, 400, "WITHDRAWAL"),
+				item(plain, 400, "WITHDRAWAL"),
+				item(overdraft, 600, "WITHDRAWAL"),
+				item(overdraft, 600, "WITHDRAWAL")));
+
+		assertEquals(Arrays.asList(null, "INSUFFICIENT_BALANCE", null, "OVERDRAFT_LIMIT_EXCEEDED"),
+				results.stream().map(BatchTransactionResult::errorCode).toList());
+		assertEquals(100, accountRepository.findById(plain).orElseThrow().getBalance());
+		assertEquals(-100, accountRepository.findById(overdraft).orElseThrow().getBalance());
+	}
+
+	@Test
+	void batchWithoutRowCountsIsReappliedItemByItem() {
+		Long id = accountRepository.save(account(500, false, 0)).getId();
+		// A driver that runs the batch but answers SUCCESS_NO_INFO for every statement
+		JdbcTemplate noInfo = new JdbcTemplate(dataSource) {
+			@Override
+			public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+										   ParameterizedPreparedStatementSetter<T> setter) {
+				int[][] counts = super.batchUpdate(sql, batchArgs, batchSize, setter);
+				Arrays.fill(counts[0], Statement.SUCCESS_NO_INFO);
+				return counts;
+			}
+		};
+		TransactionBatchService service = new TransactionBatchServiceImpl(noInfo, new NamedParameterJdbcTemplate(dataSource),
+				balanceMutationEngine, transactionLedger, accountSummaryCache, dashboardAggregates, accountAmounts, validator, 500);
+
+		List<BatchTransactionResult> results = service.applyBatch(List.of(
+				item(id, 300, "WITHDRAWAL"),
+				item(id, 300, "WITHDRAWAL"),
+				item(id, 50, "DEPOSIT")));
+
+		assertEquals(List.of(true, false, true), results.stream().map(BatchTransactionResult::applied).toList());
+		assertEquals(250, accountRepository.findById(id).orElseThrow().getBalance());
+		assertEquals(2L, jdbcTemplate.queryForObject("select count(*) from transactions where account_id = ?", Long.class, id));
+	}
+
+	private static BatchTransactionItem item(Long accountId, long amount, String type) {
+		return new BatchTransactionItem(accountId, Money.toDecimalString(amount, 2), type, null);
+	}
+
+	private static Account account(long balance, boolean overdraftAllowed, long overdraftLimit) {
+		long number = NUMBERS.incrementAndGet();
+		Account account = new Account();
+		account.setAccountHolderName("Batch " + number);
+		account.setAccountNumber("BT" + number);
+		account.setAccountType("SAVINGS");
+		account.setCurrency("INR");
+		account.setAccountCreationDate(LocalDate.now());
+		account.setActive(true);
+		account.setContactEmail("batch@example.com");
+		account.setContactPhone("9876543210");
+		account.setAddress("1 Main Road, Pune");
+		account.setBalance(balance);
+		account.setOverdraftAllowed(overdraftAllowed);
+		account.setOverdraftLimit(overdraftLimit);
+		return account;
+	}
+}
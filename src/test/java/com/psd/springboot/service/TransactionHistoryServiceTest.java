@@ -0,0 +1,191 @@
+package com.psd.springboot.service;
+
+import com.psd.springboot.dto.BalanceAsOfDto;
+import com.psd.springboot.dto.CursorPage;
+import com.psd.springboot.dto.TransactionDto;
+import com.psd.springboot.entity.Account;
+import com.psd.springboot.entity.Transaction;
+import com.psd.springboot.exception.AccountNotFoundException;
+import com.psd.springboot.exception.InvalidCursorException;
+import com.psd.springboot.repository.AccountRepository;
+import com.psd.springboot.repository.TransactionRepository;
+import com.psd.springboot.service.impl.BalanceSnapshotJob;
+import com.psd.springboot.support.StatementWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class TransactionHistoryServiceTest {
+
+	private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 9, 0);
+	private static final AtomicLong NUMBERS = new AtomicLong(2_000_000);
+
+	@Autowired
+	private TransactionHistoryService transactionHistoryService;
+
+	@Autowired
+	private BalanceSnapshotJob balanceSnapshotJob;
+
+	@Autowired
+	private AccountRepository accountRepository;
+
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	private Long accountId;
+	private Long otherAccountId;
+
+	@BeforeEach
+	void seed() {
+		Account account = accountRepository.save(account());
+		Account other = accountRepository.save(account());
+		accountId = account.getId();
+		otherAccountId = other.getId();
+
+		// 25 entries over 5 distinct timestamps, so pages have to break ties on id
+		List<Transaction> rows = new ArrayList<>();
+		for (int i = 0; i < 25; i++) {
+			rows.add(Transaction.builder()
+					.type(i % 3 == 0 ? "WITHDRAWAL" : "DEPOSIT")
+					.amount(100 + i)
+					.timestamp(START.plusMinutes(i / 5))
+					.account(account)
+					.build());
+		}
+		rows.add(Transaction.builder().type("DEPOSIT").amount(1).timestamp(START).account(other).build());
+		transactionRepository.saveAll(rows);
+	}
+
+	@Test
+	void pagesCoverEveryEntryOnceNewestFirst() {
+		List<TransactionDto> seen = new ArrayList<>();
+		Long after = null;
+		do {
+			CursorPage<TransactionDto> page = transactionHistoryService.getHistory(accountId, null, null, null, after, 7);
+			seen.addAll(page.items());
+			after = page.nextAfter();
+		} while (after != null);
+
+		assertEquals(25, seen.size());
+		assertEquals(25, seen.stream().map(TransactionDto::id).distinct().count());
+		for (int i = 1; i < seen.size(); i++) {
+			TransactionDto newer = seen.get(i - 1);
+			TransactionDto older = seen.get(i);
+			assertTrue(newer.timestamp().isAfter(older.timestamp())
+					|| (newer.timestamp().equals(older.timestamp()) && newer.id() > older.id()));
+		}
+		assertTrue(seen.stream().allMatch(t -> "INR".equals(t.currency()) && accountId.equals(t.accountId())));
+	}
+
+	@Test
+	void pageBoundaryInsideOneTimestampContinuesOnId() {
+		// The newest 5 entries share 09:04; a limit of 3 cuts that group in two
+		CursorPage<TransactionDto> first = transactionHistoryService.getHistory(accountId, null, null, null, null, 3);
+		CursorPage<TransactionDto> second = transactionHistoryService.getHistory(accountId, null, null, null, first.nextAfter(), 3);
+
+		TransactionDto cut = first.items().get(2);
+		TransactionDto following = second.items().get(0);
+		assertEquals(cut.id(), first.nextAfter());
+		assertEquals(cut.timestamp(), following.timestamp());
+		assertTrue(following.id() < cut.id());
+		assertEquals(List.of(121L, 120L), second.items().subList(0, 2).stream().map(TransactionDto::amount).toList());
+	}
+
+	@Test
+	void filtersByTimeRangeAndType() {
+		CursorPage<TransactionDto> page = transactionHistoryService.getHistory(accountId,
+				START.plusMinutes(1), START.plusMinutes(3), "WITHDRAWAL", null, 100);
+
+		// Entries 5..14 fall in [09:01, 09:03); of those, 6, 9 and 12 are withdrawals
+		assertEquals(List.of(112L, 109L, 106L), page.items().stream().map(TransactionDto::amount).toList());
+		assertNull(page.nextAfter());
+	}
+
+	@Test
+	void csvStatementEndsAtCurrentBalance() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		transactionHistoryService.exportStatement(accountId, START.plusMinutes(2), null, StatementWriter.Format.CSV, false, out);
+
+		List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+		assertEquals("id,timestamp,type,amount,balance,currency,remarks", lines.get(0));
+		assertEquals(16, lines.size());
+		// Seeded balance is 100.00 and the first entry in range is #10, a deposit of 1.10
+		assertTrue(lines.get(1).contains(",DEPOSIT,1.10,"));
+		assertTrue(lines.get(lines.size() - 1).endsWith(",100.00,INR,"));
+	}
+
+	@Test
+	void gzippedNdjsonStatementHasOneObjectPerEntry() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		transactionHistoryService.exportStatement(accountId, null, START.plusMinutes(1), StatementWriter.Format.NDJSON, true, out);
+
+		List<String> lines = new String(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).readAllBytes(),
+				StandardCharsets.UTF_8).lines().toList();
+		assertEquals(5, lines.size());
+		assertTrue(lines.get(0).startsWith("{\"id\":"));
+		assertTrue(lines.get(0).contains("\"type\":\"WITHDRAWAL\",\"amount\":\"-1.00\""));
+	}
+
+	@Test
+	void balanceAsOfMatchesLedgerOnBothSidesOfASnapshot() {
+		LocalDateTime boundary = START.plusMinutes(2);
+		assertTrue(balanceSnapshotJob.takeSnapshots(boundary) >= 2);
+		assertEquals(0, balanceSnapshotJob.takeSnapshots(boundary));
+
+		for (LocalDateTime at : List.of(START, START.plusSeconds(90), boundary, START.plusMinutes(3).plusSeconds(1), START.plusDays(1))) {
+			BalanceAsOfDto balance = transactionHistoryService.getBalanceAsOf(accountId, at);
+			assertEquals(expectedBalanceBefore(at), balance.balance(), "balance at " + at);
+			assertEquals(boundary, balance.snapshotAsOf());
+		}
+	}
+
+	@Test
+	void rejectsUnknownAccountAndForeignCursor() {
+		assertThrows(AccountNotFoundException.class,
+				() -> transactionHistoryService.getHistory(Long.MAX_VALUE, null, null, null, null, 10));
+
+		Long foreignCursor = transactionHistoryService.getHistory(otherAccountId, null, null, null, null, 10).items().get(0).id();
+		assertThrows(InvalidCursorException.class,
+				() -> transactionHistoryService.getHistory(accountId, null, null, null, foreignCursor, 10));
+	}
+
+	// Seeded balance minus everything stamped at or after the given time
+	private long expectedBalanceBefore(LocalDateTime time) {
+		long balance = 10_000;
+		for (TransactionDto entry : transactionHistoryService.getHistory(accountId, time, null, null, null, 100).items()) {
+			balance -= "WITHDRAWAL".equals(entry.type()) ? -entry.amount() : entry.amount();
+		}
+		return balance;
+	}
+
+	private static Account account() {
+		long number = NUMBERS.incrementAndGet();
+		Account account = new Account();
+		account.setAccountHolderName("History " + number);
+		account.setAccountNumber("TH" + number);
+		account.setCurrency("INR");
+		account.setAccountCreationDate(LocalDate.now());
+		account.setActive(true);
+		account.setContactEmail("history@example.com");
+		account.setContactPhone("9876543210");
+		account.setAddress("1 Main Road, Pune");
+		account.setBalance(10_000);
+		return account;
+	}
+}
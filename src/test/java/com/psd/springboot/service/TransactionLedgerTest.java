@@ -0,0 +1,118 @@
+package com.psd.springboot.service;
+
+import com.psd.springboot.entity.Account;
+import com.psd.springboot.exception.AccountHasHistoryException;
+import com.psd.springboot.repository.AccountRepository;
+import com.psd.springboot.service.impl.TransactionLedger;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Long group window and batch size, so entries are still buffered when flush() is called
+@SpringBootTest(properties = {
+		"banking.ledger.durability=GROUP",
+		"banking.ledger.group-timeout-ms=500",
+		"banking.ledger.batch-size=100000"
+})
+@ActiveProfiles("h2")
+class TransactionLedgerTest {
+
+	private static final AtomicLong NUMBERS = new AtomicLong(9_000_000);
+
+	@Autowired
+	private AccountService accountService;
+
+	@Autowired
+	private AccountRepository accountRepository;
+
+	@Autowired
+	private TransactionLedger transactionLedger;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void groupFlushPersistsEveryEntryRecordedBeforeIt() throws Exception {
+		Long id = accountRepository.save(account()).getId();
+
+		List<Callable<Void>> workers = new ArrayList<>();
+		for (int t = 0; t < 4; t++) {
+			workers.add(() -> {
+				for (int i = 0; i < 25; i++) {
+					accountService.depositAndReturnSummary(id, 100, null, null);
+				}
+				return null;
+			});
+		}
+		BalanceConcurrencyTest.runTogether(workers);
+		transactionLedger.flush();
+
+		assertEquals(100L, jdbcTemplate.queryForObject(
+				"select count(*) from transactions where account_id = ?", Long.class, id));
+		assertEquals(10_000L, jdbcTemplate.queryForObject(
+				"select sum(amount_minor) from transactions where account_id = ?", Long.class, id));
+	}
+
+	@Test
+	void entryRejectedByTheDatabaseIsDroppedWithoutHoldingUpItsBatch() {
+		Long id = accountRepository.save(account()).getId();
+
+		// No such account: the foreign key rejects this entry on every attempt
+		transactionLedger.record(Long.MAX_VALUE, "DEPOSIT", 100, null);
+		transactionLedger.record(id, "DEPOSIT", 300, null);
+		assertTimeoutPreemptively(Duration.ofSeconds(10), transactionLedger::flush);
+		transactionLedger.record(id, "DEPOSIT", 200, null);
+		assertTimeoutPreemptively(Duration.ofSeconds(10), transactionLedger::flush);
+
+		assertEquals(500L, jdbcTemplate.queryForObject(
+				"select sum(amount_minor) from transactions where account_id = ?", Long.class, id));
+		assertEquals(0L, jdbcTemplate.queryForObject(
+				"select count(*) from transactions where account_id = ?", Long.class, Long.MAX_VALUE));
+	}
+
+	@Test
+	void accountWithLedgerEntriesCannotBeDeleted() {
+		Long used = accountRepository.save(account()).getId();
+		Long unused = accountRepository.save(account()).getId();
+		// Still buffered when the delete checks for history
+		accountService.depositAndReturnSummary(used, 100, null, null);
+
+		assertThrows(AccountHasHistoryException.class, () -> accountService.deleteAccount(used));
+		assertTrue(accountRepository.existsById(used));
+
+		assertTrue(accountService.deleteAccount(unused));
+		assertFalse(accountRepository.existsById(unused));
+	}
+
+	@Test
+	void flushWithNothingBufferedReturns() {
+		assertTimeoutPreemptively(Duration.ofSeconds(5), transactionLedger::flush);
+	}
+
+	private static Account account() {
+		long number = NUMBERS.incrementAndGet();
+		Account account = new Account();
+		account.setAccountHolderName("Ledger " + number);
+		account.setAccountNumber("LG" + number);
+		account.setAccountType("SAVINGS");
+		account.setCurrency("INR");
+		account.setAccountCreationDate(LocalDate.now());
+		account.setActive(true);
+		account.setContactEmail("ledger@example.com");
+		account.setContactPhone("9876543210");
+		account.setAddress("1 Main Road, Pune");
+		account.setBalance(0);
+		return account;
+	}
+}
@@ -0,0 +1,30 @@
+package com.psd.springboot.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AcceptEncodingTest {
+
+	@Test
+	void gzipWithPositiveQualityIsAccepted() {
+		assertTrue(AcceptEncoding.accepts("gzip", "gzip"));
+		assertTrue(AcceptEncoding.accepts("deflate, GZIP;q=0.5", "gzip"));
+		assertTrue(AcceptEncoding.accepts("br;q=1.0, gzip ; q=0.001", "gzip"));
+		assertTrue(AcceptEncoding.accepts("x-gzip", "gzip"));
+		assertTrue(AcceptEncoding.accepts("*", "gzip"));
+	}
+
+	@Test
+	void gzipWithZeroQualityOrNotListedIsRefused() {
+		assertFalse(AcceptEncoding.accepts("gzip;q=0", "gzip"));
+		assertFalse(AcceptEncoding.accepts("gzip; q=0.000, identity", "gzip"));
+		assertFalse(AcceptEncoding.accepts("*, gzip;q=0", "gzip"));
+		assertFalse(AcceptEncoding.accepts("*;q=0", "gzip"));
+		assertFalse(AcceptEncoding.accepts("br, x-gzip-not", "gzip"));
+		assertFalse(AcceptEncoding.accepts("gzip;q=abc", "gzip"));
+		assertFalse(AcceptEncoding.accepts("", "gzip"));
+		assertFalse(AcceptEncoding.accepts(null, "gzip"));
+	}
+}
@@ -0,0 +1,46 @@
+package com.psd.springboot.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpiringDedupTableTest {
+
+	@Test
+	void returnsValueOnlyForMatchingFingerprint() {
+		ExpiringDedupTable<String> table = new ExpiringDedupTable<>(100, Duration.ofMinutes(1));
+		long key = ExpiringDedupTable.hash64("key-1");
+		table.put(key, 42, "first");
+
+		assertEquals("first", table.get(key, 42));
+		assertNull(table.get(key, 43));
+		assertNull(table.get(ExpiringDedupTable.hash64("key-2"), 42));
+	}
+
+	@Test
+	void expiresEntries() throws InterruptedException {
+		ExpiringDedupTable<String> table = new ExpiringDedupTable<>(100, Duration.ofMillis(1));
+		table.put(1, 1, "value");
+		Thread.sleep(5);
+		assertNull(table.get(1, 1));
+	}
+
+	@Test
+	void staysBoundedAndKeepsRecentKeys() {
+		ExpiringDedupTable<Integer> table = new ExpiringDedupTable<>(1_000, Duration.ofMinutes(1));
+		for (int i = 0; i < 100_000; i++) {
+			table.put(ExpiringDedupTable.hash64("key-" + i), i, i);
+		}
+		int recentHits = 0;
+		for (int i = 99_900; i < 100_000; i++) {
+			if (table.get(ExpiringDedupTable.hash64("key-" + i), i) != null) {
+				recentHits++;
+			}
+		}
+		assertTrue(recentHits > 95, "recent keys should survive eviction, hits=" + recentHits);
+	}
+}
@@ -0,0 +1,57 @@
+package com.psd.springboot.support;
+
+import com.psd.springboot.exception.AmountOutOfRangeException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+	@Test
+	void scaleFollowsIso4217() {
+		assertEquals(2, Money.scaleOf("INR"));
+		assertEquals(0, Money.scaleOf("JPY"));
+		assertEquals(3, Money.scaleOf("BHD"));
+		assertEquals(Money.DEFAULT_SCALE, Money.scaleOf("???"));
+		assertEquals(Money.DEFAULT_SCALE, Money.scaleOf(null));
+	}
+
+	@Test
+	void formatsExactDecimals() {
+		assertEquals("123.45", Money.toDecimalString(12345, 2));
+		assertEquals("0.05", Money.toDecimalString(5, 2));
+		assertEquals("-0.05", Money.toDecimalString(-5, 2));
+		assertEquals("1050", Money.toDecimalString(1050, 0));
+		assertEquals("-92233720368547758.08", Money.toDecimalString(Long.MIN_VALUE, 2));
+	}
+
+	@Test
+	void parsesExactDecimals() {
+		assertEquals(12345, Money.parse("123.45", 2));
+		assertEquals(12340, Money.parse("123.4", 2));
+		assertEquals(-5, Money.parse("-0.05", 2));
+		assertEquals(100, Money.parse("100", 0));
+		assertThrows(IllegalArgumentException.class, () -> Money.parse("1.234", 2));
+		assertThrows(IllegalArgumentException.class, () -> Money.parse("1e5", 2));
+		assertThrows(AmountOutOfRangeException.class, () -> Money.parse("99999999999999999999", 2));
+		assertThrows(AmountOutOfRangeException.class, () -> Money.parse("922337203685477581", 2));
+	}
+
+	@Test
+	void arithmeticIsOverflowChecked() {
+		assertEquals(15, Money.add(10, 5));
+		assertEquals(550, Money.available(50, true, 500));
+		assertEquals(50, Money.available(50, false, 500));
+		assertThrows(ArithmeticException.class, () -> Money.add(Long.MAX_VALUE, 1));
+	}
+
+	@Test
+	void movementsAreRangeChecked() {
+		assertEquals(Money.MAX_AMOUNT, Money.checkAmount(Money.MAX_AMOUNT));
+		assertThrows(AmountOutOfRangeException.class, () -> Money.checkAmount(Money.MAX_AMOUNT + 1));
+		assertEquals(Money.MAX_BALANCE - 100, Money.creditCeiling(100));
+		// Any balance at or under the ceiling plus the largest amount still fits in a long
+		assertEquals(Money.MAX_BALANCE, Money.add(Money.creditCeiling(Money.MAX_AMOUNT), Money.MAX_AMOUNT));
+	}
+}
@@ -0,0 +1,48 @@
+package com.psd.springboot.support;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Test-only guard: counts the SQL statements each HTTP request executes and fails the
+ * request (and with it the test) once it exceeds banking.test.sql-statement-budget.
+ * Catches N+1 selects and accidental eager fetches as soon as a test exercises the endpoint.
+ */
+@TestConfiguration
+public class SqlStatementBudgetConfiguration {
+
+	@Bean
+	static BeanPostProcessor countingDataSourcePostProcessor() {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				return bean instanceof DataSource dataSource ? SqlStatementCounter.wrap(dataSource) : bean;
+			}
+		};
+	}
+
+	@Bean
+	FilterRegistrationBean<Filter> sqlStatementBudgetFilter(@Value("${banking.test.sql-statement-budget:5}") int budget) {
+		Filter filter = (request, response, chain) -> {
+			SqlStatementCounter.reset();
+			chain.doFilter(request, response);
+			int executed = SqlStatementCounter.count();
+			if (executed > budget) {
+				HttpServletRequest http = (HttpServletRequest) request;
+				throw new AssertionError(http.getMethod() + " " + http.getRequestURI() + " executed "
+						+ executed + " SQL statements, budget is " + budget);
+			}
+		};
+		FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>(filter);
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+		return registration;
+	}
+}
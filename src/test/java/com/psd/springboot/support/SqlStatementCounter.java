@@ -0,0 +1,83 @@
+package com.psd.springboot.support;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.function.Supplier;
+
+/**
+ * Counts JDBC statement executions on the current thread, whichever API issued them
+ * (Hibernate, Spring Data, JdbcTemplate). A JDBC batch counts as one execution.
+ */
+public final class SqlStatementCounter {
+
+	private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+	private SqlStatementCounter() {
+	}
+
+	public static void reset() {
+		COUNT.get()[0] = 0;
+	}
+
+	public static int count() {
+		return COUNT.get()[0];
+	}
+
+	// Runs the work and fails if it executed more than budget statements
+	public static <T> T assertAtMost(int budget, String description, Supplier<T> work) {
+		reset();
+		T result = work.get();
+		int executed = count();
+		if (executed > budget) {
+			throw new AssertionError(description + " executed " + executed + " SQL statements, budget is " + budget);
+		}
+		return result;
+	}
+
+	// Wraps a DataSource so every statement executed through it is counted
+	public static DataSource wrap(DataSource dataSource) {
+		return proxy(DataSource.class, dataSource, (method, result) ->
+				result instanceof Connection connection ? proxy(Connection.class, connection, SqlStatementCounter::wrapStatement) : result);
+	}
+
+	private static Object wrapStatement(Method method, Object result) {
+		if (result instanceof CallableStatement statement) {
+			return proxy(CallableStatement.class, statement, SqlStatementCounter::countExecution);
+		}
+		if (result instanceof PreparedStatement statement) {
+			return proxy(PreparedStatement.class, statement, SqlStatementCounter::countExecution);
+		}
+		if (result instanceof Statement statement) {
+			return proxy(Statement.class, statement, SqlStatementCounter::countExecution);
+		}
+		return result;
+	}
+
+	private static Object countExecution(Method method, Object result) {
+		if (method.getName().startsWith("execute")) {
+			COUNT.get()[0]++;
+		}
+		return result;
+	}
+
+	private interface ResultHandler {
+		Object handle(Method method, Object result);
+	}
+
+	private static <T> T proxy(Class<T> type, T target, ResultHandler handler) {
+		return type.cast(Proxy.newProxyInstance(SqlStatementCounter.class.getClassLoader(), new Class<?>[]{type},
+				(proxy, method, args) -> {
+					try {
+						return handler.handle(method, method.invoke(target, args));
+					} catch (InvocationTargetException ex) {
+						throw ex.getCause();
+					}
+				}));
+	}
+}
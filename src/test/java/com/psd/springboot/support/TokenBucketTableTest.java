@@ -0,0 +1,47 @@
+package com.psd.springboot.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTableTest {
+
+	@Test
+	void allowsBurstThenRejectsWithWaitTime() {
+		TokenBucketTable table = new TokenBucketTable(100, 10, 5);
+		for (int i = 0; i < 5; i++) {
+			assertEquals(0, table.tryAcquire(7, 1));
+		}
+		long wait = table.tryAcquire(7, 1);
+		assertTrue(wait > 0 && wait <= 100_000_000L, "wait " + wait);
+
+		// Other keys have their own bucket
+		assertEquals(0, table.tryAcquire(8, 1));
+	}
+
+	@Test
+	void refillsAtTheConfiguredRate() throws InterruptedException {
+		TokenBucketTable table = new TokenBucketTable(100, 50, 2);
+		assertEquals(0, table.tryAcquire(1, 2));
+		assertTrue(table.tryAcquire(1, 1) > 0);
+		Thread.sleep(50);
+		assertEquals(0, table.tryAcquire(1, 2));
+	}
+
+	@Test
+	void keepsBusyKeysAndReusesIdleSlots() {
+		TokenBucketTable slow = new TokenBucketTable(1_024, 1, 1);
+		assertEquals(0, slow.tryAcquire(42, 1));
+		for (long key = 1_000; key < 1_200; key++) {
+			assertEquals(0, slow.tryAcquire(key, 1));
+		}
+		assertTrue(slow.tryAcquire(42, 1) > 0);
+
+		// Buckets refill within nanoseconds, so every slot is idle again by the next key: 64 slots serve them all
+		TokenBucketTable fast = new TokenBucketTable(64, 1_000_000_000, 1);
+		for (long key = 1; key <= 100_000; key++) {
+			assertEquals(0, fast.tryAcquire(key, 1));
+		}
+	}
+}